@@ -0,0 +1,20 @@
+package com.example.tournament.config;
+
+import com.example.tournament.util.version.TournamentVersionInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+@Configuration
+public class WebConfig {
+
+    //Mapped interceptor beans are picked up by every handler mapping
+    @Bean
+    public MappedInterceptor tournamentVersionMappedInterceptor(TournamentVersionInterceptor tournamentVersionInterceptor) {
+
+        return new MappedInterceptor(
+                new String[]{"/tournaments", "/tournaments/**"},
+                new String[]{"/tournaments/*/matches/stream", "/tournaments/*/start-jobs/**"},
+                tournamentVersionInterceptor);
+    }
+}
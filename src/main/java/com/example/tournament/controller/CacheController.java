@@ -0,0 +1,32 @@
+package com.example.tournament.controller;
+
+import com.example.tournament.service.DataHelperService;
+import com.example.tournament.util.cache.CacheStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping(value = "/caches", produces = MediaType.APPLICATION_JSON_VALUE)
+public class CacheController {
+
+    private final DataHelperService dataHelperService;
+
+    @Autowired
+    public CacheController(DataHelperService dataHelperService) {
+        this.dataHelperService = dataHelperService;
+    }
+
+    //Hits, misses and evictions of the entity caches since startup, to tell whether they pay off
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, CacheStatistics> findStatistics() {
+        return dataHelperService.getCacheStatistics();
+    }
+}
@@ -1,10 +1,17 @@
 package com.example.tournament.controller;
 
 
+import com.example.tournament.dto.form.MatchBatchUpdateForm;
 import com.example.tournament.dto.form.MatchUpdateForm;
+import com.example.tournament.dto.response.MatchBatchUpdateResultDto;
 import com.example.tournament.dto.response.MatchDto;
 import com.example.tournament.dto.response.MatchListDto;
+import com.example.tournament.dto.response.PageDto;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.service.JournaledMatchService;
 import com.example.tournament.service.MatchService;
+import com.example.tournament.util.concurrent.TournamentCommandExecutor;
+import com.example.tournament.util.stream.MatchStreamBroadcaster;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
@@ -13,8 +20,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping(value = "/tournaments/{tournamentId}/matches", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -22,8 +31,19 @@ public class MatchController {
 
     private final MatchService matchService;
 
-    public MatchController(MatchService matchService) {
+    private final JournaledMatchService journaledMatchService;
+
+    private final TournamentCommandExecutor tournamentCommandExecutor;
+
+    private final MatchStreamBroadcaster matchStreamBroadcaster;
+
+    public MatchController(MatchService matchService, JournaledMatchService journaledMatchService,
+                           TournamentCommandExecutor tournamentCommandExecutor,
+                           MatchStreamBroadcaster matchStreamBroadcaster) {
         this.matchService = matchService;
+        this.journaledMatchService = journaledMatchService;
+        this.tournamentCommandExecutor = tournamentCommandExecutor;
+        this.matchStreamBroadcaster = matchStreamBroadcaster;
     }
 
     @GetMapping
@@ -33,6 +53,24 @@ public class MatchController {
         return matchService.findMatchListByTournamentId(tournamentId);
     }
 
+    @GetMapping("/page")
+    @ResponseStatus(HttpStatus.OK)
+    public PageDto<MatchDto> findPageByTournamentId(@PathVariable Long tournamentId,
+                                                    @RequestParam(defaultValue = "0") Long after,
+                                                    @RequestParam(defaultValue = "50") int size,
+                                                    @RequestParam(required = false) EventStatus status) {
+
+        return matchService.findPageByTournamentId(tournamentId, after, size, status);
+    }
+
+    //Sends the current bracket as a 'snapshot' event, then a 'match' event per changed match
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Long tournamentId) {
+
+        return matchStreamBroadcaster.subscribe(tournamentId,
+                () -> matchService.findMatchListByTournamentId(tournamentId));
+    }
+
     @GetMapping("/{matchId}")
     @ResponseStatus(HttpStatus.OK)
     public MatchDto findById(@PathVariable Long tournamentId, @PathVariable Long matchId) {
@@ -44,7 +82,7 @@ public class MatchController {
     @ResponseStatus(HttpStatus.CREATED)
     public MatchDto start(@PathVariable Long tournamentId, @PathVariable Long matchId) {
 
-        return matchService.startMatch(tournamentId, matchId);
+        return tournamentCommandExecutor.execute(tournamentId, () -> journaledMatchService.startMatch(tournamentId, matchId));
     }
 
     @PostMapping("/update/{matchId}")
@@ -52,7 +90,17 @@ public class MatchController {
     public MatchDto update(@PathVariable Long tournamentId, @PathVariable Long matchId,
                            @RequestBody @Validated MatchUpdateForm matchUpdateForm) {
 
-        return matchService.updateMatch(tournamentId, matchId, matchUpdateForm);
+        return tournamentCommandExecutor.execute(tournamentId,
+                () -> journaledMatchService.updateMatch(tournamentId, matchId, matchUpdateForm));
+    }
+
+    @PostMapping("/update")
+    @ResponseStatus(HttpStatus.CREATED)
+    public MatchBatchUpdateResultDto updateAll(@PathVariable Long tournamentId,
+                                               @RequestBody @Validated MatchBatchUpdateForm matchBatchUpdateForm) {
+
+        return tournamentCommandExecutor.execute(tournamentId,
+                () -> matchService.updateMatches(tournamentId, matchBatchUpdateForm));
     }
 
 }
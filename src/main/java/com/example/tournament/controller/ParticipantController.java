@@ -1,29 +1,49 @@
 package com.example.tournament.controller;
 
 import com.example.tournament.dto.form.ParticipantsAddForm;
+import com.example.tournament.dto.response.PageDto;
+import com.example.tournament.dto.response.ParticipantImportResultDto;
 import com.example.tournament.dto.response.ParticipantDto;
 import com.example.tournament.dto.response.ParticipantListDto;
 import com.example.tournament.service.ParticipantService;
+import com.example.tournament.util.concurrent.TournamentCommandExecutor;
+import com.example.tournament.util.importer.ParticipantImportReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
 @RestController
 @RequestMapping(value = "/tournaments/{tournamentId}/participants", produces = MediaType.APPLICATION_JSON_VALUE)
 public class ParticipantController {
 
     private final ParticipantService participantService;
 
+    private final TournamentCommandExecutor tournamentCommandExecutor;
+
+    private final ObjectMapper objectMapper;
+
     @Autowired
-    public ParticipantController(ParticipantService participantService) {
+    public ParticipantController(ParticipantService participantService, TournamentCommandExecutor tournamentCommandExecutor,
+                                 ObjectMapper objectMapper) {
         this.participantService = participantService;
+        this.tournamentCommandExecutor = tournamentCommandExecutor;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -32,6 +52,14 @@ public class ParticipantController {
         return participantService.findParticipantListByTournamentId(tournamentId);
     }
 
+    @GetMapping("/page")
+    @ResponseStatus(HttpStatus.OK)
+    public PageDto<ParticipantDto> findPageByTournament(@PathVariable Long tournamentId,
+                                                        @RequestParam(defaultValue = "0") Long after,
+                                                        @RequestParam(defaultValue = "50") int size) {
+        return participantService.findPageByTournamentId(tournamentId, after, size);
+    }
+
     @GetMapping("/{participantId}")
     @ResponseStatus(HttpStatus.OK)
     public ParticipantDto findById(@PathVariable Long tournamentId, @PathVariable Long participantId) {
@@ -41,14 +69,27 @@ public class ParticipantController {
     @PostMapping("/add")
     @ResponseStatus(HttpStatus.CREATED)
     public ParticipantListDto addParticipants(@PathVariable Long tournamentId, @RequestBody ParticipantsAddForm participantsAddForm) {
-        return participantService.createAll(tournamentId, participantsAddForm);
+        return tournamentCommandExecutor.execute(tournamentId,
+                () -> participantService.createAll(tournamentId, participantsAddForm));
     }
 
+    //One name per line as CSV or NDJSON; the body is read on this thread while importing, never buffered as a whole
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @ResponseStatus(HttpStatus.CREATED)
+    public ParticipantImportResultDto importParticipants(@PathVariable Long tournamentId,
+                                                         @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                         HttpServletRequest request) throws IOException {
+        ParticipantImportReader reader = new ParticipantImportReader(
+                new InputStreamReader(request.getInputStream(), contentType.getCharset() == null ?
+                        StandardCharsets.UTF_8 : contentType.getCharset()),
+                ParticipantImportReader.formatOf(contentType), objectMapper);
+        return participantService.importAll(tournamentId, reader);
+    }
 
     @PostMapping("/remove/{participantId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void remove(@PathVariable Long tournamentId, @PathVariable Long participantId) {
-        participantService.delete(tournamentId, participantId);
+        tournamentCommandExecutor.run(tournamentId, () -> participantService.delete(tournamentId, participantId));
     }
 
 
@@ -1,22 +1,37 @@
 package com.example.tournament.controller;
 
 
+import com.example.tournament.dto.form.TournamentBatchStartForm;
 import com.example.tournament.dto.form.TournamentCreateForm;
 import com.example.tournament.dto.response.MatchListDto;
+import com.example.tournament.dto.response.PageDto;
+import com.example.tournament.dto.response.StandingListDto;
+import com.example.tournament.dto.response.TournamentBatchStartResultDto;
 import com.example.tournament.dto.response.TournamentDto;
 import com.example.tournament.dto.response.TournamentListDto;
 import com.example.tournament.dto.response.TournamentResultDto;
+import com.example.tournament.dto.response.TournamentStartJobDto;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.service.StandingService;
+import com.example.tournament.service.TournamentBatchStartService;
 import com.example.tournament.service.TournamentService;
+import com.example.tournament.service.TournamentStartJobService;
+import com.example.tournament.util.concurrent.TournamentCommandExecutor;
+import com.example.tournament.util.export.TournamentResultWriter;
+import com.example.tournament.util.snapshot.TournamentResultSnapshots;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -26,9 +41,32 @@ public class TournamentController {
 
     private final TournamentService tournamentService;
 
+    private final TournamentCommandExecutor tournamentCommandExecutor;
+
+    private final TournamentResultWriter tournamentResultWriter;
+
+    private final TournamentResultSnapshots tournamentResultSnapshots;
+
+    private final TournamentStartJobService tournamentStartJobService;
+
+    private final StandingService standingService;
+
+    private final TournamentBatchStartService tournamentBatchStartService;
+
     @Autowired
-    public TournamentController(TournamentService tournamentService) {
+    public TournamentController(TournamentService tournamentService, TournamentCommandExecutor tournamentCommandExecutor,
+                                TournamentResultWriter tournamentResultWriter,
+                                TournamentResultSnapshots tournamentResultSnapshots,
+                                TournamentStartJobService tournamentStartJobService,
+                                StandingService standingService,
+                                TournamentBatchStartService tournamentBatchStartService) {
         this.tournamentService = tournamentService;
+        this.tournamentCommandExecutor = tournamentCommandExecutor;
+        this.tournamentResultWriter = tournamentResultWriter;
+        this.tournamentResultSnapshots = tournamentResultSnapshots;
+        this.tournamentStartJobService = tournamentStartJobService;
+        this.standingService = standingService;
+        this.tournamentBatchStartService = tournamentBatchStartService;
     }
 
     @GetMapping()
@@ -37,6 +75,14 @@ public class TournamentController {
         return tournamentService.findAll();
     }
 
+    @GetMapping("/page")
+    @ResponseStatus(HttpStatus.OK)
+    public PageDto<TournamentDto> findPage(@RequestParam(defaultValue = "0") Long after,
+                                           @RequestParam(defaultValue = "50") int size,
+                                           @RequestParam(required = false) EventStatus status) {
+        return tournamentService.findPage(after, size, status);
+    }
+
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public TournamentDto findById(@PathVariable(name = "id") Long id) {
@@ -52,18 +98,59 @@ public class TournamentController {
     @PostMapping("/delete/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id) {
-        tournamentService.delete(id);
+        tournamentCommandExecutor.run(id, () -> tournamentService.delete(id));
     }
 
     @PostMapping("/{id}/start")
     @ResponseStatus(HttpStatus.CREATED)
     public MatchListDto start(@PathVariable Long id) {
-        return tournamentService.startTournament(id);
+        return tournamentCommandExecutor.execute(id, () -> tournamentService.startTournament(id));
+    }
+
+    //Starts many tournaments in one go; the ones that can't be started are reported, not failed
+    @PostMapping("/start")
+    @ResponseStatus(HttpStatus.OK)
+    public TournamentBatchStartResultDto startAll(@RequestBody @Validated TournamentBatchStartForm tournamentBatchStartForm) {
+        return tournamentBatchStartService.startAll(tournamentBatchStartForm);
+    }
+
+    @PostMapping("/{id}/rounds")
+    @ResponseStatus(HttpStatus.CREATED)
+    public MatchListDto pairNextRound(@PathVariable Long id) {
+        return tournamentCommandExecutor.execute(id, () -> tournamentService.pairNextRound(id));
+    }
+
+    //Returns at once, the bracket is generated in the background and its progress polled by job id
+    @PostMapping("/{id}/start-async")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public TournamentStartJobDto startAsync(@PathVariable Long id) {
+        return tournamentCommandExecutor.execute(id, () -> tournamentStartJobService.submit(id));
+    }
+
+    @GetMapping("/{id}/start-jobs/{jobId}")
+    @ResponseStatus(HttpStatus.OK)
+    public TournamentStartJobDto findStartJob(@PathVariable Long id, @PathVariable String jobId) {
+        return tournamentStartJobService.findById(id, jobId);
+    }
+
+    @GetMapping("/{id}/standings")
+    @ResponseStatus(HttpStatus.OK)
+    public StandingListDto findStandings(@PathVariable Long id) {
+        return standingService.findStandingListByTournamentId(id);
+    }
+
+    //The summarize document, streamed, without previousMatchLabels; the tournament is checked before the response starts
+    @GetMapping("/{id}/export")
+    @ResponseStatus(HttpStatus.OK)
+    public StreamingResponseBody export(@PathVariable Long id) {
+        TournamentResultDto resultWithoutMatches = tournamentService.findResultWithoutMatches(id);
+        return outputStream -> tournamentResultWriter.write(resultWithoutMatches, outputStream);
     }
 
     @PostMapping("/{id}/summarize")
     @ResponseStatus(HttpStatus.CREATED)
-    public TournamentResultDto summarize(@PathVariable Long id) {
-        return tournamentService.summarizeTournament(id);
+    public byte[] summarize(@PathVariable Long id) {
+        return tournamentCommandExecutor.execute(id, () -> tournamentResultSnapshots.findOrCreate(id,
+                () -> tournamentService.summarizeTournament(id)));
     }
 }
@@ -0,0 +1,22 @@
+package com.example.tournament.dto.form;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MatchBatchUpdateForm {
+
+    @NotNull(message = "Updates can't be empty")
+    @Size(min = 1, max = 1000, message = "Number of updates must be between 1 and 1000")
+    private List<@Valid MatchBatchUpdateItemForm> updates;
+}
@@ -0,0 +1,23 @@
+package com.example.tournament.dto.form;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MatchBatchUpdateItemForm {
+
+    @NotNull(message = "Match id can't be empty")
+    private Long matchId;
+
+    @Valid
+    @NotNull(message = "Match update can't be empty")
+    private MatchUpdateForm matchUpdate;
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import javax.validation.constraints.Size;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @AllArgsConstructor
@@ -16,4 +17,7 @@ public class ParticipantsAddForm {
 
     @Size(min = 1, message = "Min size of participants to add is 1")
     private List<String> names;
+
+    //Optional ratings by participant name, used by seeded tournaments
+    private Map<String, Integer> ratings;
 }
@@ -0,0 +1,22 @@
+package com.example.tournament.dto.form;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TournamentBatchStartForm {
+
+    @Size(max = 1000, message = "Max number of tournaments to start at once is 1000")
+    private List<Long> ids;
+
+    //Starts pending tournaments whose title starts with it, when no ids are given
+    private String titlePrefix;
+}
@@ -1,5 +1,6 @@
 package com.example.tournament.dto.form;
 
+import com.example.tournament.model.TournamentFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,4 +21,14 @@ public class TournamentCreateForm {
     @Min(value = 8, message = "Max number of participants must be >=8")
     private int maxNumberOfParticipants;
 
+    //Single elimination when not given
+    private TournamentFormat format;
+
+    //Swiss only, enough rounds to leave a single unbeaten participant when not given
+    @Min(value = 1, message = "Number of rounds must be >=1")
+    private Integer numberOfRounds;
+
+    //Places participants by rating instead of at random
+    private boolean seeded;
+
 }
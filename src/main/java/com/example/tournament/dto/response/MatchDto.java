@@ -1,6 +1,8 @@
 package com.example.tournament.dto.response;
 
 import com.example.tournament.model.EventStatus;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,20 +17,30 @@ import java.util.List;
 @AllArgsConstructor
 public class MatchDto {
 
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
 
-    private Character label;
+    private String label;
 
-    private Character nextMatchLabel;
+    private String nextMatchLabel;
 
+    private String loserNextMatchLabel;
+
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long firstParticipantId;
 
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long secondParticipantId;
 
-    private List<Character> previousMatchLabels;
+    private List<String> previousMatchLabels;
+
+    private Integer round;
+
+    private Integer slot;
 
     private String score;
 
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long winnerId;
 
     private LocalTime start;
@@ -0,0 +1,20 @@
+package com.example.tournament.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class MatchUpdateResultDto {
+
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long matchId;
+
+    private boolean updated;
+
+    private MatchDto match;
+
+    private String error;
+}
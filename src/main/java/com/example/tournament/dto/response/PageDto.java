@@ -1,5 +1,7 @@
 package com.example.tournament.dto.response;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,9 +15,11 @@ import java.util.List;
 @AllArgsConstructor
 public class PageDto<T> {
 
-    private int pageNumber;
+    private int pageSize;
 
-    private int totalPages;
+    //Id to pass as 'after' for the next page, null on the last page
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long nextCursor;
 
     private List<T> content;
 }
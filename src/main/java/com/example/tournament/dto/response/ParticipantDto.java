@@ -1,6 +1,8 @@
 package com.example.tournament.dto.response;
 
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,10 +10,14 @@ import lombok.Data;
 @Builder
 public class ParticipantDto {
 
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
 
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long tournamentId;
 
     private String name;
 
+    private Integer rating;
+
 }
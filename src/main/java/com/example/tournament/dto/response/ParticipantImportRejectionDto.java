@@ -0,0 +1,15 @@
+package com.example.tournament.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ParticipantImportRejectionDto {
+
+    private long line;
+
+    private String name;
+
+    private String reason;
+}
@@ -0,0 +1,18 @@
+package com.example.tournament.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ParticipantImportResultDto {
+
+    private int imported;
+
+    private int rejected;
+
+    //The first rejected rows only, rejected counts all of them
+    private List<ParticipantImportRejectionDto> rejections;
+}
@@ -0,0 +1,26 @@
+package com.example.tournament.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class StandingDto {
+
+    private int rank;
+
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long participantId;
+
+    private int played;
+
+    private int wins;
+
+    private int losses;
+
+    private long scoreFor;
+
+    private long scoreAgainst;
+}
@@ -0,0 +1,13 @@
+package com.example.tournament.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class StandingListDto {
+
+    private List<StandingDto> standings;
+}
@@ -0,0 +1,16 @@
+package com.example.tournament.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TournamentBatchStartRejectionDto {
+
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long tournamentId;
+
+    private String reason;
+}
@@ -0,0 +1,19 @@
+package com.example.tournament.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TournamentBatchStartResultDto {
+
+    private int started;
+
+    private int rejected;
+
+    private long numberOfMatches;
+
+    private List<TournamentBatchStartRejectionDto> rejections;
+}
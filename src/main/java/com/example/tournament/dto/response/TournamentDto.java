@@ -1,6 +1,9 @@
 package com.example.tournament.dto.response;
 
 import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.TournamentFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,6 +11,7 @@ import lombok.Data;
 @Builder(toBuilder = true)
 public class TournamentDto {
 
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
 
     private String title;
@@ -19,4 +23,10 @@ public class TournamentDto {
     private int numberOfSingleEliminationMatches;
 
     private EventStatus status;
+
+    private TournamentFormat format;
+
+    private Integer numberOfRounds;
+
+    private boolean seeded;
 }
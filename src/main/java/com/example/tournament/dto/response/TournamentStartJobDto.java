@@ -0,0 +1,28 @@
+package com.example.tournament.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TournamentStartJobDto {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private String id;
+
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long tournamentId;
+
+    private Status status;
+
+    private long totalMatches;
+
+    private long savedMatches;
+
+    private String error;
+}
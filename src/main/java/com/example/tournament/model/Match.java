@@ -1,17 +1,19 @@
 package com.example.tournament.model;
 
 import com.example.tournament.exception.ServiceException;
+import com.example.tournament.util.id.TimeOrderedIdGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import java.time.LocalTime;
 
@@ -23,14 +25,25 @@ import static java.util.Objects.nonNull;
 @Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+        @Index(name = "idx_matches_tournament_id_label", columnList = "tournamentId, label", unique = true),
+        @Index(name = "idx_matches_tournament_id_first_participant_id", columnList = "tournamentId, firstParticipantId"),
+        @Index(name = "idx_matches_tournament_id_second_participant_id", columnList = "tournamentId, secondParticipantId"),
+        @Index(name = "idx_matches_tournament_id_id", columnList = "tournamentId, id"),
+        @Index(name = "idx_matches_tournament_id_status_id", columnList = "tournamentId, status, id")
+})
 public class Match {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TimeOrderedIdGenerator.NAME)
+    @GenericGenerator(name = TimeOrderedIdGenerator.NAME, strategy = TimeOrderedIdGenerator.STRATEGY)
     private Long id;
 
-    private Character label;
+    private String label;
+
+    private Integer roundNumber;
+
+    private Integer slot;
 
     private Long tournamentId;
 
@@ -44,7 +57,10 @@ public class Match {
 
     private Long winnerId;
 
-    private Character nextMatchLabel;
+    private String nextMatchLabel;
+
+    //Double elimination only: the losers bracket match the loser drops to
+    private String loserNextMatchLabel;
 
     private LocalTime startTime;
 
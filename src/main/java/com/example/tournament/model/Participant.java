@@ -1,29 +1,37 @@
 package com.example.tournament.model;
 
+import com.example.tournament.util.id.TimeOrderedIdGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @Entity
-@Table(name = "participants")
+@Table(name = "participants", indexes = @Index(name = "idx_participants_tournament_id", columnList = "tournamentId"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_participants_tournament_id_name", columnNames = {"tournamentId", "name"}))
 @NoArgsConstructor
 @AllArgsConstructor
 public class Participant {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TimeOrderedIdGenerator.NAME)
+    @GenericGenerator(name = TimeOrderedIdGenerator.NAME, strategy = TimeOrderedIdGenerator.STRATEGY)
     private Long id;
 
     private Long tournamentId;
 
     private String name;
+
+    //Orders participants of seeded tournaments, the higher the better; unrated participants come last
+    private Integer rating;
 }
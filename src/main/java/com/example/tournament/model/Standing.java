@@ -0,0 +1,46 @@
+package com.example.tournament.model;
+
+import com.example.tournament.util.id.TimeOrderedIdGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+//Running totals of a participant of a round robin tournament, updated as its matches finish
+@Data
+@Builder(toBuilder = true)
+@Entity
+@Table(name = "standings", indexes = {
+        @Index(name = "idx_standings_tournament_id_participant_id", columnList = "tournamentId, participantId", unique = true),
+        @Index(name = "idx_standings_tournament_id_wins", columnList = "tournamentId, wins")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public class Standing {
+
+    @Id
+    @GeneratedValue(generator = TimeOrderedIdGenerator.NAME)
+    @GenericGenerator(name = TimeOrderedIdGenerator.NAME, strategy = TimeOrderedIdGenerator.STRATEGY)
+    private Long id;
+
+    private Long tournamentId;
+
+    private Long participantId;
+
+    private int played;
+
+    private int wins;
+
+    private int losses;
+
+    private long scoreFor;
+
+    private long scoreAgainst;
+}
@@ -1,28 +1,33 @@
 package com.example.tournament.model;
 
+import com.example.tournament.util.id.TimeOrderedIdGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
+import static java.util.Objects.isNull;
+
 @Data
 @Entity
 @Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "tournaments")
+@Table(name = "tournaments", indexes = @Index(name = "idx_tournaments_status_id", columnList = "status, id"))
 public class Tournament {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TimeOrderedIdGenerator.NAME)
+    @GenericGenerator(name = TimeOrderedIdGenerator.NAME, strategy = TimeOrderedIdGenerator.STRATEGY)
     private Long id;
 
     private String title;
@@ -33,4 +38,39 @@ public class Tournament {
 
     @Enumerated(EnumType.STRING)
     private EventStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private TournamentFormat format;
+
+    //Swiss tournaments only
+    private Integer numberOfRounds;
+
+    //Participants are placed by rating instead of at random; none for tournaments created before seeding
+    private Boolean seeded;
+
+    //Tournaments created before formats were introduced have none and are single elimination
+    public TournamentFormat getFormat() {
+        return isNull(format) ? TournamentFormat.SINGLE_ELIMINATION : format;
+    }
+
+    public boolean isSeeded() {
+        return Boolean.TRUE.equals(seeded);
+    }
+
+    public boolean isDoubleElimination() {
+        return getFormat() == TournamentFormat.DOUBLE_ELIMINATION;
+    }
+
+    public boolean isRoundRobin() {
+        return getFormat() == TournamentFormat.ROUND_ROBIN;
+    }
+
+    public boolean isSwiss() {
+        return getFormat() == TournamentFormat.SWISS;
+    }
+
+    //Formats ranked by a table of results rather than decided by a bracket
+    public boolean hasStandings() {
+        return isRoundRobin() || isSwiss();
+    }
 }
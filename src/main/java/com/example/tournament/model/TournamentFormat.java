@@ -0,0 +1,37 @@
+package com.example.tournament.model;
+
+public enum TournamentFormat {
+
+    SINGLE_ELIMINATION {
+        @Override
+        public long numberOfMatches(int numberOfParticipants) {
+            return Math.max(numberOfParticipants - 1, 0);
+        }
+    },
+
+    //Winners and losers brackets of n - 1 and n - 2 matches, then the grand final
+    DOUBLE_ELIMINATION {
+        @Override
+        public long numberOfMatches(int numberOfParticipants) {
+            return Math.max(2L * numberOfParticipants - 2, 0);
+        }
+    },
+
+    //Everyone meets everyone else once
+    ROUND_ROBIN {
+        @Override
+        public long numberOfMatches(int numberOfParticipants) {
+            return (long) numberOfParticipants * (numberOfParticipants - 1) / 2;
+        }
+    },
+
+    //Rounds are paired one at a time from the results so far, so only the first round is known up front
+    SWISS {
+        @Override
+        public long numberOfMatches(int numberOfParticipants) {
+            return (numberOfParticipants + 1) / 2;
+        }
+    };
+
+    public abstract long numberOfMatches(int numberOfParticipants);
+}
@@ -0,0 +1,26 @@
+package com.example.tournament.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+//Tombstone of a deleted tournament whose participants and matches are still being purged
+@Data
+@Builder
+@Entity
+@Table(name = "tournament_purges")
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentPurge {
+
+    @Id
+    private Long tournamentId;
+
+    private LocalDateTime createdAt;
+}
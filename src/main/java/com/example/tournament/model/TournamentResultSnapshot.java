@@ -0,0 +1,32 @@
+package com.example.tournament.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+//Serialized result of a completed tournament, written once by the first successful summarize
+@Data
+@Builder
+@Entity
+@Table(name = "tournament_result_snapshots")
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentResultSnapshot {
+
+    @Id
+    private Long tournamentId;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] content;
+
+    private LocalDateTime createdAt;
+}
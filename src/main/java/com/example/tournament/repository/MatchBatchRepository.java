@@ -0,0 +1,40 @@
+package com.example.tournament.repository;
+
+import com.example.tournament.model.Match;
+import com.example.tournament.util.id.TimeOrderedIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//New matches go to the database as plain JDBC batches, without passing through the persistence context
+@Repository
+public class MatchBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO matches (id, tournament_id, label, round_number, slot, " +
+            "first_participant_id, second_participant_id, first_participant_score, second_participant_score, " +
+            "winner_id, next_match_label, loser_next_match_label, status) VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public MatchBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //Assigns ids to the matches from the same generator as the entities'
+    public void insertAll(List<Match> matches) {
+
+        List<Object[]> arguments = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            match.setId(TimeOrderedIdGenerator.nextId());
+            arguments.add(new Object[]{match.getId(), match.getTournamentId(), match.getLabel(), match.getRoundNumber(),
+                    match.getSlot(), match.getFirstParticipantId(), match.getSecondParticipantId(),
+                    match.getWinnerId(), match.getNextMatchLabel(), match.getLoserNextMatchLabel(),
+                    match.getStatus().name()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, arguments);
+    }
+}
@@ -1,19 +1,103 @@
 package com.example.tournament.repository;
 
+import com.example.tournament.model.EventStatus;
 import com.example.tournament.model.Match;
+import com.example.tournament.repository.projection.MatchRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface MatchRepository extends JpaRepository<Match, Long> {
 
     List<Match> findAllByTournamentId(Long tournamentId);
 
-    void deleteAllByTournamentId(Long tournamentId);
+    //Integer.MIN_VALUE makes MySQL Connector/J stream rows one by one instead of buffering the whole result
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<MatchRow> streamByTournamentIdOrderByIdAsc(Long tournamentId);
+
+    List<MatchRow> findRowsByTournamentId(Long tournamentId);
+
+    @Query("SELECT MAX(m.roundNumber) FROM Match m WHERE m.tournamentId = :tournamentId")
+    Integer findLastRoundNumber(@Param("tournamentId") Long tournamentId);
+
+    Slice<Match> findByTournamentIdAndIdGreaterThanOrderByIdAsc(Long tournamentId, Long after, Pageable pageable);
+
+    Slice<Match> findByTournamentIdAndStatusAndIdGreaterThanOrderByIdAsc(Long tournamentId, EventStatus status,
+                                                                        Long after, Pageable pageable);
+
+    Optional<Match> findByTournamentIdAndLabel(Long tournamentId, String label);
+
+    @Modifying
+    @Query("DELETE FROM Match m WHERE m.tournamentId = :tournamentId")
+    int deleteAllByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    List<Match> findByTournamentIdAndFirstParticipantIdAndStatusNot(Long tournamentId, Long firstParticipantId,
+                                                                    EventStatus status);
 
-    List<Match> findByFirstParticipantIdOrSecondParticipantId(Long firstParticipantId,
-                                                              Long secondParticipantId);
+    List<Match> findByTournamentIdAndSecondParticipantIdAndStatusNot(Long tournamentId, Long secondParticipantId,
+                                                                     EventStatus status);
 
     Optional<Match> findByNextMatchLabelIsNullAndTournamentId(Long tournamentId);
+
+    long countByTournamentIdAndStatusNot(Long tournamentId, EventStatus status);
+
+    @Modifying
+    @Query("UPDATE Match m SET m.firstParticipantId = :participantId " +
+            "WHERE m.tournamentId = :tournamentId AND m.label = :label AND m.firstParticipantId IS NULL")
+    int advanceToFirstSeat(@Param("tournamentId") Long tournamentId, @Param("label") String label,
+                           @Param("participantId") Long participantId);
+
+    @Modifying
+    @Query("UPDATE Match m SET m.secondParticipantId = :participantId " +
+            "WHERE m.tournamentId = :tournamentId AND m.label = :label AND m.secondParticipantId IS NULL")
+    int advanceToSecondSeat(@Param("tournamentId") Long tournamentId, @Param("label") String label,
+                            @Param("participantId") Long participantId);
+
+    //Uncompleted matches that were to feed the match with the given label feed the given next match instead
+    @Modifying
+    @Query("UPDATE Match m SET m.nextMatchLabel = :nextMatchLabel WHERE m.tournamentId = :tournamentId " +
+            "AND m.nextMatchLabel = :label AND m.status <> com.example.tournament.model.EventStatus.COMPLETED")
+    int redirectWinners(@Param("tournamentId") Long tournamentId, @Param("label") String label,
+                        @Param("nextMatchLabel") String nextMatchLabel);
+
+    @Modifying
+    @Query("UPDATE Match m SET m.loserNextMatchLabel = :nextMatchLabel WHERE m.tournamentId = :tournamentId " +
+            "AND m.loserNextMatchLabel = :label AND m.status <> com.example.tournament.model.EventStatus.COMPLETED")
+    int redirectLosers(@Param("tournamentId") Long tournamentId, @Param("label") String label,
+                       @Param("nextMatchLabel") String nextMatchLabel);
+
+    @Modifying
+    @Query("UPDATE Match m SET m.status = com.example.tournament.model.EventStatus.STARTED, m.startTime = :startTime, " +
+            "m.firstParticipantScore = 0, m.secondParticipantScore = 0 " +
+            "WHERE m.id = :id AND m.status = com.example.tournament.model.EventStatus.PENDING " +
+            "AND m.firstParticipantId IS NOT NULL AND m.secondParticipantId IS NOT NULL")
+    int startIfPending(@Param("id") Long id, @Param("startTime") LocalTime startTime);
+
+    @Modifying
+    @Query("UPDATE Match m SET m.firstParticipantScore = :firstParticipantScore, " +
+            "m.secondParticipantScore = :secondParticipantScore " +
+            "WHERE m.id = :id AND m.status = com.example.tournament.model.EventStatus.STARTED")
+    int updateScoresIfStarted(@Param("id") Long id, @Param("firstParticipantScore") int firstParticipantScore,
+                              @Param("secondParticipantScore") int secondParticipantScore);
+
+    @Modifying
+    @Query("UPDATE Match m SET m.status = com.example.tournament.model.EventStatus.COMPLETED, " +
+            "m.firstParticipantScore = :firstParticipantScore, m.secondParticipantScore = :secondParticipantScore, " +
+            "m.winnerId = :winnerId, m.finishTime = :finishTime " +
+            "WHERE m.id = :id AND m.status <> com.example.tournament.model.EventStatus.COMPLETED")
+    int finishIfUncompleted(@Param("id") Long id, @Param("firstParticipantScore") int firstParticipantScore,
+                            @Param("secondParticipantScore") int secondParticipantScore,
+                            @Param("winnerId") Long winnerId, @Param("finishTime") LocalTime finishTime);
 }
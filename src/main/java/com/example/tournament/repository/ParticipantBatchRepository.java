@@ -0,0 +1,36 @@
+package com.example.tournament.repository;
+
+import com.example.tournament.model.Participant;
+import com.example.tournament.util.id.TimeOrderedIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Bulk inserts skip the persistence context and go to the database as plain JDBC batches
+@Repository
+public class ParticipantBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO participants (id, tournament_id, name, rating) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ParticipantBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //Assigns ids to the participants from the same generator as the entities'
+    public void insertAll(List<Participant> participants) {
+
+        List<Object[]> arguments = new ArrayList<>(participants.size());
+        for (Participant participant : participants) {
+            participant.setId(TimeOrderedIdGenerator.nextId());
+            arguments.add(new Object[]{participant.getId(), participant.getTournamentId(), participant.getName(),
+                    participant.getRating()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, arguments);
+    }
+}
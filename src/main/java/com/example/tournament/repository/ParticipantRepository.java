@@ -1,19 +1,33 @@
 package com.example.tournament.repository;
 
 import com.example.tournament.model.Participant;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ParticipantRepository extends JpaRepository<Participant, Long> {
 
     List<Participant> findAllByTournamentId(Long tournamentId);
 
+    List<Participant> findAllByTournamentIdIn(Collection<Long> tournamentIds);
+
+    Slice<Participant> findByTournamentIdAndIdGreaterThanOrderByIdAsc(Long tournamentId, Long after, Pageable pageable);
+
     int countByTournamentId(Long tournamentId);
 
-    boolean existsByNameAndTournamentId(String name, Long tournamentId);
+    @Query("SELECT p.name FROM Participant p WHERE p.tournamentId = :tournamentId AND p.name IN :names")
+    List<String> findNamesByTournamentIdAndNameIn(@Param("tournamentId") Long tournamentId,
+                                                  @Param("names") Collection<String> names);
 
-    void deleteAllByTournamentId(Long tournamentId);
+    @Modifying
+    @Query("DELETE FROM Participant p WHERE p.tournamentId = :tournamentId")
+    int deleteAllByTournamentId(@Param("tournamentId") Long tournamentId);
 
     void deleteByTournamentIdAndId(Long tournamentId, Long id);
 }
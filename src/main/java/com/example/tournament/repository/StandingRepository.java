@@ -0,0 +1,34 @@
+package com.example.tournament.repository;
+
+import com.example.tournament.model.Standing;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface StandingRepository extends JpaRepository<Standing, Long> {
+
+    @Query("SELECT s FROM Standing s WHERE s.tournamentId = :tournamentId " +
+            "ORDER BY s.wins DESC, s.scoreFor - s.scoreAgainst DESC, s.scoreFor DESC, s.participantId")
+    List<Standing> findRanked(@Param("tournamentId") Long tournamentId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Standing s SET s.played = s.played + 1, s.wins = s.wins + :wins, s.losses = s.losses + :losses, " +
+            "s.scoreFor = s.scoreFor + :scoreFor, s.scoreAgainst = s.scoreAgainst + :scoreAgainst " +
+            "WHERE s.tournamentId = :tournamentId AND s.participantId = :participantId")
+    int addResult(@Param("tournamentId") Long tournamentId, @Param("participantId") Long participantId,
+                  @Param("wins") int wins, @Param("losses") int losses,
+                  @Param("scoreFor") long scoreFor, @Param("scoreAgainst") long scoreAgainst);
+
+    @Modifying
+    @Query("DELETE FROM Standing s WHERE s.tournamentId = :tournamentId")
+    int deleteAllByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    @Modifying
+    @Query("DELETE FROM Standing s WHERE s.tournamentId = :tournamentId AND s.participantId = :participantId")
+    int deleteByTournamentIdAndParticipantId(@Param("tournamentId") Long tournamentId,
+                                             @Param("participantId") Long participantId);
+}
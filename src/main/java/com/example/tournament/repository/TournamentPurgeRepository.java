@@ -0,0 +1,7 @@
+package com.example.tournament.repository;
+
+import com.example.tournament.model.TournamentPurge;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TournamentPurgeRepository extends JpaRepository<TournamentPurge, Long> {
+}
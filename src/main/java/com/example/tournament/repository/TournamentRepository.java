@@ -1,7 +1,72 @@
 package com.example.tournament.repository;
 
+import com.example.tournament.model.EventStatus;
 import com.example.tournament.model.Tournament;
+import com.example.tournament.repository.projection.TournamentSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface TournamentRepository extends JpaRepository<Tournament, Long> {
+
+    @Query("SELECT t.id AS id, t.title AS title, t.maxNumberOfParticipants AS maxNumberOfParticipants, " +
+            "t.numberOfSingleEliminationMatches AS numberOfSingleEliminationMatches, t.status AS status, " +
+            "t.format AS format, t.numberOfRounds AS numberOfRounds, t.seeded AS seeded, " +
+            "COUNT(p.id) AS numberOfParticipants " +
+            "FROM Tournament t LEFT JOIN Participant p ON p.tournamentId = t.id " +
+            "GROUP BY t.id, t.title, t.maxNumberOfParticipants, t.numberOfSingleEliminationMatches, t.status, t.format, " +
+            "t.numberOfRounds, t.seeded " +
+            "ORDER BY t.id")
+    List<TournamentSummary> findAllSummaries();
+
+    @Query("SELECT t.id AS id, t.title AS title, t.maxNumberOfParticipants AS maxNumberOfParticipants, " +
+            "t.numberOfSingleEliminationMatches AS numberOfSingleEliminationMatches, t.status AS status, " +
+            "t.format AS format, t.numberOfRounds AS numberOfRounds, t.seeded AS seeded, " +
+            "COUNT(p.id) AS numberOfParticipants " +
+            "FROM Tournament t LEFT JOIN Participant p ON p.tournamentId = t.id " +
+            "WHERE t.id > :after " +
+            "GROUP BY t.id, t.title, t.maxNumberOfParticipants, t.numberOfSingleEliminationMatches, t.status, t.format, " +
+            "t.numberOfRounds, t.seeded " +
+            "ORDER BY t.id")
+    Slice<TournamentSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.title AS title, t.maxNumberOfParticipants AS maxNumberOfParticipants, " +
+            "t.numberOfSingleEliminationMatches AS numberOfSingleEliminationMatches, t.status AS status, " +
+            "t.format AS format, t.numberOfRounds AS numberOfRounds, t.seeded AS seeded, " +
+            "COUNT(p.id) AS numberOfParticipants " +
+            "FROM Tournament t LEFT JOIN Participant p ON p.tournamentId = t.id " +
+            "WHERE t.status = :status AND t.id > :after " +
+            "GROUP BY t.id, t.title, t.maxNumberOfParticipants, t.numberOfSingleEliminationMatches, t.status, t.format, " +
+            "t.numberOfRounds, t.seeded " +
+            "ORDER BY t.id")
+    Slice<TournamentSummary> findSummariesByStatusAfter(@Param("status") EventStatus status, @Param("after") Long after,
+                                                        Pageable pageable);
+
+    //The prefix must have its wildcards escaped with '!'
+    @Query("SELECT t.id FROM Tournament t WHERE t.status = com.example.tournament.model.EventStatus.PENDING " +
+            "AND t.title LIKE CONCAT(:titlePrefix, '%') ESCAPE '!' ORDER BY t.id")
+    List<Long> findPendingIdsByTitlePrefix(@Param("titlePrefix") String titlePrefix, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Tournament t SET t.status = com.example.tournament.model.EventStatus.STARTED, " +
+            "t.numberOfSingleEliminationMatches = :numberOfSingleEliminationMatches " +
+            "WHERE t.id = :id AND t.status = com.example.tournament.model.EventStatus.PENDING")
+    int startIfPending(@Param("id") Long id,
+                       @Param("numberOfSingleEliminationMatches") int numberOfSingleEliminationMatches);
+
+    @Modifying
+    @Query("UPDATE Tournament t SET t.status = com.example.tournament.model.EventStatus.PENDING, " +
+            "t.numberOfSingleEliminationMatches = 0 " +
+            "WHERE t.id = :id AND t.status = com.example.tournament.model.EventStatus.STARTED")
+    int resetIfStarted(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Tournament t SET t.status = com.example.tournament.model.EventStatus.COMPLETED " +
+            "WHERE t.id = :id AND t.status = com.example.tournament.model.EventStatus.STARTED")
+    int completeIfStarted(@Param("id") Long id);
 }
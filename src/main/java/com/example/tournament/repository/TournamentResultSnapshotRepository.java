@@ -0,0 +1,16 @@
+package com.example.tournament.repository;
+
+import com.example.tournament.model.TournamentResultSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface TournamentResultSnapshotRepository extends JpaRepository<TournamentResultSnapshot, Long> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TournamentResultSnapshot s WHERE s.tournamentId = :tournamentId")
+    int deleteByTournamentId(@Param("tournamentId") Long tournamentId);
+}
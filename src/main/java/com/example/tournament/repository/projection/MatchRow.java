@@ -0,0 +1,37 @@
+package com.example.tournament.repository.projection;
+
+import com.example.tournament.model.EventStatus;
+
+import java.time.LocalTime;
+
+//Read-only view of a match row. Unlike entities, rows aren't kept by the persistence context while streaming
+public interface MatchRow {
+
+    Long getId();
+
+    String getLabel();
+
+    Integer getRoundNumber();
+
+    Integer getSlot();
+
+    Long getFirstParticipantId();
+
+    int getFirstParticipantScore();
+
+    Long getSecondParticipantId();
+
+    int getSecondParticipantScore();
+
+    Long getWinnerId();
+
+    String getNextMatchLabel();
+
+    String getLoserNextMatchLabel();
+
+    LocalTime getStartTime();
+
+    LocalTime getFinishTime();
+
+    EventStatus getStatus();
+}
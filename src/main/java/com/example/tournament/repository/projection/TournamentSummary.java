@@ -0,0 +1,25 @@
+package com.example.tournament.repository.projection;
+
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.TournamentFormat;
+
+public interface TournamentSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    int getMaxNumberOfParticipants();
+
+    int getNumberOfSingleEliminationMatches();
+
+    EventStatus getStatus();
+
+    TournamentFormat getFormat();
+
+    Integer getNumberOfRounds();
+
+    Boolean getSeeded();
+
+    long getNumberOfParticipants();
+}
@@ -3,13 +3,26 @@ package com.example.tournament.service;
 import com.example.tournament.model.Match;
 import com.example.tournament.model.Participant;
 import com.example.tournament.model.Tournament;
+import com.example.tournament.util.cache.CacheStatistics;
+
+import java.util.Map;
 
 public interface DataHelperService {
 
     Tournament findTournamentByIdOrThrowException(Long id);
 
+    Tournament findCurrentTournamentByIdOrThrowException(Long id);
+
     Participant findParticipantByIdOrThrowException(Long id);
 
     Match findMatchByIdOrThrowException(Long id);
 
+    void evictTournament(Long id);
+
+    void evictParticipant(Long id);
+
+    void evictMatch(Long id);
+
+    Map<String, CacheStatistics> getCacheStatistics();
+
 }
@@ -7,9 +7,17 @@ import com.example.tournament.model.Tournament;
 import com.example.tournament.repository.MatchRepository;
 import com.example.tournament.repository.ParticipantRepository;
 import com.example.tournament.repository.TournamentRepository;
+import com.example.tournament.util.cache.CacheStatistics;
+import com.example.tournament.util.cache.EntityCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.example.tournament.util.transaction.TransactionCallbacks.afterCommit;
+
 @Service
 public class DataHelperServiceImpl implements DataHelperService {
 
@@ -19,28 +27,80 @@ public class DataHelperServiceImpl implements DataHelperService {
 
     private final MatchRepository matchRepository;
 
+    //Evicted on this node only, another node may read a tournament it changed for up to the TTL
+    private final EntityCache<Tournament> tournamentCache;
+
+    private final EntityCache<Participant> participantCache;
+
+    //Matches change with every score, so only ids that don't exist are cached
+    private final EntityCache<Match> matchCache;
+
     @Autowired
-    public DataHelperServiceImpl(TournamentRepository tournamentRepository, ParticipantRepository participantRepository, MatchRepository matchRepository) {
+    public DataHelperServiceImpl(TournamentRepository tournamentRepository, ParticipantRepository participantRepository, MatchRepository matchRepository,
+                                 @Value("${tournament.entity-cache.maximum-size:10000}") int maximumSize,
+                                 @Value("${tournament.entity-cache.ttl-ms:30000}") long ttlMillis,
+                                 @Value("${tournament.entity-cache.negative-ttl-ms:5000}") long negativeTtlMillis) {
         this.tournamentRepository = tournamentRepository;
         this.participantRepository = participantRepository;
         this.matchRepository = matchRepository;
+        this.tournamentCache = new EntityCache<>(maximumSize, ttlMillis, negativeTtlMillis,
+                tournament -> tournament.toBuilder().build());
+        this.participantCache = new EntityCache<>(maximumSize, ttlMillis, negativeTtlMillis,
+                participant -> participant.toBuilder().build());
+        this.matchCache = new EntityCache<>(maximumSize, 0, negativeTtlMillis, match -> match);
     }
 
     @Override
     public Tournament findTournamentByIdOrThrowException(Long id) {
+        return tournamentCache.get(id, tournamentRepository::findById)
+                .orElseThrow(() -> new ServiceException(String.format("Tournament with id %s not found", id)));
+    }
+
+    //Cache evictions are local to a node, so decisions on a tournament's status read it from the database
+    @Override
+    public Tournament findCurrentTournamentByIdOrThrowException(Long id) {
         return tournamentRepository.findById(id)
                 .orElseThrow(() -> new ServiceException(String.format("Tournament with id %s not found", id)));
     }
 
     @Override
     public Participant findParticipantByIdOrThrowException(Long id) {
-        return participantRepository.findById(id)
+        return participantCache.get(id, participantRepository::findById)
                 .orElseThrow(() -> new ServiceException(String.format("Participant with id %s not found", id)));
     }
 
     @Override
     public Match findMatchByIdOrThrowException(Long id) {
-        return matchRepository.findById(id)
+        return matchCache.get(id, matchRepository::findById)
                 .orElseThrow(() -> new ServiceException(String.format("Match with id %s not found", id)));
     }
+
+    //Evicted right away and once more after commit, so a read racing the write can't leave the old row behind
+    @Override
+    public void evictTournament(Long id) {
+        tournamentCache.evict(id);
+        afterCommit(() -> tournamentCache.evict(id));
+    }
+
+    @Override
+    public void evictParticipant(Long id) {
+        participantCache.evict(id);
+        afterCommit(() -> participantCache.evict(id));
+    }
+
+    @Override
+    public void evictMatch(Long id) {
+        matchCache.evict(id);
+        afterCommit(() -> matchCache.evict(id));
+    }
+
+    @Override
+    public Map<String, CacheStatistics> getCacheStatistics() {
+
+        Map<String, CacheStatistics> statistics = new LinkedHashMap<>();
+        statistics.put("tournaments", tournamentCache.getStatistics());
+        statistics.put("participants", participantCache.getStatistics());
+        statistics.put("matches", matchCache.getStatistics());
+        return statistics;
+    }
 }
@@ -0,0 +1,12 @@
+package com.example.tournament.service;
+
+import com.example.tournament.dto.form.MatchUpdateForm;
+import com.example.tournament.dto.response.MatchDto;
+
+
+public interface JournaledMatchService {
+
+    MatchDto startMatch(Long tournamentId, Long matchId);
+
+    MatchDto updateMatch(Long tournamentId, Long id, MatchUpdateForm matchUpdateForm);
+}
@@ -0,0 +1,110 @@
+package com.example.tournament.service;
+
+import com.example.tournament.dto.form.MatchUpdateForm;
+import com.example.tournament.dto.response.MatchDto;
+import com.example.tournament.exception.ServiceException;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.util.bracket.LiveBracketStore;
+import com.example.tournament.util.journal.MatchJournal;
+import com.example.tournament.util.journal.MatchJournalRecord;
+import com.example.tournament.util.version.TournamentVersions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static java.util.Objects.isNull;
+
+//Starts and score updates of live matches go to the match journal instead of the database when it is enabled
+@Service
+public class JournaledMatchServiceImpl implements JournaledMatchService {
+
+    private final MatchService matchService;
+
+    private final MatchJournal matchJournal;
+
+    private final LiveBracketStore liveBracketStore;
+
+    private final TournamentVersions tournamentVersions;
+
+    @Autowired
+    public JournaledMatchServiceImpl(MatchService matchService, MatchJournal matchJournal,
+                                     LiveBracketStore liveBracketStore, TournamentVersions tournamentVersions) {
+        this.matchService = matchService;
+        this.matchJournal = matchJournal;
+        this.liveBracketStore = liveBracketStore;
+        this.tournamentVersions = tournamentVersions;
+    }
+
+    @Override
+    public MatchDto startMatch(Long tournamentId, Long matchId) {
+
+        Optional<MatchDto> liveMatch = findLiveMatch(tournamentId, matchId);
+        if (!liveMatch.isPresent()) {
+            return matchService.startMatch(tournamentId, matchId);
+        }
+        MatchDto match = liveMatch.get();
+
+        if (!match.getStatus().equals(EventStatus.PENDING)) {
+            throw new ServiceException(String.format("Match (id '%s') has been already started", matchId));
+        }
+
+        if (isNull(match.getFirstParticipantId()) || isNull(match.getSecondParticipantId())) {
+            throw new ServiceException(String.format("Match (id '%s') hasn't got 2 participants", matchId));
+        }
+
+        LocalTime startTime = LocalTime.now();
+        matchJournal.append(MatchJournalRecord.builder()
+                .type(MatchJournalRecord.Type.START)
+                .tournamentId(tournamentId)
+                .matchId(matchId)
+                .time(startTime)
+                .build());
+        liveBracketStore.start(tournamentId, matchId, startTime);
+        tournamentVersions.bump(tournamentId);
+
+        return findLiveMatch(tournamentId, matchId).orElse(match);
+    }
+
+    @Override
+    public MatchDto updateMatch(Long tournamentId, Long id, MatchUpdateForm matchUpdateForm) {
+
+        //Finishing a match advances its winner, which stays a single database transaction
+        Optional<MatchDto> liveMatch = matchUpdateForm.isFinished() ? Optional.empty() : findLiveMatch(tournamentId, id);
+        if (!liveMatch.isPresent()) {
+            return matchService.updateMatch(tournamentId, id, matchUpdateForm);
+        }
+        MatchDto match = liveMatch.get();
+
+        if (match.getStatus().equals(EventStatus.PENDING)) {
+            throw new ServiceException(String.format("Match (id '%s') hasn't been started", id));
+        }
+
+        if (match.getStatus().equals(EventStatus.COMPLETED)) {
+            throw new ServiceException(String.format("Match (id '%s') has been already finished", id));
+        }
+
+        matchJournal.append(MatchJournalRecord.builder()
+                .type(MatchJournalRecord.Type.SCORE)
+                .tournamentId(tournamentId)
+                .matchId(id)
+                .firstParticipantScore(matchUpdateForm.getFirstParticipantScore())
+                .secondParticipantScore(matchUpdateForm.getSecondParticipantScore())
+                .time(LocalTime.now())
+                .build());
+        liveBracketStore.updateScores(tournamentId, id,
+                matchUpdateForm.getFirstParticipantScore(), matchUpdateForm.getSecondParticipantScore());
+        tournamentVersions.bump(tournamentId);
+
+        return findLiveMatch(tournamentId, id).orElse(match);
+    }
+
+    private Optional<MatchDto> findLiveMatch(Long tournamentId, Long matchId) {
+
+        if (!matchJournal.isEnabled()) {
+            return Optional.empty();
+        }
+        return liveBracketStore.findMatch(tournamentId, matchId);
+    }
+}
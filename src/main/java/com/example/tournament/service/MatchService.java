@@ -1,33 +1,59 @@
 package com.example.tournament.service;
 
+import com.example.tournament.dto.form.MatchBatchUpdateForm;
 import com.example.tournament.dto.form.MatchUpdateForm;
+import com.example.tournament.dto.response.MatchBatchUpdateResultDto;
 import com.example.tournament.dto.response.MatchDto;
 import com.example.tournament.dto.response.MatchListDto;
+import com.example.tournament.dto.response.PageDto;
+import com.example.tournament.model.EventStatus;
 import com.example.tournament.model.Match;
 import com.example.tournament.model.Participant;
 import com.example.tournament.model.Tournament;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 
 public interface MatchService {
 
     MatchListDto findMatchListByTournamentId(Long tournamentId);
 
+    PageDto<MatchDto> findPageByTournamentId(Long tournamentId, Long after, int pageSize, EventStatus status);
+
     MatchDto findById(Long tournamentId, Long matchId);
 
+    void forEachMatch(Long tournamentId, Consumer<MatchDto> action);
+
     MatchDto startMatch(Long tournamentId, Long matchId);
 
     MatchDto updateMatch(Long tournamentId, Long id, MatchUpdateForm matchUpdateForm);
 
+    MatchBatchUpdateResultDto updateMatches(Long tournamentId, MatchBatchUpdateForm matchBatchUpdateForm);
+
     void deleteAllByTournamentId(Long tournamentId);
 
+    void evictByTournamentId(Long tournamentId);
+
     Optional<Match> findUncompletedMatchByParticipantId(Long tournamentId, Long participantId);
 
     void disqualifyParticipantById(Match match, Long participantId);
 
+    void disqualifyParticipantFromAllMatches(Long tournamentId, Long participantId);
+
     Match findFinalMatchByTournamentId(Long tournamentId);
 
-    List<Match> generateMatches(List<Participant> participants, Tournament tournament);
+    long countUncompletedByTournamentId(Long tournamentId);
+
+    int findLastRoundNumber(Long tournamentId);
+
+    void generateMatches(List<Participant> participants, Tournament tournament);
+
+    void generateSwissRound(Tournament tournament, List<Participant> participants);
+
+    void buildMatches(List<Participant> participants, Tournament tournament, int chunkSize,
+                      Consumer<List<Match>> chunkConsumer);
+
+    void saveMatches(Long tournamentId, List<Match> matches);
 }
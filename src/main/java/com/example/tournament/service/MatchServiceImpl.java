@@ -1,27 +1,53 @@
 package com.example.tournament.service;
 
+import com.example.tournament.dto.form.MatchBatchUpdateForm;
+import com.example.tournament.dto.form.MatchBatchUpdateItemForm;
 import com.example.tournament.dto.form.MatchUpdateForm;
+import com.example.tournament.dto.response.MatchBatchUpdateResultDto;
 import com.example.tournament.dto.response.MatchDto;
 import com.example.tournament.dto.response.MatchListDto;
+import com.example.tournament.dto.response.MatchUpdateResultDto;
+import com.example.tournament.dto.response.PageDto;
 import com.example.tournament.exception.ServiceException;
 import com.example.tournament.model.EventStatus;
 import com.example.tournament.model.Match;
 import com.example.tournament.model.Participant;
 import com.example.tournament.model.Tournament;
+import com.example.tournament.repository.MatchBatchRepository;
 import com.example.tournament.repository.MatchRepository;
+import com.example.tournament.repository.projection.MatchRow;
+import com.example.tournament.util.bracket.BracketIndex;
+import com.example.tournament.util.bracket.DoubleEliminationBracketGenerator;
+import com.example.tournament.util.bracket.LiveBracketStore;
+import com.example.tournament.util.bracket.MatchLabels;
+import com.example.tournament.util.bracket.RoundRobinFixtureGenerator;
+import com.example.tournament.util.bracket.Seeding;
+import com.example.tournament.util.bracket.SingleEliminationBracketGenerator;
+import com.example.tournament.util.bracket.SwissPairing;
+import com.example.tournament.util.journal.MatchJournal;
 import com.example.tournament.util.mapper.MatchMapper;
+import com.example.tournament.util.page.KeysetPages;
+import com.example.tournament.util.version.TournamentVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalTime;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -29,38 +55,81 @@ import static java.util.Objects.nonNull;
 @Service
 public class MatchServiceImpl implements MatchService {
 
+    private static final int INSERT_CHUNK_SIZE = 1000;
+
     private final MatchRepository matchRepository;
 
     private final DataHelperService dataHelperService;
 
     private final MatchMapper matchMapper;
 
+    private final LiveBracketStore liveBracketStore;
+
+    private final MatchJournal matchJournal;
+
+    private final TournamentVersions tournamentVersions;
+
+    private final MatchBatchRepository matchBatchRepository;
+
+    private final StandingService standingService;
+
     @Autowired
-    public MatchServiceImpl(MatchRepository matchRepository, DataHelperService dataHelperService, MatchMapper matchMapper) {
+    public MatchServiceImpl(MatchRepository matchRepository, DataHelperService dataHelperService, MatchMapper matchMapper,
+                            LiveBracketStore liveBracketStore, MatchJournal matchJournal,
+                            TournamentVersions tournamentVersions, MatchBatchRepository matchBatchRepository,
+                            StandingService standingService) {
         this.matchRepository = matchRepository;
+        this.matchBatchRepository = matchBatchRepository;
+        this.standingService = standingService;
         this.dataHelperService = dataHelperService;
         this.matchMapper = matchMapper;
+        this.liveBracketStore = liveBracketStore;
+        this.matchJournal = matchJournal;
+        this.tournamentVersions = tournamentVersions;
     }
 
+    //Read-only transaction for the streamed reads of formats with standings
     @Override
+    @Transactional(readOnly = true)
     public MatchListDto findMatchListByTournamentId(Long tournamentId) {
 
-        dataHelperService.findTournamentByIdOrThrowException(tournamentId);
+        Optional<List<MatchDto>> liveMatches = liveBracketStore.findMatches(tournamentId);
+        if (liveMatches.isPresent()) {
+            return MatchListDto.builder()
+                    .matches(liveMatches.get())
+                    .build();
+        }
 
-        List<Match> matches = matchRepository.findAllByTournamentId(tournamentId);
+        Tournament tournament = dataHelperService.findTournamentByIdOrThrowException(tournamentId);
+
+        long stamp = liveBracketStore.stamp(tournamentId);
+        //Journaled changes of a bracket dropped from memory must be in the snapshot before it is kept again
+        matchJournal.flush();
+        //Round robin and Swiss tournaments have no bracket to follow, every match would be a root of its own.
+        //A round robin has far too many matches to hold as entities, its rows are streamed straight into DTOs
+        if (tournament.hasStandings()) {
+            List<MatchDto> matchDtos = new ArrayList<>();
+            forEachMatch(tournamentId, match -> {
+                match.setPreviousMatchLabels(Collections.emptyList());
+                matchDtos.add(match);
+            });
+            return MatchListDto.builder()
+                    .matches(matchDtos)
+                    .build();
+        }
 
+        List<Match> matches = matchRepository.findAllByTournamentId(tournamentId);
+        liveBracketStore.load(tournamentId, stamp, matches);
+        BracketIndex bracketIndex = BracketIndex.of(matches);
         List<MatchDto> matchDtos = matchMapper.matchListToDto(matches);
 
+        //The stored round is kept, as the live bracket and the export show it; a losers bracket counted back
+        //from its own final would get rounds of its own
         matchDtos.forEach(m -> {
-
-            List<Character> previousMatchLabels = matchDtos.stream()
-                    .filter(match -> !isNull(match.getNextMatchLabel()))
-                    .filter(match -> match.getNextMatchLabel().equals(m.getLabel()))
-                    .map(MatchDto::getLabel)
-                    .collect(Collectors.toList());
-
-            m.setPreviousMatchLabels(previousMatchLabels);
-
+            m.setPreviousMatchLabels(bracketIndex.getPreviousMatchLabels(m.getLabel()));
+            if (isNull(m.getRound())) {
+                m.setRound(bracketIndex.getRound(m.getLabel()));
+            }
         });
         return MatchListDto.builder()
                 .matches(matchDtos)
@@ -68,9 +137,27 @@ public class MatchServiceImpl implements MatchService {
     }
 
 
+    @Override
+    public PageDto<MatchDto> findPageByTournamentId(Long tournamentId, Long after, int pageSize, EventStatus status) {
+
+        Pageable pageable = KeysetPages.firstRows(pageSize);
+        dataHelperService.findTournamentByIdOrThrowException(tournamentId);
+
+        Slice<Match> matches = isNull(status) ?
+                matchRepository.findByTournamentIdAndIdGreaterThanOrderByIdAsc(tournamentId, after, pageable) :
+                matchRepository.findByTournamentIdAndStatusAndIdGreaterThanOrderByIdAsc(tournamentId, status, after, pageable);
+
+        return KeysetPages.toPageDto(matches, Match::getId, matchMapper::matchListToDto);
+    }
+
     @Override
     public MatchDto findById(Long tournamentId, Long matchId) {
 
+        Optional<MatchDto> liveMatch = liveBracketStore.findMatch(tournamentId, matchId);
+        if (liveMatch.isPresent()) {
+            return liveMatch.get();
+        }
+
         dataHelperService.findTournamentByIdOrThrowException(tournamentId);
 
         Match match = dataHelperService.findMatchByIdOrThrowException(matchId);
@@ -78,9 +165,22 @@ public class MatchServiceImpl implements MatchService {
         return matchMapper.matchToDto(match);
     }
 
+    //Matches are read through a forward-only stream, one row at a time, in id order
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachMatch(Long tournamentId, Consumer<MatchDto> action) {
+
+        try (Stream<MatchRow> matches = matchRepository.streamByTournamentIdOrderByIdAsc(tournamentId)) {
+            matches.map(matchMapper::matchRowToDto).forEach(action);
+        }
+    }
+
     @Override
+    @Transactional
     public MatchDto startMatch(Long tournamentId, Long matchId) {
 
+        matchJournal.flush();
+        dataHelperService.findTournamentByIdOrThrowException(tournamentId);
         Match matchFromDb = dataHelperService.findMatchByIdOrThrowException(matchId);
 
         if (!matchFromDb.getStatus().equals(EventStatus.PENDING)) {
@@ -100,7 +200,11 @@ public class MatchServiceImpl implements MatchService {
                 .status(EventStatus.STARTED)
                 .build();
 
-        matchRepository.save(updatedMatch);
+        if (matchRepository.startIfPending(updatedMatch.getId(), updatedMatch.getStartTime()) == 0) {
+            throw new ServiceException(String.format("Match (id '%s') has been already started", matchFromDb.getId()));
+        }
+        liveBracketStore.update(updatedMatch);
+        tournamentVersions.bump(tournamentId);
 
         return matchMapper.matchToDto(updatedMatch);
     }
@@ -110,34 +214,161 @@ public class MatchServiceImpl implements MatchService {
     @Transactional
     public MatchDto updateMatch(Long tournamentId, Long matchId, MatchUpdateForm matchUpdateForm) {
 
+        //Journaled starts and scores must reach the database before it is read
+        matchJournal.flush();
+        dataHelperService.findTournamentByIdOrThrowException(tournamentId);
         Match matchFromDb = dataHelperService.findMatchByIdOrThrowException(matchId);
 
+        checkIfMatchCanBeUpdated(tournamentId, matchFromDb);
+
+        Match updatedMatch = applyScores(matchFromDb, matchUpdateForm);
+
+        if (matchUpdateForm.isFinished()) {
+            updatedMatch = finishMatch(updatedMatch, getWinnerId(updatedMatch));
+        } else if (matchRepository.updateScoresIfStarted(updatedMatch.getId(),
+                updatedMatch.getFirstParticipantScore(), updatedMatch.getSecondParticipantScore()) == 0) {
+            throw new ServiceException(String.format("Match (id '%s') has been already finished", matchId));
+        } else {
+            liveBracketStore.update(updatedMatch);
+        }
+        tournamentVersions.bump(tournamentId);
+
+        return matchMapper.matchToDto(updatedMatch);
+    }
+
+    @Override
+    @Transactional
+    public MatchBatchUpdateResultDto updateMatches(Long tournamentId, MatchBatchUpdateForm matchBatchUpdateForm) {
+
+        matchJournal.flush();
+        Tournament tournament = dataHelperService.findTournamentByIdOrThrowException(tournamentId);
+        List<MatchBatchUpdateItemForm> updates = matchBatchUpdateForm.getUpdates();
+
+        Map<Long, Match> matchesById = matchRepository.findAllById(updates.stream()
+                .map(MatchBatchUpdateItemForm::getMatchId)
+                .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Match::getId, Function.identity()));
+
+        Map<String, Long> matchIdsByLabel = matchesById.values().stream()
+                .filter(match -> match.getTournamentId().equals(tournamentId))
+                .collect(Collectors.toMap(Match::getLabel, Match::getId));
+
+        String[] errors = new String[updates.size()];
+        List<Integer> validUpdates = new ArrayList<>(updates.size());
+        Set<Long> requestedMatchIds = new HashSet<>();
+
+        for (int i = 0; i < updates.size(); i++) {
+            Long matchId = updates.get(i).getMatchId();
+            Match match = matchesById.get(matchId);
+            if (isNull(match)) {
+                errors[i] = String.format("Match with id %s not found", matchId);
+            } else if (!requestedMatchIds.add(matchId)) {
+                errors[i] = String.format("Match (id '%s') is updated more than once", matchId);
+            } else {
+                try {
+                    checkIfMatchCanBeUpdated(tournamentId, match);
+                    validUpdates.add(i);
+                } catch (ServiceException e) {
+                    errors[i] = e.getMessage();
+                }
+            }
+        }
+
+        //Earlier rounds go first, so a winner is seated before its next match is touched
+        validUpdates.sort(Comparator.comparing(i -> matchesById.get(updates.get(i).getMatchId()).getRoundNumber(),
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        Set<Long> changedMatchIds = new LinkedHashSet<>();
+        List<Match> finishedMatches = new ArrayList<>();
+        for (Integer i : validUpdates) {
+            MatchUpdateForm matchUpdateForm = updates.get(i).getMatchUpdate();
+            try {
+                Match updatedMatch = applyScores(matchesById.get(updates.get(i).getMatchId()), matchUpdateForm);
+
+                if (matchUpdateForm.isFinished()) {
+                    updatedMatch = completeMatch(updatedMatch, getWinnerId(updatedMatch));
+                    finishedMatches.add(updatedMatch);
+                    Long nextMatchId = matchIdsByLabel.get(updatedMatch.getNextMatchLabel());
+                    if (nonNull(nextMatchId)) {
+                        matchesById.put(nextMatchId, seatWinner(matchesById.get(nextMatchId), updatedMatch));
+                        changedMatchIds.add(nextMatchId);
+                    } else if (nonNull(updatedMatch.getNextMatchLabel())) {
+                        advanceWinner(updatedMatch);
+                    }
+                    Long loserNextMatchId = matchIdsByLabel.get(updatedMatch.getLoserNextMatchLabel());
+                    if (nonNull(loserNextMatchId)) {
+                        Match loserNextMatch = matchesById.get(loserNextMatchId).toBuilder().build();
+                        loserNextMatch.addParticipant(getLoserId(updatedMatch));
+                        matchesById.put(loserNextMatchId, loserNextMatch);
+                        changedMatchIds.add(loserNextMatchId);
+                    } else if (nonNull(updatedMatch.getLoserNextMatchLabel())) {
+                        advanceLoser(updatedMatch);
+                    }
+                }
+
+                matchesById.put(updatedMatch.getId(), updatedMatch);
+                changedMatchIds.add(updatedMatch.getId());
+            } catch (ServiceException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+
+        List<Match> changedMatches = changedMatchIds.stream()
+                .map(matchesById::get)
+                .collect(Collectors.toList());
+        matchRepository.saveAll(changedMatches);
+        changedMatches.forEach(liveBracketStore::update);
+        if (tournament.hasStandings()) {
+            finishedMatches.forEach(standingService::recordResult);
+        }
+        tournamentVersions.bump(tournamentId);
+
+        List<MatchUpdateResultDto> results = new ArrayList<>(updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            Long matchId = updates.get(i).getMatchId();
+            results.add(isNull(errors[i]) ?
+                    MatchUpdateResultDto.builder()
+                            .matchId(matchId)
+                            .updated(true)
+                            .match(matchMapper.matchToDto(matchesById.get(matchId)))
+                            .build() :
+                    MatchUpdateResultDto.builder()
+                            .matchId(matchId)
+                            .updated(false)
+                            .error(errors[i])
+                            .build());
+        }
+
+        return MatchBatchUpdateResultDto.builder()
+                .results(results)
+                .build();
+    }
+
+    private void checkIfMatchCanBeUpdated(Long tournamentId, Match matchFromDb) {
+
         if (matchFromDb.getStatus().equals(EventStatus.PENDING)) {
-            throw new ServiceException(String.format("Match (id '%s') hasn't been started", matchId));
+            throw new ServiceException(String.format("Match (id '%s') hasn't been started", matchFromDb.getId()));
         }
 
         if (matchFromDb.getStatus().equals(EventStatus.COMPLETED)) {
-            throw new ServiceException(String.format("Match (id '%s') has been already finished", matchId));
+            throw new ServiceException(String.format("Match (id '%s') has been already finished", matchFromDb.getId()));
         }
 
         checkIfMatchBelongsToTournament(tournamentId, matchFromDb);
+    }
 
-        Match updatedMatch = matchFromDb.toBuilder()
+    private Match applyScores(Match match, MatchUpdateForm matchUpdateForm) {
+
+        return match.toBuilder()
                 .firstParticipantScore(matchUpdateForm.getFirstParticipantScore())
                 .secondParticipantScore(matchUpdateForm.getSecondParticipantScore())
                 .build();
+    }
 
-        if (matchUpdateForm.isFinished()) {
-
-            Long winnerId = updatedMatch.getFirstParticipantScore() > updatedMatch.getSecondParticipantScore() ?
-                    updatedMatch.getFirstParticipantId() : updatedMatch.getSecondParticipantId();
-
-            updatedMatch = finishMatch(updatedMatch, winnerId);
-        }
-
-        matchRepository.save(updatedMatch);
+    private Long getWinnerId(Match match) {
 
-        return matchMapper.matchToDto(updatedMatch);
+        return match.getFirstParticipantScore() > match.getSecondParticipantScore() ?
+                match.getFirstParticipantId() : match.getSecondParticipantId();
     }
 
     private void checkIfMatchBelongsToTournament(Long tournamentId, Match matchFromDb) {
@@ -148,45 +379,163 @@ public class MatchServiceImpl implements MatchService {
     }
 
     private Match finishMatch(Match match, Long winnerId) {
+        return finishMatch(match, winnerId, false);
+    }
+
+    //A disqualified loser is about to be removed, so doesn't drop to the losers bracket
+    private Match finishMatch(Match match, Long winnerId, boolean loserDisqualified) {
+
+        Match finishedMatch = completeMatch(match, winnerId);
+
+        //Only the request that actually completes the match may advance its winner
+        if (matchRepository.finishIfUncompleted(finishedMatch.getId(), finishedMatch.getFirstParticipantScore(),
+                finishedMatch.getSecondParticipantScore(), finishedMatch.getWinnerId(), finishedMatch.getFinishTime()) == 0) {
+            throw new ServiceException(String.format("Match (id '%s') has been already finished", finishedMatch.getId()));
+        }
+        liveBracketStore.update(finishedMatch);
+
+        if (nonNull(match.getNextMatchLabel())) {
+            advanceWinner(finishedMatch);
+        } else if (dataHelperService.findTournamentByIdOrThrowException(match.getTournamentId()).hasStandings()) {
+            standingService.recordResult(finishedMatch);
+        }
+
+        if (nonNull(match.getLoserNextMatchLabel())) {
+            if (loserDisqualified) {
+                passByeOn(match.getTournamentId(), match.getLoserNextMatchLabel());
+            } else {
+                advanceLoser(finishedMatch);
+            }
+        }
+
+        return finishedMatch;
+
+    }
+
+    //The match a disqualified participant would have dropped to is one feeder short: the participant already seated
+    //there goes through, otherwise the match is left out, as the generator does, and its other feeder goes straight on
+    private void passByeOn(Long tournamentId, String label) {
+
+        Match match = matchRepository.findByTournamentIdAndLabel(tournamentId, label).orElseThrow(() ->
+                new ServiceException(String.format("Match '%s' of tournament (id '%s') not found", label, tournamentId)));
+
+        if (match.getNumberOfParticipants() > 0) {
+            finishMatch(match, nonNull(match.getFirstParticipantId()) ?
+                    match.getFirstParticipantId() : match.getSecondParticipantId());
+            return;
+        }
+
+        matchRepository.finishIfUncompleted(match.getId(), 0, 0, null, LocalTime.now());
+        int redirectedFeeders = matchRepository.redirectWinners(tournamentId, label, match.getNextMatchLabel())
+                + matchRepository.redirectLosers(tournamentId, label, match.getNextMatchLabel());
+        //The next matches of the in-memory bracket are fixed, it is read anew from the database
+        liveBracketStore.evict(tournamentId);
+
+        //No feeder left either, the bye goes on once more
+        if (redirectedFeeders == 0 && nonNull(match.getNextMatchLabel())) {
+            passByeOn(tournamentId, match.getNextMatchLabel());
+        }
+    }
+
+    private Match completeMatch(Match match, Long winnerId) {
 
         if (!winnerId.equals(match.getFirstParticipantId()) && !winnerId.equals(match.getSecondParticipantId())) {
             throw new ServiceException("Wrong winner id");
         }
 
-        Match finishedMatch = match.toBuilder()
+        return match.toBuilder()
                 .winnerId(winnerId)
                 .finishTime(LocalTime.now())
                 .status(EventStatus.COMPLETED)
                 .build();
+    }
 
-        List<Match> tournamentMatches = matchRepository.findAllByTournamentId(match.getTournamentId());
-        if (nonNull(match.getNextMatchLabel())) {
-            Match nextMatch = tournamentMatches.stream()
-                    .filter(m -> m.getLabel() == finishedMatch.getNextMatchLabel()).findFirst().get();
-            nextMatch.addParticipant(finishedMatch.getWinnerId());
-            matchRepository.save(nextMatch);
+    private Match seatWinner(Match nextMatch, Match finishedMatch) {
+
+        Match seatedMatch = nextMatch.toBuilder().build();
+
+        if (isNull(finishedMatch.getSlot())) {
+            seatedMatch.addParticipant(finishedMatch.getWinnerId());
+        } else if (finishedMatch.getSlot() % 2 == 0 && isNull(seatedMatch.getFirstParticipantId())) {
+            seatedMatch.setFirstParticipantId(finishedMatch.getWinnerId());
+        } else if (finishedMatch.getSlot() % 2 == 1 && isNull(seatedMatch.getSecondParticipantId())) {
+            seatedMatch.setSecondParticipantId(finishedMatch.getWinnerId());
+        } else {
+            throw new ServiceException(String.format("Match (id '%s') already has got 2 participants", nextMatch.getId()));
+        }
+        return seatedMatch;
+    }
+
+    //Even slots feed the first seat of the next match and odd slots the second one
+    private void advanceWinner(Match finishedMatch) {
+
+        if (isNull(finishedMatch.getSlot())) {
+            seatInFirstFreeSeat(finishedMatch, finishedMatch.getNextMatchLabel(), finishedMatch.getWinnerId());
+        } else {
+            int updatedRows = finishedMatch.getSlot() % 2 == 0 ?
+                    matchRepository.advanceToFirstSeat(finishedMatch.getTournamentId(),
+                            finishedMatch.getNextMatchLabel(), finishedMatch.getWinnerId()) :
+                    matchRepository.advanceToSecondSeat(finishedMatch.getTournamentId(),
+                            finishedMatch.getNextMatchLabel(), finishedMatch.getWinnerId());
+
+            if (updatedRows == 0) {
+                throw new ServiceException(String.format("Next match '%s' of match (id '%s') not found or its seat is already taken",
+                        finishedMatch.getNextMatchLabel(), finishedMatch.getId()));
+            }
         }
 
-        return finishedMatch;
+        liveBracketStore.advanceWinner(finishedMatch);
+    }
+
+    private void advanceLoser(Match finishedMatch) {
+
+        seatInFirstFreeSeat(finishedMatch, finishedMatch.getLoserNextMatchLabel(), getLoserId(finishedMatch));
+        liveBracketStore.advanceLoser(finishedMatch);
+    }
+
+    //Two keyed updates at most, the next match is never read
+    private void seatInFirstFreeSeat(Match finishedMatch, String nextMatchLabel, Long participantId) {
+
+        if (matchRepository.advanceToFirstSeat(finishedMatch.getTournamentId(), nextMatchLabel, participantId) == 0
+                && matchRepository.advanceToSecondSeat(finishedMatch.getTournamentId(), nextMatchLabel, participantId) == 0) {
+            throw new ServiceException(String.format("Next match '%s' of match (id '%s') not found or already has got 2 participants",
+                    nextMatchLabel, finishedMatch.getId()));
+        }
+    }
+
+    private Long getLoserId(Match finishedMatch) {
 
+        return finishedMatch.getWinnerId().equals(finishedMatch.getFirstParticipantId()) ?
+                finishedMatch.getSecondParticipantId() : finishedMatch.getFirstParticipantId();
     }
 
     @Override
     public void deleteAllByTournamentId(Long tournamentId) {
 
         matchRepository.deleteAllByTournamentId(tournamentId);
+        evictByTournamentId(tournamentId);
+    }
+
+    //For matches left to the background purge, which must not be served from memory meanwhile
+    @Override
+    public void evictByTournamentId(Long tournamentId) {
+
+        liveBracketStore.evict(tournamentId);
+        tournamentVersions.bump(tournamentId);
     }
 
     @Override
     public Optional<Match> findUncompletedMatchByParticipantId(Long tournamentId, Long participantId) {
 
-        List<Match> matchList = matchRepository.findByFirstParticipantIdOrSecondParticipantId(participantId,
-                participantId).stream()
-                .filter(match -> !match.getStatus().equals(EventStatus.COMPLETED))
-                .collect(Collectors.toList());
+        matchJournal.flush();
+        List<Match> matchList = new ArrayList<>(matchRepository.findByTournamentIdAndFirstParticipantIdAndStatusNot(
+                tournamentId, participantId, EventStatus.COMPLETED));
+        matchList.addAll(matchRepository.findByTournamentIdAndSecondParticipantIdAndStatusNot(
+                tournamentId, participantId, EventStatus.COMPLETED));
 
         if (matchList.size() > 1) {
-            throw new ServiceException(String.format("Participant (id '%s') belongs to more than one uncompleted matches"));
+            throw new ServiceException(String.format("Participant (id '%s') belongs to more than one uncompleted matches",
+                    participantId));
         }
 
         if (matchList.isEmpty()) {
@@ -196,14 +545,45 @@ public class MatchServiceImpl implements MatchService {
     }
 
     @Override
+    @Transactional
     public void disqualifyParticipantById(Match match, Long participantId) {
 
         Long winnerId = match.getFirstParticipantId().equals(participantId) ?
                 match.getSecondParticipantId() :
                 match.getFirstParticipantId();
 
-        Match finishedMatch = finishMatch(match, winnerId);
-        matchRepository.save(finishedMatch);
+        finishMatch(match, winnerId, true);
+        tournamentVersions.bump(match.getTournamentId());
+    }
+
+    //A round robin participant has a match against everyone, every one still to play is lost
+    @Override
+    @Transactional
+    public void disqualifyParticipantFromAllMatches(Long tournamentId, Long participantId) {
+
+        matchJournal.flush();
+        List<Match> matchList = new ArrayList<>(matchRepository.findByTournamentIdAndFirstParticipantIdAndStatusNot(
+                tournamentId, participantId, EventStatus.COMPLETED));
+        matchList.addAll(matchRepository.findByTournamentIdAndSecondParticipantIdAndStatusNot(
+                tournamentId, participantId, EventStatus.COMPLETED));
+
+        matchList.forEach(match -> finishMatch(match, match.getFirstParticipantId().equals(participantId) ?
+                match.getSecondParticipantId() :
+                match.getFirstParticipantId(), true));
+        tournamentVersions.bump(tournamentId);
+    }
+
+    @Override
+    public long countUncompletedByTournamentId(Long tournamentId) {
+
+        return matchRepository.countByTournamentIdAndStatusNot(tournamentId, EventStatus.COMPLETED);
+    }
+
+    @Override
+    public int findLastRoundNumber(Long tournamentId) {
+
+        Integer lastRoundNumber = matchRepository.findLastRoundNumber(tournamentId);
+        return isNull(lastRoundNumber) ? 0 : lastRoundNumber;
     }
 
     @Override
@@ -214,56 +594,128 @@ public class MatchServiceImpl implements MatchService {
     }
 
     @Override
-    public List<Match> generateMatches(List<Participant> participants, Tournament tournament) {
-
-        Collections.shuffle(participants);
-
-        List<Match> matches = new ArrayList<>(tournament.getNumberOfSingleEliminationMatches());
-        Queue<Participant> participantQueue = new ArrayDeque<>(participants);
+    public void generateMatches(List<Participant> participants, Tournament tournament) {
+
+        if (tournament.hasStandings()) {
+            //Matches are inserted in chunks as they are generated, a round robin's are never all in memory
+            buildMatches(participants, tournament, INSERT_CHUNK_SIZE, this::insertMatches);
+        } else {
+            Collections.shuffle(participants);
+            List<Match> savedMatches = matchRepository.saveAll(buildBracket(participants, tournament));
+            savedMatches.forEach(match -> dataHelperService.evictMatch(match.getId()));
+            liveBracketStore.load(tournament.getId(), liveBracketStore.stamp(tournament.getId()), savedMatches);
+        }
+        tournamentVersions.bump(tournament.getId());
+    }
 
-        char label = 'A';
-        for (int i = 0; i < tournament.getNumberOfSingleEliminationMatches(); i++) {
+    //Hands the unsaved matches over in chunks, in an order that is safe to save one chunk at a time
+    @Override
+    public void buildMatches(List<Participant> participants, Tournament tournament, int chunkSize,
+                             Consumer<List<Match>> chunkConsumer) {
 
-            Match match = Match.builder()
-                    .tournamentId(tournament.getId())
-                    .label(label++)
-                    .status(EventStatus.PENDING)
-                    .build();
+        Collections.shuffle(participants);
 
-            if (!participantQueue.isEmpty()) {
-                match.addParticipant(participantQueue.poll().getId());
+        if (tournament.isSwiss()) {
+            List<Match> matches = pairSwissRound(tournament, participants, Collections.emptyList(), 1, 0);
+            for (int from = 0; from < matches.size(); from += chunkSize) {
+                chunkConsumer.accept(matches.subList(from, Math.min(matches.size(), from + chunkSize)));
             }
-            if (!participantQueue.isEmpty()) {
-                match.addParticipant(participantQueue.poll().getId());
+            return;
+        }
+
+        if (tournament.isRoundRobin()) {
+            List<Match> chunk = new ArrayList<>(chunkSize);
+            RoundRobinFixtureGenerator.generate(tournament.getId(), participants, round -> {
+                chunk.addAll(round);
+                if (chunk.size() >= chunkSize) {
+                    chunkConsumer.accept(new ArrayList<>(chunk));
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                chunkConsumer.accept(chunk);
             }
-            matches.add(match);
+            return;
+        }
 
+        //Later rounds go first, so every saved match already has the match its winner moves on to
+        List<Match> matches = buildBracket(participants, tournament);
+        for (int to = matches.size(); to > 0; to -= chunkSize) {
+            chunkConsumer.accept(matches.subList(Math.max(0, to - chunkSize), to));
         }
+    }
 
-        char nextMatchLabel = (char) ('A' + participants.size() / 2); //Second tour first match label
+    //Saves a part of a bracket in its own transaction, as long as the tournament still exists
+    @Override
+    @Transactional
+    public void saveMatches(Long tournamentId, List<Match> matches) {
 
-        for (Match match : matches) {
+        dataHelperService.findTournamentByIdOrThrowException(tournamentId);
+        insertMatches(matches);
+    }
 
-            final Character nextMatchLabelFinal = nextMatchLabel;
-            long numberOfParticipants = matches.stream()
-                    .filter(m -> nonNull(m.getNextMatchLabel()) && m.getNextMatchLabel().equals(nextMatchLabelFinal))
-                    .count();
+    //Byes are inserted as completed matches, so they count in the standings right away
+    private void insertMatches(List<Match> matches) {
 
-            numberOfParticipants += matches.stream()
-                    .filter(m -> m.getLabel().equals(nextMatchLabelFinal))
-                    .findFirst()
-                    .orElse(Match.builder().build())
-                    .getNumberOfParticipants();
+        matchBatchRepository.insertAll(matches);
+        matches.forEach(match -> dataHelperService.evictMatch(match.getId()));
+        matches.stream()
+                .filter(match -> match.getStatus() == EventStatus.COMPLETED)
+                .forEach(standingService::recordResult);
+    }
 
-            if (numberOfParticipants == 2) {
-                nextMatchLabel++;
-            }
+    //Every result so far is read with one query into the in-memory index the round is paired from
+    @Override
+    @Transactional
+    public void generateSwissRound(Tournament tournament, List<Participant> participants) {
+
+        List<MatchRow> results = matchRepository.findRowsByTournamentId(tournament.getId());
+        int lastRound = results.stream()
+                .mapToInt(result -> isNull(result.getRoundNumber()) ? 0 : result.getRoundNumber())
+                .max()
+                .orElse(0);
+
+        List<Match> matches = pairSwissRound(tournament, participants, results, lastRound + 1, results.size());
+        insertMatches(matches);
+        //Watchers of the tournament are shown the new round as it is paired
+        matches.forEach(liveBracketStore::update);
+        tournamentVersions.bump(tournament.getId());
+    }
 
-            if (matches.size() - 1 > matches.indexOf(match)) { //Avoid setting nextMatchLabel to final match
-                match.setNextMatchLabel(nextMatchLabel);
-            }
+    //Seeded tournaments break ties in the Swiss ranking by rating instead of at random
+    private List<Match> pairSwissRound(Tournament tournament, List<Participant> participants, List<MatchRow> results,
+                                       int round, int firstLabelIndex) {
+
+        SwissPairing swissPairing = new SwissPairing((tournament.isSeeded() ? Seeding.rank(participants) : participants).stream()
+                .map(Participant::getId)
+                .collect(Collectors.toList()));
+        results.forEach(result -> swissPairing.addResult(result.getFirstParticipantId(),
+                result.getSecondParticipantId(), result.getWinnerId()));
+
+        long[] pairings = swissPairing.pair();
+        List<Match> matches = new ArrayList<>(pairings.length / 2);
+        for (int i = 0; i < pairings.length; i += 2) {
+            boolean bye = pairings[i + 1] == SwissPairing.BYE;
+            matches.add(Match.builder()
+                    .tournamentId(tournament.getId())
+                    .label(MatchLabels.of(firstLabelIndex + i / 2))
+                    .roundNumber(round)
+                    .slot(i / 2)
+                    .firstParticipantId(pairings[i])
+                    .secondParticipantId(bye ? null : pairings[i + 1])
+                    .winnerId(bye ? pairings[i] : null)
+                    .status(bye ? EventStatus.COMPLETED : EventStatus.PENDING)
+                    .build());
         }
+        return matches;
+    }
+
+    private List<Match> buildBracket(List<Participant> participants, Tournament tournament) {
 
-        return matchRepository.saveAll(matches);
+        Participant[] positions = tournament.isSeeded() ?
+                Seeding.positions(participants) : SingleEliminationBracketGenerator.arrange(participants);
+        return tournament.isDoubleElimination() ?
+                DoubleEliminationBracketGenerator.generate(tournament.getId(), positions) :
+                SingleEliminationBracketGenerator.generate(tournament.getId(), positions);
     }
 }
@@ -1,24 +1,36 @@
 package com.example.tournament.service;
 
 import com.example.tournament.dto.form.ParticipantsAddForm;
+import com.example.tournament.dto.response.PageDto;
+import com.example.tournament.dto.response.ParticipantImportResultDto;
 import com.example.tournament.dto.response.ParticipantDto;
 import com.example.tournament.dto.response.ParticipantListDto;
 import com.example.tournament.model.Participant;
+import com.example.tournament.util.importer.ParticipantImportRow;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 public interface ParticipantService {
 
     ParticipantListDto findParticipantListByTournamentId(Long tournamentId);
 
+    PageDto<ParticipantDto> findPageByTournamentId(Long tournamentId, Long after, int pageSize);
+
     List<Participant> findAllByTournamentId(Long tournamentId);
 
+    Map<Long, List<Participant>> findAllByTournamentIds(Collection<Long> tournamentIds);
+
     int countByTournamentId(Long tournamentId);
 
     ParticipantDto findById(Long tournamentId, Long participantId);
 
     ParticipantListDto createAll(Long tournamentId, ParticipantsAddForm participantsAddForm);
 
+    ParticipantImportResultDto importAll(Long tournamentId, Iterator<ParticipantImportRow> rows);
+
     void delete(Long tournamentId, Long participantId);
 
     void deleteAllByTournamentId(Long tournamentId);
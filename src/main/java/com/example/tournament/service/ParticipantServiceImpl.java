@@ -1,42 +1,82 @@
 package com.example.tournament.service;
 
 import com.example.tournament.dto.form.ParticipantsAddForm;
+import com.example.tournament.dto.response.PageDto;
+import com.example.tournament.dto.response.ParticipantImportRejectionDto;
+import com.example.tournament.dto.response.ParticipantImportResultDto;
 import com.example.tournament.dto.response.ParticipantDto;
 import com.example.tournament.dto.response.ParticipantListDto;
 import com.example.tournament.exception.ServiceException;
+import com.example.tournament.model.EventStatus;
 import com.example.tournament.model.Match;
 import com.example.tournament.model.Participant;
 import com.example.tournament.model.Tournament;
+import com.example.tournament.repository.ParticipantBatchRepository;
 import com.example.tournament.repository.ParticipantRepository;
+import com.example.tournament.util.concurrent.TournamentCommandExecutor;
+import com.example.tournament.util.importer.ParticipantImportRow;
 import com.example.tournament.util.mapper.ParticipantMapper;
+import com.example.tournament.util.page.KeysetPages;
+import com.example.tournament.util.snapshot.TournamentResultSnapshots;
+import com.example.tournament.util.version.TournamentVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static java.util.Objects.isNull;
+
 @Service
 public class ParticipantServiceImpl implements ParticipantService {
 
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+
     private final ParticipantRepository participantRepository;
 
+    private final ParticipantBatchRepository participantBatchRepository;
+
     private final MatchService matchService;
 
+    private final StandingService standingService;
+
     private final DataHelperService dataHelperService;
 
     private final ParticipantMapper participantMapper;
 
+    private final TournamentVersions tournamentVersions;
+
+    private final TournamentResultSnapshots tournamentResultSnapshots;
+
+    private final TournamentCommandExecutor tournamentCommandExecutor;
 
     @Autowired
-    public ParticipantServiceImpl(ParticipantRepository participantRepository, MatchService matchService, DataHelperService dataHelperService,
-                                  ParticipantMapper participantMapper) {
+    public ParticipantServiceImpl(ParticipantRepository participantRepository, ParticipantBatchRepository participantBatchRepository,
+                                  MatchService matchService, StandingService standingService, DataHelperService dataHelperService,
+                                  ParticipantMapper participantMapper, TournamentVersions tournamentVersions,
+                                  TournamentResultSnapshots tournamentResultSnapshots,
+                                  TournamentCommandExecutor tournamentCommandExecutor) {
         this.participantRepository = participantRepository;
+        this.participantBatchRepository = participantBatchRepository;
         this.matchService = matchService;
+        this.standingService = standingService;
         this.dataHelperService = dataHelperService;
         this.participantMapper = participantMapper;
+        this.tournamentVersions = tournamentVersions;
+        this.tournamentResultSnapshots = tournamentResultSnapshots;
+        this.tournamentCommandExecutor = tournamentCommandExecutor;
     }
 
 
@@ -52,12 +92,31 @@ public class ParticipantServiceImpl implements ParticipantService {
                 .build();
     }
 
+    @Override
+    public PageDto<ParticipantDto> findPageByTournamentId(Long tournamentId, Long after, int pageSize) {
+
+        Pageable pageable = KeysetPages.firstRows(pageSize);
+        dataHelperService.findTournamentByIdOrThrowException(tournamentId);
+
+        return KeysetPages.toPageDto(
+                participantRepository.findByTournamentIdAndIdGreaterThanOrderByIdAsc(tournamentId, after, pageable),
+                Participant::getId, participantMapper::participantListToDto);
+    }
+
     @Override
     public List<Participant> findAllByTournamentId(Long tournamentId) {
 
         return participantRepository.findAllByTournamentId(tournamentId);
     }
 
+    //Participants of many tournaments with one query, grouped by tournament
+    @Override
+    public Map<Long, List<Participant>> findAllByTournamentIds(Collection<Long> tournamentIds) {
+
+        return participantRepository.findAllByTournamentIdIn(tournamentIds).stream()
+                .collect(Collectors.groupingBy(Participant::getTournamentId));
+    }
+
     @Override
     public int countByTournamentId(Long tournamentId) {
 
@@ -68,6 +127,7 @@ public class ParticipantServiceImpl implements ParticipantService {
     @Override
     public ParticipantDto findById(Long tournamentId, Long participantId) {
 
+        dataHelperService.findTournamentByIdOrThrowException(tournamentId);
         Participant participant = dataHelperService.findParticipantByIdOrThrowException(participantId);
 
         if (!participant.getTournamentId().equals(tournamentId)) {
@@ -86,7 +146,7 @@ public class ParticipantServiceImpl implements ParticipantService {
         }
 
 
-        Tournament tournament = dataHelperService.findTournamentByIdOrThrowException(tournamentId);
+        Tournament tournament = dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId);
 
         int numberOfParticipants = countByTournamentId(tournamentId);
 
@@ -95,38 +155,151 @@ public class ParticipantServiceImpl implements ParticipantService {
                     "Tournament (id '%s') can't get these participators. Limit will be exceeded", tournament.getId()));
         }
 
+        Set<String> existingNames = new HashSet<>(
+                participantRepository.findNamesByTournamentIdAndNameIn(tournamentId, participantsAddForm.getNames()));
+
+        Map<String, Integer> ratings = isNull(participantsAddForm.getRatings()) ?
+                Collections.emptyMap() : participantsAddForm.getRatings();
+
         List<Participant> participants = participantsAddForm.getNames().stream()
                 .map(name -> {
-                    if (participantRepository.existsByNameAndTournamentId(name, tournamentId)) {
+                    if (existingNames.contains(name)) {
                         throw new ServiceException(String.format("Participant with name '%s' already exists in this tournament", name));
                     }
                     return Participant.builder()
                             .name(name)
+                            .rating(ratings.get(name))
                             .tournamentId(tournamentId)
                             .build();
                 }).collect(Collectors.toList());
 
         List<Participant> participantsFromDb = participantRepository.saveAll(participants);
+        participantsFromDb.forEach(participant -> dataHelperService.evictParticipant(participant.getId()));
+        evictResultIfCompleted(tournament);
+        tournamentVersions.bump(tournamentId);
 
         return ParticipantListDto.builder()
                 .participants(participantMapper.participantListToDto(participantsFromDb))
                 .build();
     }
 
+    /**
+     * Imports participants chunk by chunk: rows are read on the calling thread, and each chunk costs one query for
+     * names already taken and one JDBC batch on the tournament's writer thread, where it is committed on its own.
+     * Rows that can't be imported are reported instead of failing the import.
+     */
     @Override
-    @Transactional
-    public void delete(Long tournamentId, Long participantId) {
+    public ParticipantImportResultDto importAll(Long tournamentId, Iterator<ParticipantImportRow> rows) {
 
         dataHelperService.findTournamentByIdOrThrowException(tournamentId);
-        Optional<Match> optionalMatch = matchService.findUncompletedMatchByParticipantId(tournamentId, participantId);
 
-        optionalMatch.ifPresent(match -> matchService.disqualifyParticipantById(match, participantId));
+        int imported = 0;
+        int rejected = 0;
+        List<ParticipantImportRejectionDto> rejections = new ArrayList<>();
+
+        while (rows.hasNext()) {
+            List<ParticipantImportRow> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+            while (chunk.size() < IMPORT_CHUNK_SIZE && rows.hasNext()) {
+                chunk.add(rows.next());
+            }
+
+            int importedRows = tournamentCommandExecutor.execute(tournamentId,
+                    () -> importChunk(tournamentId, chunk, rejections));
+            imported += importedRows;
+            rejected += chunk.size() - importedRows;
+        }
+
+        return ParticipantImportResultDto.builder()
+                .imported(imported)
+                .rejected(rejected)
+                .rejections(rejections)
+                .build();
+    }
+
+    //The participant limit is checked against the participants saved so far, including those of other requests
+    private int importChunk(Long tournamentId, List<ParticipantImportRow> chunk,
+                            List<ParticipantImportRejectionDto> rejections) {
+
+        Tournament tournament = dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId);
+        int capacity = tournament.getMaxNumberOfParticipants() - countByTournamentId(tournamentId);
+
+        Set<String> chunkNames = new HashSet<>(chunk.size() * 2);
+        for (ParticipantImportRow row : chunk) {
+            if (row.getError() == null) {
+                chunkNames.add(row.getName());
+            }
+        }
+        Set<String> takenNames = chunkNames.isEmpty() ? new HashSet<>() :
+                new HashSet<>(participantRepository.findNamesByTournamentIdAndNameIn(tournamentId, chunkNames));
+
+        List<Participant> participants = new ArrayList<>(chunk.size());
+        for (ParticipantImportRow row : chunk) {
+            String error = row.getError();
+            if (error == null && !takenNames.add(row.getName())) {
+                error = String.format("Participant with name '%s' already exists in this tournament", row.getName());
+            }
+            if (error == null && participants.size() >= capacity) {
+                error = String.format("Tournament (id '%s') participant limit is reached", tournamentId);
+            }
+            if (error == null) {
+                participants.add(Participant.builder()
+                        .tournamentId(tournamentId)
+                        .name(row.getName())
+                        .rating(row.getRating())
+                        .build());
+                continue;
+            }
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(ParticipantImportRejectionDto.builder()
+                        .line(row.getLine())
+                        .name(row.getName())
+                        .reason(error)
+                        .build());
+            }
+        }
+
+        if (!participants.isEmpty()) {
+            participantBatchRepository.insertAll(participants);
+            //Lookups of these ids may have been cached as misses before they existed
+            participants.forEach(participant -> dataHelperService.evictParticipant(participant.getId()));
+            //Readers see every committed chunk, not only the import as a whole
+            evictResultIfCompleted(tournament);
+            tournamentVersions.bump(tournamentId);
+        }
+        return participants.size();
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long tournamentId, Long participantId) {
+
+        Tournament tournament = dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId);
+        if (tournament.hasStandings()) {
+            matchService.disqualifyParticipantFromAllMatches(tournamentId, participantId);
+            standingService.deleteByParticipantId(tournamentId, participantId);
+        } else {
+            Optional<Match> optionalMatch = matchService.findUncompletedMatchByParticipantId(tournamentId, participantId);
+            optionalMatch.ifPresent(match -> matchService.disqualifyParticipantById(match, participantId));
+        }
         participantRepository.deleteByTournamentIdAndId(tournamentId, participantId);
+        dataHelperService.evictParticipant(participantId);
+        evictResultIfCompleted(tournament);
+        tournamentVersions.bump(tournamentId);
+    }
+
+    //The stored result of a completed tournament counts and may name its participants
+    private void evictResultIfCompleted(Tournament tournament) {
+
+        if (tournament.getStatus() == EventStatus.COMPLETED) {
+            tournamentResultSnapshots.evict(tournament.getId());
+        }
     }
 
     @Override
     public void deleteAllByTournamentId(Long tournamentId) {
 
+        //Cached participants stay unreachable, lookups resolve their tournament first and ids are never reused
         participantRepository.deleteAllByTournamentId(tournamentId);
+        tournamentVersions.bump(tournamentId);
     }
 }
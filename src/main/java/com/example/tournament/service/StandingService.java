@@ -0,0 +1,23 @@
+package com.example.tournament.service;
+
+import com.example.tournament.dto.response.StandingListDto;
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface StandingService {
+
+    StandingListDto findStandingListByTournamentId(Long tournamentId);
+
+    Optional<Long> findLeaderId(Long tournamentId);
+
+    void createAll(Long tournamentId, List<Participant> participants);
+
+    void recordResult(Match finishedMatch);
+
+    void deleteByParticipantId(Long tournamentId, Long participantId);
+
+    void deleteAllByTournamentId(Long tournamentId);
+}
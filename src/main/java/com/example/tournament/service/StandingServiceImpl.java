@@ -0,0 +1,107 @@
+package com.example.tournament.service;
+
+import com.example.tournament.dto.response.StandingListDto;
+import com.example.tournament.exception.ServiceException;
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+import com.example.tournament.model.Standing;
+import com.example.tournament.model.Tournament;
+import com.example.tournament.repository.StandingRepository;
+import com.example.tournament.util.mapper.StandingMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Standings of round robin and Swiss tournaments, kept as a read model: every finished match adds to the totals
+ * of its two participants, so the table is never recomputed from the matches.
+ */
+@Service
+public class StandingServiceImpl implements StandingService {
+
+    private final StandingRepository standingRepository;
+
+    private final DataHelperService dataHelperService;
+
+    private final StandingMapper standingMapper;
+
+    @Autowired
+    public StandingServiceImpl(StandingRepository standingRepository, DataHelperService dataHelperService,
+                               StandingMapper standingMapper) {
+        this.standingRepository = standingRepository;
+        this.dataHelperService = dataHelperService;
+        this.standingMapper = standingMapper;
+    }
+
+    @Override
+    public StandingListDto findStandingListByTournamentId(Long tournamentId) {
+
+        Tournament tournament = dataHelperService.findTournamentByIdOrThrowException(tournamentId);
+
+        if (!tournament.hasStandings()) {
+            throw new ServiceException(String.format("Tournament (id '%s') has no standings", tournamentId));
+        }
+
+        return StandingListDto.builder()
+                .standings(standingMapper.standingListToDto(standingRepository.findRanked(tournamentId, Pageable.unpaged())))
+                .build();
+    }
+
+    @Override
+    public Optional<Long> findLeaderId(Long tournamentId) {
+
+        return standingRepository.findRanked(tournamentId, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .map(Standing::getParticipantId);
+    }
+
+    @Override
+    public void createAll(Long tournamentId, List<Participant> participants) {
+
+        standingRepository.saveAll(participants.stream()
+                .map(participant -> Standing.builder()
+                        .tournamentId(tournamentId)
+                        .participantId(participant.getId())
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    //A bye counts as a win without score
+    @Override
+    public void recordResult(Match finishedMatch) {
+
+        if (isNull(finishedMatch.getSecondParticipantId())) {
+            standingRepository.addResult(finishedMatch.getTournamentId(), finishedMatch.getFirstParticipantId(),
+                    1, 0, 0, 0);
+            return;
+        }
+
+        boolean firstWon = finishedMatch.getWinnerId().equals(finishedMatch.getFirstParticipantId());
+        standingRepository.addResult(finishedMatch.getTournamentId(), finishedMatch.getFirstParticipantId(),
+                firstWon ? 1 : 0, firstWon ? 0 : 1,
+                finishedMatch.getFirstParticipantScore(), finishedMatch.getSecondParticipantScore());
+        standingRepository.addResult(finishedMatch.getTournamentId(), finishedMatch.getSecondParticipantId(),
+                firstWon ? 0 : 1, firstWon ? 1 : 0,
+                finishedMatch.getSecondParticipantScore(), finishedMatch.getFirstParticipantScore());
+    }
+
+    //A removed participant leaves the table, so it can't lead it and be named the winner
+    @Override
+    public void deleteByParticipantId(Long tournamentId, Long participantId) {
+
+        standingRepository.deleteByTournamentIdAndParticipantId(tournamentId, participantId);
+    }
+
+    @Override
+    public void deleteAllByTournamentId(Long tournamentId) {
+
+        standingRepository.deleteAllByTournamentId(tournamentId);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.tournament.service;
+
+import com.example.tournament.dto.form.TournamentBatchStartForm;
+import com.example.tournament.dto.response.TournamentBatchStartResultDto;
+
+public interface TournamentBatchStartService {
+
+    TournamentBatchStartResultDto startAll(TournamentBatchStartForm tournamentBatchStartForm);
+}
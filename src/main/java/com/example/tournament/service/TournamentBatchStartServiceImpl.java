@@ -0,0 +1,211 @@
+package com.example.tournament.service;
+
+import com.example.tournament.dto.form.TournamentBatchStartForm;
+import com.example.tournament.dto.response.TournamentBatchStartRejectionDto;
+import com.example.tournament.dto.response.TournamentBatchStartResultDto;
+import com.example.tournament.exception.ServiceException;
+import com.example.tournament.model.Participant;
+import com.example.tournament.model.Tournament;
+import com.example.tournament.repository.TournamentRepository;
+import com.example.tournament.util.concurrent.TournamentCommandExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Starts many tournaments at once, like the qualifiers of a day. Tournaments are grouped by writer stripe and each
+ * group is started on its stripe's writer thread: participants of the whole group are read with one query, then every
+ * tournament is moved to STARTED by the same compare-and-set as a single start and has its bracket saved in chunks as
+ * it is generated. No participant can be added or removed in between, and no tournament's matches are ever all in
+ * memory. Groups are started in parallel. Tournaments that can't be started are reported instead of failing the batch.
+ */
+@Slf4j
+@Service
+public class TournamentBatchStartServiceImpl implements TournamentBatchStartService {
+
+    private static final int MAX_TOURNAMENTS = 1000;
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final TournamentRepository tournamentRepository;
+
+    private final TournamentService tournamentService;
+
+    private final ParticipantService participantService;
+
+    private final MatchService matchService;
+
+    private final TournamentCommandExecutor tournamentCommandExecutor;
+
+    private final ExecutorService workers;
+
+    @Autowired
+    public TournamentBatchStartServiceImpl(TournamentRepository tournamentRepository, TournamentService tournamentService,
+                                           ParticipantService participantService, MatchService matchService,
+                                           TournamentCommandExecutor tournamentCommandExecutor,
+                                           @Value("${tournament.batch-start.parallelism:0}") int parallelism) {
+        this.tournamentRepository = tournamentRepository;
+        this.tournamentService = tournamentService;
+        this.participantService = participantService;
+        this.matchService = matchService;
+        this.tournamentCommandExecutor = tournamentCommandExecutor;
+        this.workers = Executors.newFixedThreadPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "tournament-batch-start");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public TournamentBatchStartResultDto startAll(TournamentBatchStartForm tournamentBatchStartForm) {
+
+        List<Long> ids = findIds(tournamentBatchStartForm);
+
+        Map<Integer, List<Long>> idsByStripe = ids.stream()
+                .collect(Collectors.groupingBy(tournamentCommandExecutor::stripeOf, LinkedHashMap::new, Collectors.toList()));
+        Map<List<Long>, Future<Map<Long, Outcome>>> starts = new LinkedHashMap<>();
+        for (List<Long> group : idsByStripe.values()) {
+            starts.put(group, workers.submit(() -> tournamentCommandExecutor.execute(group.get(0), () -> startGroup(group))));
+        }
+
+        Map<Long, Outcome> outcomes = new HashMap<>();
+        for (Map.Entry<List<Long>, Future<Map<Long, Outcome>>> start : starts.entrySet()) {
+            try {
+                outcomes.putAll(start.getValue().get());
+            } catch (ExecutionException e) {
+                start.getKey().forEach(id -> outcomes.put(id, Outcome.rejected(rejection(id, e.getCause()))));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceException("Batch start was interrupted");
+            }
+        }
+
+        int started = 0;
+        long numberOfMatches = 0;
+        List<TournamentBatchStartRejectionDto> rejections = new ArrayList<>();
+        for (Long id : ids) {
+            Outcome outcome = outcomes.get(id);
+            if (isNull(outcome.rejection)) {
+                started++;
+                numberOfMatches += outcome.numberOfMatches;
+            } else {
+                rejections.add(outcome.rejection);
+            }
+        }
+
+        return TournamentBatchStartResultDto.builder()
+                .started(started)
+                .rejected(rejections.size())
+                .numberOfMatches(numberOfMatches)
+                .rejections(rejections)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    //Runs on the writer thread of the group's stripe
+    private Map<Long, Outcome> startGroup(List<Long> ids) {
+
+        Map<Long, List<Participant>> participants = participantService.findAllByTournamentIds(ids);
+        Map<Long, Outcome> outcomes = new HashMap<>();
+        for (Long id : ids) {
+            try {
+                outcomes.put(id, Outcome.started(start(id, participants.getOrDefault(id, new ArrayList<>()))));
+            } catch (RuntimeException e) {
+                outcomes.put(id, Outcome.rejected(rejection(id, e)));
+            }
+        }
+        return outcomes;
+    }
+
+    //A start whose bracket couldn't be saved is reverted to PENDING
+    private long start(Long id, List<Participant> participants) {
+
+        Tournament tournament = tournamentService.markStarted(id, participants);
+        try {
+            matchService.buildMatches(participants, tournament, CHUNK_SIZE, chunk -> matchService.saveMatches(id, chunk));
+        } catch (RuntimeException e) {
+            tournamentService.revertStart(id);
+            throw e;
+        }
+        //The live bracket is read anew from the saved matches
+        matchService.evictByTournamentId(id);
+        return tournament.getFormat().numberOfMatches(participants.size());
+    }
+
+    private List<Long> findIds(TournamentBatchStartForm tournamentBatchStartForm) {
+
+        List<Long> ids = tournamentBatchStartForm.getIds();
+        String titlePrefix = tournamentBatchStartForm.getTitlePrefix();
+
+        if (nonNull(ids) && !ids.isEmpty()) {
+            if (nonNull(titlePrefix)) {
+                throw new ServiceException("Tournaments to start must be given either by ids or by title prefix");
+            }
+            return new ArrayList<>(new LinkedHashSet<>(ids));
+        }
+        if (isNull(titlePrefix) || titlePrefix.trim().isEmpty()) {
+            throw new ServiceException("Tournaments to start must be given either by ids or by title prefix");
+        }
+        return tournamentRepository.findPendingIdsByTitlePrefix(escapeLike(titlePrefix), PageRequest.of(0, MAX_TOURNAMENTS));
+    }
+
+    //'%' and '_' in a title are matched literally
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    //The number of matches of a started tournament, or why it wasn't started
+    private static final class Outcome {
+
+        private final long numberOfMatches;
+
+        private final TournamentBatchStartRejectionDto rejection;
+
+        private Outcome(long numberOfMatches, TournamentBatchStartRejectionDto rejection) {
+            this.numberOfMatches = numberOfMatches;
+            this.rejection = rejection;
+        }
+
+        private static Outcome started(long numberOfMatches) {
+            return new Outcome(numberOfMatches, null);
+        }
+
+        private static Outcome rejected(TournamentBatchStartRejectionDto rejection) {
+            return new Outcome(0, rejection);
+        }
+    }
+
+    private TournamentBatchStartRejectionDto rejection(Long tournamentId, Throwable cause) {
+
+        if (!(cause instanceof ServiceException)) {
+            log.warn("Start of tournament (id '{}') failed", tournamentId, cause);
+        }
+        return TournamentBatchStartRejectionDto.builder()
+                .tournamentId(tournamentId)
+                .reason(cause.getMessage())
+                .build();
+    }
+}
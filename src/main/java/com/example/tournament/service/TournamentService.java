@@ -2,22 +2,38 @@ package com.example.tournament.service;
 
 import com.example.tournament.dto.form.TournamentCreateForm;
 import com.example.tournament.dto.response.MatchListDto;
+import com.example.tournament.dto.response.PageDto;
 import com.example.tournament.dto.response.TournamentDto;
 import com.example.tournament.dto.response.TournamentListDto;
 import com.example.tournament.dto.response.TournamentResultDto;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.Participant;
+import com.example.tournament.model.Tournament;
+
+import java.util.List;
 
 public interface TournamentService {
 
     TournamentListDto findAll();
 
+    PageDto<TournamentDto> findPage(Long after, int pageSize, EventStatus status);
+
     TournamentDto findById(Long id);
 
     MatchListDto startTournament(Long id);
 
+    Tournament markStarted(Long id, List<Participant> participants);
+
+    MatchListDto pairNextRound(Long id);
+
+    void revertStart(Long id);
+
     TournamentDto create(TournamentCreateForm tournamentCreateForm);
 
     TournamentResultDto summarizeTournament(Long id);
 
+    TournamentResultDto findResultWithoutMatches(Long id);
+
     void delete(Long id);
 
 }
@@ -2,6 +2,7 @@ package com.example.tournament.service;
 
 import com.example.tournament.dto.form.TournamentCreateForm;
 import com.example.tournament.dto.response.MatchListDto;
+import com.example.tournament.dto.response.PageDto;
 import com.example.tournament.dto.response.TournamentDto;
 import com.example.tournament.dto.response.TournamentListDto;
 import com.example.tournament.dto.response.TournamentResultDto;
@@ -10,14 +11,24 @@ import com.example.tournament.model.EventStatus;
 import com.example.tournament.model.Match;
 import com.example.tournament.model.Participant;
 import com.example.tournament.model.Tournament;
+import com.example.tournament.model.TournamentFormat;
 import com.example.tournament.repository.TournamentRepository;
+import com.example.tournament.repository.projection.TournamentSummary;
 import com.example.tournament.util.mapper.TournamentMapper;
+import com.example.tournament.util.page.KeysetPages;
+import com.example.tournament.util.purge.TournamentPurger;
+import com.example.tournament.util.snapshot.TournamentResultSnapshots;
+import com.example.tournament.util.version.TournamentVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static java.util.Objects.isNull;
+
 @Service
 public class TournamentServiceImpl implements TournamentService {
 
@@ -31,32 +42,56 @@ public class TournamentServiceImpl implements TournamentService {
 
     private final TournamentMapper tournamentMapper;
 
+    private final TournamentVersions tournamentVersions;
+
+    private final TournamentResultSnapshots tournamentResultSnapshots;
+
+    private final TournamentPurger tournamentPurger;
+
+    private final StandingService standingService;
+
 
     @Autowired
     public TournamentServiceImpl(TournamentRepository tournamentRepository, ParticipantService participantService,
                                  MatchService matchService, DataHelperService dataHelperService,
-                                 TournamentMapper tournamentMapper) {
+                                 TournamentMapper tournamentMapper, TournamentVersions tournamentVersions,
+                                 TournamentResultSnapshots tournamentResultSnapshots, TournamentPurger tournamentPurger,
+                                 StandingService standingService) {
         this.tournamentRepository = tournamentRepository;
         this.participantService = participantService;
         this.matchService = matchService;
         this.dataHelperService = dataHelperService;
         this.tournamentMapper = tournamentMapper;
+        this.tournamentVersions = tournamentVersions;
+        this.tournamentResultSnapshots = tournamentResultSnapshots;
+        this.tournamentPurger = tournamentPurger;
+        this.standingService = standingService;
     }
 
 
     @Override
     public TournamentListDto findAll() {
 
-        List<Tournament> tournaments = tournamentRepository.findAll();
-        List<TournamentDto> tournamentDtos = tournamentMapper.tournamentListToDto(tournaments);
-
-        tournamentDtos.forEach(this::setNumberOfParticipants);
+        //Participants are counted by the same query instead of once per tournament
+        List<TournamentDto> tournamentDtos = tournamentMapper.tournamentSummaryListToDto(
+                tournamentRepository.findAllSummaries());
 
         return TournamentListDto.builder()
                 .tournaments(tournamentDtos)
                 .build();
     }
 
+    @Override
+    public PageDto<TournamentDto> findPage(Long after, int pageSize, EventStatus status) {
+
+        Pageable pageable = KeysetPages.firstRows(pageSize);
+        Slice<TournamentSummary> tournaments = isNull(status) ?
+                tournamentRepository.findSummariesAfter(after, pageable) :
+                tournamentRepository.findSummariesByStatusAfter(status, after, pageable);
+
+        return KeysetPages.toPageDto(tournaments, TournamentSummary::getId, tournamentMapper::tournamentSummaryListToDto);
+    }
+
     @Override
     public TournamentDto findById(Long id) {
 
@@ -74,29 +109,86 @@ public class TournamentServiceImpl implements TournamentService {
     @Transactional
     public MatchListDto startTournament(Long id) {
 
-        Tournament tournament = dataHelperService.findTournamentByIdOrThrowException(id);
+        List<Participant> participants = participantService.findAllByTournamentId(id);
+        Tournament tournament = markStarted(id, participants);
+
+        matchService.generateMatches(participants, tournament);
+        tournamentVersions.bump(id);
+
+        return matchService.findMatchListByTournamentId(tournament.getId());
+    }
+
+    //Moves the tournament to STARTED without generating its bracket, which must be generated from the same participants
+    @Override
+    @Transactional
+    public Tournament markStarted(Long id, List<Participant> participants) {
+
+        Tournament tournament = dataHelperService.findCurrentTournamentByIdOrThrowException(id);
 
         if (!tournament.getStatus().equals(EventStatus.PENDING)) {
-            throw new ServiceException("Tournament (id '%s') has been already started");
+            throw new ServiceException(String.format("Tournament (id '%s') has been already started", id));
         }
 
-        int participantsNumber = participantService.countByTournamentId(tournament.getId());
+        int participantsNumber = participants.size();
 
         if (participantsNumber < 2) {
-            throw new ServiceException("Tournament (id '%s') must contain at least 2 participants");
+            throw new ServiceException(String.format("Tournament (id '%s') must contain at least 2 participants", id));
         }
 
         Tournament updatedTournament = tournament.toBuilder()
-                .numberOfSingleEliminationMatches(participantsNumber - 1)
+                .numberOfSingleEliminationMatches(tournament.hasStandings() ? 0 : participantsNumber - 1)
                 .status(EventStatus.STARTED)
                 .build();
 
-        tournamentRepository.save(updatedTournament);
+        //Only one of concurrent start requests wins the PENDING -> STARTED transition and generates the bracket
+        if (tournamentRepository.startIfPending(id, updatedTournament.getNumberOfSingleEliminationMatches()) == 0) {
+            throw new ServiceException(String.format("Tournament (id '%s') has been already started", id));
+        }
+        if (tournament.hasStandings()) {
+            standingService.createAll(id, participants);
+        }
+        dataHelperService.evictTournament(id);
+        tournamentVersions.bump(id);
 
-        List<Participant> participants = participantService.findAllByTournamentId(updatedTournament.getId());
-        matchService.generateMatches(participants, tournament);
+        return updatedTournament;
+    }
 
-        return matchService.findMatchListByTournamentId(tournament.getId());
+    //Swiss rounds are paired one at a time, once every match of the previous round has finished
+    @Override
+    @Transactional
+    public MatchListDto pairNextRound(Long id) {
+
+        Tournament tournament = dataHelperService.findCurrentTournamentByIdOrThrowException(id);
+
+        if (!tournament.isSwiss()) {
+            throw new ServiceException(String.format("Tournament (id '%s') isn't a Swiss tournament", id));
+        }
+        if (!tournament.getStatus().equals(EventStatus.STARTED)) {
+            throw new ServiceException(String.format("Tournament (id '%s') isn't in progress", id));
+        }
+        if (matchService.countUncompletedByTournamentId(id) > 0) {
+            throw new ServiceException(String.format("Not all matches of tournament (id '%s') have finished", id));
+        }
+        if (matchService.findLastRoundNumber(id) >= tournament.getNumberOfRounds()) {
+            throw new ServiceException(String.format("All %s rounds of tournament (id '%s') have been paired",
+                    tournament.getNumberOfRounds(), id));
+        }
+
+        matchService.generateSwissRound(tournament, participantService.findAllByTournamentId(id));
+
+        return matchService.findMatchListByTournamentId(id);
+    }
+
+    //Undoes a start whose bracket couldn't be generated, dropping the matches saved so far
+    @Override
+    @Transactional
+    public void revertStart(Long id) {
+
+        matchService.deleteAllByTournamentId(id);
+        standingService.deleteAllByTournamentId(id);
+        tournamentRepository.resetIfStarted(id);
+        dataHelperService.evictTournament(id);
+        tournamentVersions.bump(id);
     }
 
 
@@ -111,32 +203,44 @@ public class TournamentServiceImpl implements TournamentService {
                 .title(tournamentCreateForm.getTitle())
                 .maxNumberOfParticipants(tournamentCreateForm.getMaxNumberOfParticipants())
                 .status(EventStatus.PENDING)
+                .format(isNull(tournamentCreateForm.getFormat()) ?
+                        TournamentFormat.SINGLE_ELIMINATION : tournamentCreateForm.getFormat())
+                .seeded(tournamentCreateForm.isSeeded())
                 .build();
 
+        if (tournament.isSwiss()) {
+            //log2 of the field, rounded up
+            int numberOfRounds = isNull(tournamentCreateForm.getNumberOfRounds()) ?
+                    32 - Integer.numberOfLeadingZeros(tournament.getMaxNumberOfParticipants() - 1) :
+                    tournamentCreateForm.getNumberOfRounds();
+            if (numberOfRounds >= tournament.getMaxNumberOfParticipants()) {
+                throw new ServiceException("Tournament's number of rounds must be less than its max number of participants");
+            }
+            tournament.setNumberOfRounds(numberOfRounds);
+        }
+
         Tournament tournamentFromDb = tournamentRepository.save(tournament);
+        dataHelperService.evictTournament(tournamentFromDb.getId());
+        tournamentVersions.bumpGlobal();
 
         return tournamentMapper.tournamentToDto(tournamentFromDb);
     }
 
     @Override
+    @Transactional
     public TournamentResultDto summarizeTournament(Long tournamentId) {
 
-        Tournament tournament = dataHelperService.findTournamentByIdOrThrowException(tournamentId);
-        if (tournament.getStatus().equals(EventStatus.PENDING)) {
-            throw new ServiceException(String.format("Tournament (id '%s') has't been started", tournamentId));
-        }
-
-        Match finalMatch = matchService.findFinalMatchByTournamentId(tournament.getId());
-        if (!finalMatch.getStatus().equals(EventStatus.COMPLETED)) {
-            throw new ServiceException(String.format("Final match of tournament (id '%s') has't finished", tournamentId));
-        }
+        Tournament tournament = dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId);
+        Long winnerId = findWinnerId(tournament);
 
         if (!tournament.getStatus().equals(EventStatus.COMPLETED)) {
 
             tournament = tournament.toBuilder()
                     .status(EventStatus.COMPLETED)
                     .build();
-            tournamentRepository.save(tournament);
+            tournamentRepository.completeIfStarted(tournament.getId());
+            dataHelperService.evictTournament(tournamentId);
+            tournamentVersions.bump(tournamentId);
         }
 
         return TournamentResultDto.builder()
@@ -144,20 +248,87 @@ public class TournamentServiceImpl implements TournamentService {
                         .numberOfParticipants(participantService.countByTournamentId(tournament.getId()))
                         .build())
                 .matches(matchService.findMatchListByTournamentId(tournament.getId()).getMatches())
-                .winner(participantService.findById(tournament.getId(), finalMatch.getWinnerId()))
+                .winner(participantService.findById(tournament.getId(), winnerId))
+                .build();
+    }
+
+    //Everything of the result except matches, which an export streams instead of holding in memory
+    @Override
+    public TournamentResultDto findResultWithoutMatches(Long tournamentId) {
+
+        Tournament tournament = dataHelperService.findTournamentByIdOrThrowException(tournamentId);
+        Long winnerId = findWinnerId(tournament);
+
+        return TournamentResultDto.builder()
+                .tournament(tournamentMapper.tournamentToDto(tournament).toBuilder()
+                        .numberOfParticipants(participantService.countByTournamentId(tournament.getId()))
+                        .build())
+                .winner(participantService.findById(tournament.getId(), winnerId))
                 .build();
     }
 
+    //Round robin and Swiss tournaments are won by the leader of the standings once every match has been played
+    private Long findWinnerId(Tournament tournament) {
+
+        if (tournament.getStatus().equals(EventStatus.PENDING)) {
+            throw new ServiceException(String.format("Tournament (id '%s') has't been started", tournament.getId()));
+        }
+
+        if (tournament.hasStandings()) {
+            if (matchService.countUncompletedByTournamentId(tournament.getId()) > 0) {
+                throw new ServiceException(String.format("Not all matches of tournament (id '%s') have finished",
+                        tournament.getId()));
+            }
+            if (tournament.isSwiss() && matchService.findLastRoundNumber(tournament.getId()) < tournament.getNumberOfRounds()) {
+                throw new ServiceException(String.format("Not all rounds of tournament (id '%s') have been played",
+                        tournament.getId()));
+            }
+            return standingService.findLeaderId(tournament.getId())
+                    .orElseThrow(() -> new ServiceException(String.format("Tournament (id '%s') has no standings",
+                            tournament.getId())));
+        }
+
+        Match finalMatch = matchService.findFinalMatchByTournamentId(tournament.getId());
+        if (!finalMatch.getStatus().equals(EventStatus.COMPLETED)) {
+            throw new ServiceException(String.format("Final match of tournament (id '%s') has't finished", tournament.getId()));
+        }
+        return finalMatch.getWinnerId();
+    }
+
 
     @Override
     @Transactional
     public void delete(Long tournamentId) {
 
-        dataHelperService.findTournamentByIdOrThrowException(tournamentId);
+        Tournament tournament = dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId);
+
+        if (tournament.getStatus() == EventStatus.COMPLETED) {
+            tournamentResultSnapshots.evict(tournamentId);
+        }
 
-        participantService.deleteAllByTournamentId(tournamentId);
-        matchService.deleteAllByTournamentId(tournamentId);
+        //Large tournaments lose only their row here, their participants and matches are purged in the background
+        int numberOfParticipants = participantService.countByTournamentId(tournamentId);
+        if (tournamentPurger.isDeferred(numberOfParticipants + countMatches(tournament, numberOfParticipants))) {
+            tournamentPurger.schedule(tournamentId);
+            matchService.evictByTournamentId(tournamentId);
+        } else {
+            participantService.deleteAllByTournamentId(tournamentId);
+            matchService.deleteAllByTournamentId(tournamentId);
+            standingService.deleteAllByTournamentId(tournamentId);
+        }
         tournamentRepository.deleteById(tournamentId);
+        dataHelperService.evictTournament(tournamentId);
+        tournamentVersions.bump(tournamentId);
+    }
+
+    //Derived from the format instead of counted, a round robin of a few thousand participants has millions of matches
+    private long countMatches(Tournament tournament, int numberOfParticipants) {
+
+        if (tournament.getStatus() == EventStatus.PENDING) {
+            return 0;
+        }
+        long numberOfMatches = tournament.getFormat().numberOfMatches(numberOfParticipants);
+        return tournament.isSwiss() ? numberOfMatches * tournament.getNumberOfRounds() : numberOfMatches;
     }
 
 }
@@ -0,0 +1,10 @@
+package com.example.tournament.service;
+
+import com.example.tournament.dto.response.TournamentStartJobDto;
+
+public interface TournamentStartJobService {
+
+    TournamentStartJobDto submit(Long tournamentId);
+
+    TournamentStartJobDto findById(Long tournamentId, String jobId);
+}
@@ -0,0 +1,183 @@
+package com.example.tournament.service;
+
+import com.example.tournament.dto.response.TournamentStartJobDto;
+import com.example.tournament.exception.ServiceException;
+import com.example.tournament.model.Participant;
+import com.example.tournament.model.Tournament;
+import com.example.tournament.util.concurrent.TournamentCommandExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Starts tournaments in the background. The tournament is moved to STARTED right away, then a worker of a bounded
+ * pool generates the bracket and saves it in chunks, each committed on its own and run on the tournament's writer
+ * thread between other commands. A failed job reverts the tournament to PENDING. Jobs are tracked in memory,
+ * so their progress is reported by the node that runs them.
+ */
+@Slf4j
+@Service
+public class TournamentStartJobServiceImpl implements TournamentStartJobService {
+
+    private final TournamentService tournamentService;
+
+    private final ParticipantService participantService;
+
+    private final MatchService matchService;
+
+    private final TournamentCommandExecutor tournamentCommandExecutor;
+
+    private final int chunkSize;
+
+    private final long retentionMillis;
+
+    private final ExecutorService workers;
+
+    private final Semaphore slots;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TournamentStartJobServiceImpl(TournamentService tournamentService, ParticipantService participantService,
+                                         MatchService matchService, TournamentCommandExecutor tournamentCommandExecutor,
+                                         @Value("${tournament.start-jobs.workers:2}") int numberOfWorkers,
+                                         @Value("${tournament.start-jobs.queue-capacity:16}") int queueCapacity,
+                                         @Value("${tournament.start-jobs.chunk-size:1000}") int chunkSize,
+                                         @Value("${tournament.start-jobs.retention-ms:3600000}") long retentionMillis) {
+        this.tournamentService = tournamentService;
+        this.participantService = participantService;
+        this.matchService = matchService;
+        this.tournamentCommandExecutor = tournamentCommandExecutor;
+        this.chunkSize = chunkSize;
+        this.retentionMillis = retentionMillis;
+        this.slots = new Semaphore(numberOfWorkers + queueCapacity);
+        this.workers = Executors.newFixedThreadPool(numberOfWorkers, runnable -> {
+            Thread thread = new Thread(runnable, "tournament-start");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public TournamentStartJobDto submit(Long tournamentId) {
+
+        removeExpiredJobs();
+        //The slot is taken before the tournament is started, so a full queue leaves the tournament PENDING
+        if (!slots.tryAcquire()) {
+            throw new ServiceException("Too many tournaments are being started, try again later");
+        }
+
+        Job job;
+        try {
+            //Read on the tournament's writer thread, so no participant can be added or removed before the bracket is built
+            List<Participant> participants = participantService.findAllByTournamentId(tournamentId);
+            Tournament tournament = tournamentService.markStarted(tournamentId, participants);
+            job = new Job(UUID.randomUUID().toString(), tournamentId);
+            job.totalMatches = tournament.getFormat().numberOfMatches(participants.size());
+            jobs.put(job.id, job);
+            workers.execute(() -> run(job, tournament, participants));
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        return job.toDto();
+    }
+
+    @Override
+    public TournamentStartJobDto findById(Long tournamentId, String jobId) {
+
+        Job job = jobs.get(jobId);
+        if (isNull(job) || !job.tournamentId.equals(tournamentId)) {
+            throw new ServiceException(String.format("Start job with id %s not found", jobId));
+        }
+        return job.toDto();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(Job job, Tournament tournament, List<Participant> participants) {
+
+        try {
+            job.status = TournamentStartJobDto.Status.RUNNING;
+
+            matchService.buildMatches(participants, tournament, chunkSize, chunk -> {
+                tournamentCommandExecutor.run(job.tournamentId, () -> matchService.saveMatches(job.tournamentId, chunk));
+                job.savedMatches += chunk.size();
+            });
+            matchService.evictByTournamentId(job.tournamentId);
+            job.status = TournamentStartJobDto.Status.COMPLETED;
+        } catch (RuntimeException e) {
+            log.warn("Start of tournament (id '{}') failed", job.tournamentId, e);
+            job.error = e.getMessage();
+            revert(job.tournamentId);
+            job.status = TournamentStartJobDto.Status.FAILED;
+        } finally {
+            job.finishedAt = System.currentTimeMillis();
+            slots.release();
+        }
+    }
+
+    private void revert(Long tournamentId) {
+
+        try {
+            tournamentCommandExecutor.run(tournamentId, () -> tournamentService.revertStart(tournamentId));
+        } catch (RuntimeException e) {
+            log.warn("Start of tournament (id '{}') couldn't be reverted", tournamentId, e);
+        }
+    }
+
+    private void removeExpiredJobs() {
+
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> job.finishedAt > 0 && now - job.finishedAt > retentionMillis);
+    }
+
+    //Written by its worker only, read by status requests
+    private static final class Job {
+
+        private final String id;
+
+        private final Long tournamentId;
+
+        private volatile TournamentStartJobDto.Status status = TournamentStartJobDto.Status.QUEUED;
+
+        private volatile long totalMatches;
+
+        private volatile long savedMatches;
+
+        private volatile String error;
+
+        private volatile long finishedAt;
+
+        private Job(String id, Long tournamentId) {
+            this.id = id;
+            this.tournamentId = tournamentId;
+        }
+
+        private TournamentStartJobDto toDto() {
+            return TournamentStartJobDto.builder()
+                    .id(id)
+                    .tournamentId(tournamentId)
+                    .status(status)
+                    .totalMatches(totalMatches)
+                    .savedMatches(savedMatches)
+                    .error(error)
+                    .build();
+        }
+    }
+}
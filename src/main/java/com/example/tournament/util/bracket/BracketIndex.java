@@ -0,0 +1,92 @@
+package com.example.tournament.util.bracket;
+
+import com.example.tournament.model.Match;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+
+import static java.util.Objects.isNull;
+
+public final class BracketIndex {
+
+    private final Map<String, Match> matchesByLabel;
+
+    private final Map<String, List<String>> previousMatchLabels;
+
+    private final Map<String, Integer> rounds;
+
+    private BracketIndex(Map<String, Match> matchesByLabel,
+                         Map<String, List<String>> previousMatchLabels,
+                         Map<String, Integer> rounds) {
+        this.matchesByLabel = matchesByLabel;
+        this.previousMatchLabels = previousMatchLabels;
+        this.rounds = rounds;
+    }
+
+    public static BracketIndex of(List<Match> matches) {
+
+        Map<String, Match> matchesByLabel = new HashMap<>(matches.size() * 2);
+        Map<String, List<String>> previousMatchLabels = new HashMap<>(matches.size() * 2);
+
+        for (Match match : matches) {
+            matchesByLabel.put(match.getLabel(), match);
+            if (!isNull(match.getNextMatchLabel())) {
+                previousMatchLabels.computeIfAbsent(match.getNextMatchLabel(), label -> new ArrayList<>(2))
+                        .add(match.getLabel());
+            }
+        }
+
+        return new BracketIndex(matchesByLabel, previousMatchLabels, computeRounds(matches, previousMatchLabels));
+    }
+
+    //Rounds are counted back from the final, so every match is visited once
+    private static Map<String, Integer> computeRounds(List<Match> matches,
+                                                      Map<String, List<String>> previousMatchLabels) {
+
+        Map<String, Integer> depths = new HashMap<>(matches.size() * 2);
+        Queue<String> queue = new ArrayDeque<>();
+
+        matches.stream()
+                .filter(match -> isNull(match.getNextMatchLabel()))
+                .forEach(match -> {
+                    depths.put(match.getLabel(), 0);
+                    queue.add(match.getLabel());
+                });
+
+        int maxDepth = 0;
+        while (!queue.isEmpty()) {
+            String label = queue.poll();
+            int depth = depths.get(label);
+            maxDepth = Math.max(maxDepth, depth);
+            for (String previousLabel : previousMatchLabels.getOrDefault(label, Collections.emptyList())) {
+                if (depths.putIfAbsent(previousLabel, depth + 1) == null) {
+                    queue.add(previousLabel);
+                }
+            }
+        }
+
+        Map<String, Integer> rounds = new HashMap<>(depths.size() * 2);
+        for (Map.Entry<String, Integer> entry : depths.entrySet()) {
+            rounds.put(entry.getKey(), maxDepth - entry.getValue() + 1);
+        }
+        return rounds;
+    }
+
+    public Optional<Match> findMatch(String label) {
+        return Optional.ofNullable(matchesByLabel.get(label));
+    }
+
+    public List<String> getPreviousMatchLabels(String label) {
+        return previousMatchLabels.getOrDefault(label, Collections.emptyList());
+    }
+
+    public Integer getRound(String label) {
+        return rounds.get(label);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.tournament.util.bracket;
+
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+public final class DoubleEliminationBracketGenerator {
+
+    private DoubleEliminationBracketGenerator() {
+    }
+
+    /**
+     * Builds the winners bracket as a single elimination bracket, then the losers bracket and the grand final
+     * in one pass over its rounds. Losers bracket rounds alternate: a minor round pairs the survivors among
+     * themselves, a major round meets each survivor with a loser dropping from the next winners round.
+     * A losers bracket match short of a feeder (because of first round byes) is left out and its only feeder
+     * goes straight on, so every generated match is eventually played.
+     * <p>
+     * Losers bracket matches and the grand final carry no slot: whoever reaches them takes the first free seat.
+     * The winners bracket champion always arrives at the grand final first, so takes its first seat.
+     */
+    public static List<Match> generate(Long tournamentId, Participant[] positions) {
+
+        List<Match> matches = SingleEliminationBracketGenerator.generate(tournamentId, positions);
+        int numberOfRounds = Integer.numberOfTrailingZeros(positions.length);
+
+        Match[][] winnersBracket = new Match[numberOfRounds + 1][];
+        for (int round = 1, slots = positions.length / 2; round <= numberOfRounds; round++, slots /= 2) {
+            winnersBracket[round] = new Match[slots];
+        }
+        for (Match match : matches) {
+            winnersBracket[match.getRoundNumber()][match.getSlot()] = match;
+        }
+
+        Builder builder = new Builder(tournamentId, matches, numberOfRounds);
+
+        Feeder[] feeders = new Feeder[winnersBracket[1].length];
+        for (int slot = 0; slot < feeders.length; slot++) {
+            feeders[slot] = Feeder.loserOf(winnersBracket[1][slot]);
+        }
+        for (int round = 2; round <= numberOfRounds; round++) {
+            feeders = builder.minorRound(feeders);
+            feeders = builder.majorRound(feeders, winnersBracket[round]);
+        }
+
+        Match grandFinal = builder.grandFinal();
+        winnersBracket[numberOfRounds][0].setNextMatchLabel(grandFinal.getLabel());
+        feeders[0].feed(grandFinal);
+
+        return matches;
+    }
+
+    private static final class Builder {
+
+        private final Long tournamentId;
+
+        private final List<Match> matches;
+
+        private int round;
+
+        private Builder(Long tournamentId, List<Match> matches, int numberOfWinnersBracketRounds) {
+            this.tournamentId = tournamentId;
+            this.matches = matches;
+            this.round = numberOfWinnersBracketRounds;
+        }
+
+        private Feeder[] minorRound(Feeder[] feeders) {
+
+            round++;
+            Feeder[] survivors = new Feeder[feeders.length / 2];
+            for (int i = 0; i < survivors.length; i++) {
+                survivors[i] = join(feeders[2 * i], feeders[2 * i + 1]);
+            }
+            return survivors;
+        }
+
+        private Feeder[] majorRound(Feeder[] feeders, Match[] winnersBracketRound) {
+
+            round++;
+            Feeder[] survivors = new Feeder[feeders.length];
+            for (int i = 0; i < survivors.length; i++) {
+                survivors[i] = join(feeders[i], Feeder.loserOf(winnersBracketRound[i]));
+            }
+            return survivors;
+        }
+
+        private Feeder join(Feeder first, Feeder second) {
+
+            if (isNull(first) || isNull(second)) {
+                return isNull(first) ? second : first;
+            }
+            Match match = match();
+            first.feed(match);
+            second.feed(match);
+            return Feeder.winnerOf(match);
+        }
+
+        private Match grandFinal() {
+
+            round++;
+            return match();
+        }
+
+        private Match match() {
+
+            Match match = Match.builder()
+                    .tournamentId(tournamentId)
+                    .label(MatchLabels.of(matches.size()))
+                    .roundNumber(round)
+                    .status(EventStatus.PENDING)
+                    .build();
+            matches.add(match);
+            return match;
+        }
+    }
+
+    //Where a losers bracket match gets one of its participants from: the loser or the winner of an earlier match
+    private static final class Feeder {
+
+        private final Match match;
+
+        private final boolean loser;
+
+        private Feeder(Match match, boolean loser) {
+            this.match = match;
+            this.loser = loser;
+        }
+
+        private static Feeder loserOf(Match match) {
+            return isNull(match) ? null : new Feeder(match, true);
+        }
+
+        private static Feeder winnerOf(Match match) {
+            return new Feeder(match, false);
+        }
+
+        private void feed(Match nextMatch) {
+            if (loser) {
+                match.setLoserNextMatchLabel(nextMatch.getLabel());
+            } else {
+                match.setNextMatchLabel(nextMatch.getLabel());
+            }
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.example.tournament.util.bracket;
+
+import com.example.tournament.dto.response.MatchDto;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.Match;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+//Matches are kept in label order in parallel primitive arrays, so the array index doubles as the label
+public final class LiveBracket {
+
+    private static final long NONE = 0L;
+
+    private static final long NO_TIME = -1L;
+
+    private static final int NO_MATCH = -1;
+
+    private static final EventStatus[] STATUSES = EventStatus.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final int size;
+
+    private final long[] ids;
+
+    private final long[] sortedIds;
+
+    private final int[] indexesBySortedId;
+
+    private final long[] firstParticipantIds;
+
+    private final long[] secondParticipantIds;
+
+    private final long[] winnerIds;
+
+    private final int[] firstParticipantScores;
+
+    private final int[] secondParticipantScores;
+
+    private final byte[] statuses;
+
+    private final int[] nextMatches;
+
+    private final int[] loserNextMatches;
+
+    private final int[] firstPreviousMatches;
+
+    private final int[] secondPreviousMatches;
+
+    private final int[] rounds;
+
+    private final int[] slots;
+
+    private final long[] startTimes;
+
+    private final long[] finishTimes;
+
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    private LiveBracket(int size) {
+        this.size = size;
+        ids = new long[size];
+        sortedIds = new long[size];
+        indexesBySortedId = new int[size];
+        firstParticipantIds = new long[size];
+        secondParticipantIds = new long[size];
+        winnerIds = new long[size];
+        firstParticipantScores = new int[size];
+        secondParticipantScores = new int[size];
+        statuses = new byte[size];
+        nextMatches = new int[size];
+        loserNextMatches = new int[size];
+        firstPreviousMatches = new int[size];
+        secondPreviousMatches = new int[size];
+        rounds = new int[size];
+        slots = new int[size];
+        startTimes = new long[size];
+        finishTimes = new long[size];
+    }
+
+    //Empty when labels are not the contiguous A, B, C.. sequence the array layout relies on, or some match leads
+    //to a match missing from the list, as while a bracket is still being saved chunk by chunk
+    public static Optional<LiveBracket> of(List<Match> matches) {
+
+        List<Match> sortedMatches = new ArrayList<>(matches);
+        sortedMatches.sort(Comparator.comparingInt((Match match) -> MatchLabels.indexOf(match.getLabel())));
+
+        LiveBracket bracket = new LiveBracket(sortedMatches.size());
+        Arrays.fill(bracket.firstPreviousMatches, NO_MATCH);
+        Arrays.fill(bracket.secondPreviousMatches, NO_MATCH);
+
+        for (int i = 0; i < bracket.size; i++) {
+            Match match = sortedMatches.get(i);
+            if (isNull(match.getId()) || MatchLabels.indexOf(match.getLabel()) != i) {
+                return Optional.empty();
+            }
+            bracket.ids[i] = match.getId();
+            bracket.nextMatches[i] = isNull(match.getNextMatchLabel()) ? NO_MATCH : MatchLabels.indexOf(match.getNextMatchLabel());
+            bracket.loserNextMatches[i] = isNull(match.getLoserNextMatchLabel()) ? NO_MATCH :
+                    MatchLabels.indexOf(match.getLoserNextMatchLabel());
+            bracket.slots[i] = isNull(match.getSlot()) ? NO_MATCH : match.getSlot();
+            bracket.rounds[i] = isNull(match.getRoundNumber()) ? 0 : match.getRoundNumber();
+            bracket.write(i, match);
+        }
+
+        for (int i = 0; i < bracket.size; i++) {
+            int loserNext = bracket.loserNextMatches[i];
+            int next = bracket.nextMatches[i];
+            if (next >= bracket.size || loserNext >= bracket.size) {
+                return Optional.empty();
+            }
+            if (next < 0) {
+                continue;
+            }
+            if (bracket.firstPreviousMatches[next] == NO_MATCH) {
+                bracket.firstPreviousMatches[next] = i;
+            } else {
+                bracket.secondPreviousMatches[next] = i;
+            }
+        }
+
+        //Matches always feed a later label, so one pass in label order is enough to number legacy rounds
+        for (int i = 0; i < bracket.size; i++) {
+            if (bracket.rounds[i] == 0) {
+                int first = bracket.firstPreviousMatches[i];
+                int second = bracket.secondPreviousMatches[i];
+                bracket.rounds[i] = 1 + Math.max(first == NO_MATCH ? 0 : bracket.rounds[first],
+                        second == NO_MATCH ? 0 : bracket.rounds[second]);
+            }
+        }
+
+        Integer[] order = new Integer[bracket.size];
+        for (int i = 0; i < bracket.size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> bracket.ids[i]));
+        for (int i = 0; i < bracket.size; i++) {
+            bracket.sortedIds[i] = bracket.ids[order[i]];
+            bracket.indexesBySortedId[i] = order[i];
+        }
+
+        return Optional.of(bracket);
+    }
+
+    public List<MatchDto> findAll() {
+
+        lock.readLock().lock();
+        try {
+            List<MatchDto> matches = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                matches.add(toDto(i));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<MatchDto> find(Long matchId) {
+
+        int index = indexOf(matchId);
+        if (index == NO_MATCH) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(toDto(index));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void update(Match match) {
+
+        int index = indexOf(match.getId());
+        if (index == NO_MATCH) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            write(index, match);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void start(Long matchId, LocalTime startTime) {
+
+        int index = indexOf(matchId);
+        if (index == NO_MATCH) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            statuses[index] = (byte) EventStatus.STARTED.ordinal();
+            startTimes[index] = startTime.toNanoOfDay();
+            firstParticipantScores[index] = 0;
+            secondParticipantScores[index] = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateScores(Long matchId, int firstParticipantScore, int secondParticipantScore) {
+
+        int index = indexOf(matchId);
+        if (index == NO_MATCH) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            firstParticipantScores[index] = firstParticipantScore;
+            secondParticipantScores[index] = secondParticipantScore;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Mirrors the database: even slots feed the first seat, odd slots the second, unknown slots the first free seat
+    public Optional<MatchDto> advanceWinner(Match finishedMatch) {
+
+        int index = indexOf(finishedMatch.getId());
+        if (index == NO_MATCH || nextMatches[index] == NO_MATCH) {
+            return Optional.empty();
+        }
+        int next = nextMatches[index];
+        long winnerId = toPrimitive(finishedMatch.getWinnerId());
+        lock.writeLock().lock();
+        try {
+            if (slots[index] == NO_MATCH && isSeated(next, winnerId)) {
+                return Optional.of(toDto(next));
+            }
+            boolean firstSeat = slots[index] == NO_MATCH ? firstParticipantIds[next] == NONE : slots[index] % 2 == 0;
+            if (firstSeat) {
+                firstParticipantIds[next] = winnerId;
+            } else {
+                secondParticipantIds[next] = winnerId;
+            }
+            return Optional.of(toDto(next));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Losers bracket matches have no slots, the loser takes the first free seat
+    public Optional<MatchDto> advanceLoser(Match finishedMatch) {
+
+        int index = indexOf(finishedMatch.getId());
+        if (index == NO_MATCH || loserNextMatches[index] == NO_MATCH) {
+            return Optional.empty();
+        }
+        int next = loserNextMatches[index];
+        long loserId = toPrimitive(finishedMatch.getWinnerId().equals(finishedMatch.getFirstParticipantId()) ?
+                finishedMatch.getSecondParticipantId() : finishedMatch.getFirstParticipantId());
+        lock.writeLock().lock();
+        try {
+            if (isSeated(next, loserId)) {
+                return Optional.of(toDto(next));
+            }
+            if (firstParticipantIds[next] == NONE) {
+                firstParticipantIds[next] = loserId;
+            } else {
+                secondParticipantIds[next] = loserId;
+            }
+            return Optional.of(toDto(next));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isCompleted() {
+
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (statuses[i] != EventStatus.COMPLETED.ordinal()) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    //A change applied to a snapshot that already holds it must not seat the participant twice
+    private boolean isSeated(int index, long participantId) {
+        return firstParticipantIds[index] == participantId || secondParticipantIds[index] == participantId;
+    }
+
+    private int indexOf(Long matchId) {
+
+        if (isNull(matchId)) {
+            return NO_MATCH;
+        }
+        int position = Arrays.binarySearch(sortedIds, matchId);
+        return position < 0 ? NO_MATCH : indexesBySortedId[position];
+    }
+
+    private void write(int index, Match match) {
+
+        firstParticipantIds[index] = toPrimitive(match.getFirstParticipantId());
+        secondParticipantIds[index] = toPrimitive(match.getSecondParticipantId());
+        winnerIds[index] = toPrimitive(match.getWinnerId());
+        firstParticipantScores[index] = match.getFirstParticipantScore();
+        secondParticipantScores[index] = match.getSecondParticipantScore();
+        statuses[index] = (byte) (isNull(match.getStatus()) ? EventStatus.PENDING : match.getStatus()).ordinal();
+        startTimes[index] = isNull(match.getStartTime()) ? NO_TIME : match.getStartTime().toNanoOfDay();
+        finishTimes[index] = isNull(match.getFinishTime()) ? NO_TIME : match.getFinishTime().toNanoOfDay();
+    }
+
+    private MatchDto toDto(int index) {
+
+        List<String> previousMatchLabels;
+        if (firstPreviousMatches[index] == NO_MATCH) {
+            previousMatchLabels = Collections.emptyList();
+        } else if (secondPreviousMatches[index] == NO_MATCH) {
+            previousMatchLabels = Collections.singletonList(MatchLabels.of(firstPreviousMatches[index]));
+        } else {
+            previousMatchLabels = Arrays.asList(MatchLabels.of(firstPreviousMatches[index]),
+                    MatchLabels.of(secondPreviousMatches[index]));
+        }
+
+        return MatchDto.builder()
+                .id(ids[index])
+                .label(MatchLabels.of(index))
+                .nextMatchLabel(nextMatches[index] == NO_MATCH ? null : MatchLabels.of(nextMatches[index]))
+                .loserNextMatchLabel(loserNextMatches[index] == NO_MATCH ? null : MatchLabels.of(loserNextMatches[index]))
+                .firstParticipantId(toObject(firstParticipantIds[index]))
+                .secondParticipantId(toObject(secondParticipantIds[index]))
+                .previousMatchLabels(previousMatchLabels)
+                .round(rounds[index])
+                .slot(slots[index] == NO_MATCH ? null : slots[index])
+                .score(firstParticipantScores[index] + ":" + secondParticipantScores[index])
+                .winnerId(toObject(winnerIds[index]))
+                .start(startTimes[index] == NO_TIME ? null : LocalTime.ofNanoOfDay(startTimes[index]))
+                .finish(finishTimes[index] == NO_TIME ? null : LocalTime.ofNanoOfDay(finishTimes[index]))
+                .status(STATUSES[statuses[index]])
+                .build();
+    }
+
+    private static long toPrimitive(Long id) {
+        return nonNull(id) ? id : NONE;
+    }
+
+    private static Long toObject(long id) {
+        return id == NONE ? null : id;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.tournament.util.bracket;
+
+import com.example.tournament.dto.response.MatchDto;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.Match;
+import com.example.tournament.util.mapper.MatchMapper;
+import com.example.tournament.util.stream.MatchStreamBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.example.tournament.util.transaction.TransactionCallbacks.afterCommit;
+import static java.util.Objects.isNull;
+
+/**
+ * In-memory copy of live brackets. Changes are applied, and streamed to watchers, once the surrounding transaction commits.
+ * <p>
+ * Every applied change bumps a write stamp of the tournament's stripe before it looks the bracket up. A snapshot read
+ * from the database is only kept if no write landed on its stripe since its stamp was taken, so a write that committed
+ * while the snapshot was being read, and found no bracket to apply to, can't be lost. Applying a change twice is harmless.
+ * The number of brackets is bounded: idle ones go first, then the least recently used.
+ * <p>
+ * Round robin and Swiss tournaments have no bracket kept here, their changed matches are streamed as written.
+ */
+@Component
+public class LiveBracketStore {
+
+    private static final int STAMP_STRIPES = 4096;
+
+    private final Map<Long, LiveBracket> brackets = new ConcurrentHashMap<>();
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    private final MatchStreamBroadcaster matchStreamBroadcaster;
+
+    private final MatchMapper matchMapper;
+
+    private final int maxSize;
+
+    private final long idleMillis;
+
+    @Autowired
+    public LiveBracketStore(MatchStreamBroadcaster matchStreamBroadcaster, MatchMapper matchMapper,
+                            @Value("${tournament.live-brackets.max-size:10000}") int maxSize,
+                            @Value("${tournament.live-brackets.idle-ms:21600000}") long idleMillis) {
+        this.matchStreamBroadcaster = matchStreamBroadcaster;
+        this.matchMapper = matchMapper;
+        this.maxSize = maxSize;
+        this.idleMillis = idleMillis;
+    }
+
+    public Optional<List<MatchDto>> findMatches(Long tournamentId) {
+
+        return find(tournamentId).map(LiveBracket::findAll);
+    }
+
+    public Optional<MatchDto> findMatch(Long tournamentId, Long matchId) {
+
+        return find(tournamentId).flatMap(bracket -> bracket.find(matchId));
+    }
+
+    //Taken before the matches of a snapshot are read from the database
+    public long stamp(Long tournamentId) {
+        return stamps.get(stripe(tournamentId));
+    }
+
+    public void load(Long tournamentId, long stamp, List<Match> matches) {
+
+        if (matches.isEmpty() || matches.stream().allMatch(match -> EventStatus.COMPLETED.equals(match.getStatus()))) {
+            return;
+        }
+        afterCommit(() -> LiveBracket.of(matches).ifPresent(bracket -> {
+            int stripe = stripe(tournamentId);
+            if (stamps.get(stripe) != stamp || brackets.putIfAbsent(tournamentId, bracket) != null) {
+                return;
+            }
+            //A write bumping the stamp after this check finds the bracket stored and applies itself to it
+            if (stamps.get(stripe) != stamp) {
+                brackets.remove(tournamentId, bracket);
+                return;
+            }
+            trim();
+        }));
+    }
+
+    public int size() {
+        return brackets.size();
+    }
+
+    public void update(Match match) {
+
+        afterCommit(() -> {
+            LiveBracket bracket = write(match.getTournamentId());
+            if (isNull(bracket)) {
+                matchStreamBroadcaster.publish(match.getTournamentId(), matchMapper.matchToDto(match));
+                return;
+            }
+            bracket.update(match);
+            publish(match.getTournamentId(), bracket.find(match.getId()));
+            if (isNull(match.getNextMatchLabel()) && EventStatus.COMPLETED.equals(match.getStatus())
+                    && bracket.isCompleted()) {
+                brackets.remove(match.getTournamentId());
+            }
+        });
+    }
+
+    public void start(Long tournamentId, Long matchId, LocalTime startTime) {
+
+        afterCommit(() -> {
+            LiveBracket bracket = write(tournamentId);
+            if (!isNull(bracket)) {
+                bracket.start(matchId, startTime);
+                publish(tournamentId, bracket.find(matchId));
+            }
+        });
+    }
+
+    public void updateScores(Long tournamentId, Long matchId, int firstParticipantScore, int secondParticipantScore) {
+
+        afterCommit(() -> {
+            LiveBracket bracket = write(tournamentId);
+            if (!isNull(bracket)) {
+                bracket.updateScores(matchId, firstParticipantScore, secondParticipantScore);
+                publish(tournamentId, bracket.find(matchId));
+            }
+        });
+    }
+
+    public void advanceWinner(Match finishedMatch) {
+
+        afterCommit(() -> {
+            LiveBracket bracket = write(finishedMatch.getTournamentId());
+            if (!isNull(bracket)) {
+                publish(finishedMatch.getTournamentId(), bracket.advanceWinner(finishedMatch));
+            }
+        });
+    }
+
+    public void advanceLoser(Match finishedMatch) {
+
+        afterCommit(() -> {
+            LiveBracket bracket = write(finishedMatch.getTournamentId());
+            if (!isNull(bracket)) {
+                publish(finishedMatch.getTournamentId(), bracket.advanceLoser(finishedMatch));
+            }
+        });
+    }
+
+    public void evict(Long tournamentId) {
+
+        afterCommit(() -> {
+            write(tournamentId);
+            brackets.remove(tournamentId);
+        });
+    }
+
+    private Optional<LiveBracket> find(Long tournamentId) {
+
+        LiveBracket bracket = brackets.get(tournamentId);
+        if (isNull(bracket)) {
+            return Optional.empty();
+        }
+        bracket.touch();
+        return Optional.of(bracket);
+    }
+
+    private LiveBracket write(Long tournamentId) {
+
+        stamps.incrementAndGet(stripe(tournamentId));
+        LiveBracket bracket = brackets.get(tournamentId);
+        if (!isNull(bracket)) {
+            bracket.touch();
+        }
+        return bracket;
+    }
+
+    private void trim() {
+
+        long idleSince = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        brackets.values().removeIf(bracket -> bracket.getLastAccessNanos() - idleSince < 0);
+        while (brackets.size() > maxSize) {
+            brackets.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().getLastAccessNanos()))
+                    .ifPresent(entry -> brackets.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private static int stripe(Long tournamentId) {
+        return (int) Math.floorMod(tournamentId, (long) STAMP_STRIPES);
+    }
+
+    private void publish(Long tournamentId, Optional<MatchDto> match) {
+
+        match.ifPresent(matchDto -> matchStreamBroadcaster.publish(tournamentId, matchDto));
+    }
+}
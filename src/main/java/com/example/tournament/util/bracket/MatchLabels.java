@@ -0,0 +1,37 @@
+package com.example.tournament.util.bracket;
+
+public final class MatchLabels {
+
+    private MatchLabels() {
+    }
+
+    //Spreadsheet-like labels: A..Z, AA..ZZ, AAA.. so the label space never runs out
+    public static String of(int index) {
+
+        char[] buffer = new char[8];
+        int position = buffer.length;
+        long remaining = index + 1L;
+        while (remaining > 0) {
+            remaining--;
+            buffer[--position] = (char) ('A' + remaining % 26);
+            remaining /= 26;
+        }
+        return new String(buffer, position, buffer.length - position);
+    }
+
+    public static int indexOf(String label) {
+
+        long index = 0;
+        for (int i = 0; i < label.length(); i++) {
+            char letter = label.charAt(i);
+            if (letter < 'A' || letter > 'Z') {
+                return -1;
+            }
+            index = index * 26 + (letter - 'A' + 1);
+            if (index > Integer.MAX_VALUE) {
+                return -1;
+            }
+        }
+        return (int) index - 1;
+    }
+}
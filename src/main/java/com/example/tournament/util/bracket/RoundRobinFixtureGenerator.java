@@ -0,0 +1,63 @@
+package com.example.tournament.util.bracket;
+
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public final class RoundRobinFixtureGenerator {
+
+    private static final long BYE = 0L;
+
+    private RoundRobinFixtureGenerator() {
+    }
+
+    /**
+     * Circle method: the first participant stays in place while the others rotate one position per round,
+     * and position i plays position n - 1 - i. An odd field gets a bye, whose opponent rests that round.
+     * Rounds are handed over one at a time, so only a single round is ever held in memory.
+     */
+    public static void generate(Long tournamentId, List<Participant> participants, Consumer<List<Match>> roundConsumer) {
+
+        int size = participants.size() % 2 == 0 ? participants.size() : participants.size() + 1;
+        long[] circle = new long[size];
+        for (int i = 0; i < participants.size(); i++) {
+            circle[i] = participants.get(i).getId();
+        }
+
+        int labelIndex = 0;
+        for (int round = 1; round < size; round++) {
+            List<Match> matches = new ArrayList<>(size / 2);
+            for (int slot = 0; slot < size / 2; slot++) {
+                long first = circle[slot];
+                long second = circle[size - 1 - slot];
+                if (first == BYE || second == BYE) {
+                    continue;
+                }
+                //Alternating seats keeps the fixed participant from always being listed first
+                boolean swap = slot == 0 && round % 2 == 0;
+                matches.add(Match.builder()
+                        .tournamentId(tournamentId)
+                        .label(MatchLabels.of(labelIndex++))
+                        .roundNumber(round)
+                        .slot(slot)
+                        .firstParticipantId(swap ? second : first)
+                        .secondParticipantId(swap ? first : second)
+                        .status(EventStatus.PENDING)
+                        .build());
+            }
+            roundConsumer.accept(matches);
+            rotate(circle);
+        }
+    }
+
+    private static void rotate(long[] circle) {
+
+        long last = circle[circle.length - 1];
+        System.arraycopy(circle, 1, circle, 2, circle.length - 2);
+        circle[1] = last;
+    }
+}
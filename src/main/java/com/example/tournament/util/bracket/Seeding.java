@@ -0,0 +1,56 @@
+package com.example.tournament.util.bracket;
+
+import com.example.tournament.model.Participant;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public final class Seeding {
+
+    private static final Comparator<Participant> BY_RATING = Comparator.comparing(Participant::getRating,
+            Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private Seeding() {
+    }
+
+    //Best rated first, unrated last; the sort is stable, so participants of equal rating keep their order
+    public static List<Participant> rank(List<Participant> participants) {
+
+        List<Participant> ranked = new ArrayList<>(participants);
+        ranked.sort(BY_RATING);
+        return ranked;
+    }
+
+    /**
+     * First round positions of a seeded bracket (null stands for a bye), for the bracket generators.
+     * The two best seeds can only meet in the final, the four best in the semifinals and so on.
+     * Seeds past the number of participants are byes, so byes go to the top seeds.
+     */
+    public static Participant[] positions(List<Participant> participants) {
+
+        List<Participant> ranked = rank(participants);
+        int[] seeds = seedOrder(SingleEliminationBracketGenerator.bracketSize(ranked.size()));
+
+        Participant[] positions = new Participant[seeds.length];
+        for (int position = 0; position < seeds.length; position++) {
+            if (seeds[position] < ranked.size()) {
+                positions[position] = ranked.get(seeds[position]);
+            }
+        }
+        return positions;
+    }
+
+    //Zero based seed at every position: doubling the bracket puts seed s next to seed 2 * size - 1 - s
+    static int[] seedOrder(int bracketSize) {
+
+        int[] seeds = new int[bracketSize];
+        for (int size = 1; size < bracketSize; size *= 2) {
+            for (int i = size - 1; i >= 0; i--) {
+                seeds[2 * i + 1] = 2 * size - 1 - seeds[i];
+                seeds[2 * i] = seeds[i];
+            }
+        }
+        return seeds;
+    }
+}
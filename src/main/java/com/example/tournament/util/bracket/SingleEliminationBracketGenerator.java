@@ -0,0 +1,116 @@
+package com.example.tournament.util.bracket;
+
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+public final class SingleEliminationBracketGenerator {
+
+    private SingleEliminationBracketGenerator() {
+    }
+
+    public static int bracketSize(int numberOfParticipants) {
+        return numberOfParticipants <= 1 ? 1 : Integer.highestOneBit(numberOfParticipants - 1) << 1;
+    }
+
+    //Byes go to the first slots of the first round, one per slot, so no first round slot is left empty
+    public static Participant[] arrange(List<Participant> participants) {
+
+        int bracketSize = bracketSize(participants.size());
+        int numberOfByes = bracketSize - participants.size();
+
+        Participant[] positions = new Participant[bracketSize];
+        int participantIndex = 0;
+        for (int slot = 0; slot < bracketSize / 2; slot++) {
+            positions[2 * slot] = participants.get(participantIndex++);
+            if (slot >= numberOfByes) {
+                positions[2 * slot + 1] = participants.get(participantIndex++);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Builds a single elimination bracket in one pass from first round positions (null stands for a bye).
+     * Match at (round, slot) feeds the match at (round + 1, slot / 2), taking its first seat from even slots
+     * and its second seat from odd ones. A participant with a bye is placed straight into the second round.
+     */
+    public static List<Match> generate(Long tournamentId, Participant[] positions) {
+
+        int firstRoundSlots = positions.length / 2;
+        int numberOfRounds = Integer.numberOfTrailingZeros(positions.length);
+
+        int firstRoundMatches = 0;
+        for (int slot = 0; slot < firstRoundSlots; slot++) {
+            if (nonNull(positions[2 * slot]) && nonNull(positions[2 * slot + 1])) {
+                firstRoundMatches++;
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(Math.max(firstRoundMatches + firstRoundSlots - 1, 1));
+
+        int nextRoundOffset = firstRoundMatches;
+        int labelIndex = 0;
+        for (int slot = 0; slot < firstRoundSlots; slot++) {
+            Participant first = positions[2 * slot];
+            Participant second = positions[2 * slot + 1];
+            if (isNull(first) || isNull(second)) {
+                continue;
+            }
+            matches.add(Match.builder()
+                    .tournamentId(tournamentId)
+                    .label(MatchLabels.of(labelIndex++))
+                    .roundNumber(1)
+                    .slot(slot)
+                    .firstParticipantId(first.getId())
+                    .secondParticipantId(second.getId())
+                    .nextMatchLabel(numberOfRounds > 1 ? MatchLabels.of(nextRoundOffset + slot / 2) : null)
+                    .status(EventStatus.PENDING)
+                    .build());
+        }
+
+        int roundOffset = nextRoundOffset;
+        for (int round = 2, slots = firstRoundSlots / 2; round <= numberOfRounds; round++, slots /= 2) {
+            nextRoundOffset = roundOffset + slots;
+            for (int slot = 0; slot < slots; slot++) {
+                Match match = Match.builder()
+                        .tournamentId(tournamentId)
+                        .label(MatchLabels.of(roundOffset + slot))
+                        .roundNumber(round)
+                        .slot(slot)
+                        .nextMatchLabel(round < numberOfRounds ? MatchLabels.of(nextRoundOffset + slot / 2) : null)
+                        .status(EventStatus.PENDING)
+                        .build();
+                if (round == 2) {
+                    seatBye(match, positions, 2 * slot, true);
+                    seatBye(match, positions, 2 * slot + 1, false);
+                }
+                matches.add(match);
+            }
+            roundOffset = nextRoundOffset;
+        }
+
+        return matches;
+    }
+
+    private static void seatBye(Match match, Participant[] positions, int firstRoundSlot, boolean firstSeat) {
+
+        Participant first = positions[2 * firstRoundSlot];
+        Participant second = positions[2 * firstRoundSlot + 1];
+        if (nonNull(first) && nonNull(second)) {
+            return;
+        }
+        Long participantId = nonNull(first) ? first.getId() : nonNull(second) ? second.getId() : null;
+        if (firstSeat) {
+            match.setFirstParticipantId(participantId);
+        } else {
+            match.setSecondParticipantId(participantId);
+        }
+    }
+}
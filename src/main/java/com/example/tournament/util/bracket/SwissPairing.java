@@ -0,0 +1,236 @@
+package com.example.tournament.util.bracket;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Pairs a Swiss round from an in-memory index of scores, byes and past opponents, keyed by dense participant indexes.
+ * <p>
+ * Participants are ranked by score, then by seed (the order they were given in). Every score group, together with
+ * whoever floated down from the group above, is paired top half against bottom half, skipping past opponents;
+ * whoever can't be paired within the group floats down to the next one. Participants left over at the bottom are
+ * swapped into pairs made already, and a rematch is accepted only when no swap helps.
+ */
+public final class SwissPairing {
+
+    public static final long BYE = 0L;
+
+    private static final int NONE = -1;
+
+    private final long[] participantIds;
+
+    private final Map<Long, Integer> indexes;
+
+    private final int[] scores;
+
+    private final boolean[] byes;
+
+    private final BitSet[] opponents;
+
+    public SwissPairing(List<Long> participantIds) {
+
+        int size = participantIds.size();
+        this.participantIds = new long[size];
+        this.indexes = new HashMap<>(size * 2);
+        this.scores = new int[size];
+        this.byes = new boolean[size];
+        this.opponents = new BitSet[size];
+        for (int i = 0; i < size; i++) {
+            this.participantIds[i] = participantIds.get(i);
+            this.indexes.put(participantIds.get(i), i);
+            this.opponents[i] = new BitSet();
+        }
+    }
+
+    //A match without second participant is a bye; participants no longer in the index are ignored
+    public void addResult(Long firstParticipantId, Long secondParticipantId, Long winnerId) {
+
+        int first = indexOf(firstParticipantId);
+        int second = indexOf(secondParticipantId);
+        if (first != NONE && second != NONE) {
+            opponents[first].set(second);
+            opponents[second].set(first);
+        } else if (first != NONE && isNull(secondParticipantId)) {
+            byes[first] = true;
+        }
+        int winner = indexOf(winnerId);
+        if (winner != NONE) {
+            scores[winner]++;
+        }
+    }
+
+    //Participant ids two by two, the better ranked first; the participant with a bye is paired with BYE
+    public long[] pair() {
+
+        int size = participantIds.length;
+        Integer[] ranking = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            ranking[i] = i;
+        }
+        Arrays.sort(ranking, Comparator.comparingInt((Integer i) -> -scores[i]).thenComparingInt(i -> i));
+
+        boolean[] paired = new boolean[size];
+        Pairs pairs = new Pairs(size / 2);
+
+        //The lowest ranked participant who hasn't had a bye yet sits this round out
+        int bye = NONE;
+        if (size % 2 == 1) {
+            bye = ranking[size - 1];
+            for (int i = size - 1; i >= 0; i--) {
+                if (!byes[ranking[i]]) {
+                    bye = ranking[i];
+                    break;
+                }
+            }
+            paired[bye] = true;
+        }
+
+        List<Integer> floaters = new ArrayList<>();
+        int from = 0;
+        while (from < size) {
+            int to = from;
+            while (to < size && scores[ranking[to]] == scores[ranking[from]]) {
+                to++;
+            }
+            int[] group = new int[floaters.size() + to - from];
+            int length = 0;
+            for (int floater : floaters) {
+                group[length++] = floater;
+            }
+            for (int i = from; i < to; i++) {
+                if (!paired[ranking[i]]) {
+                    group[length++] = ranking[i];
+                }
+            }
+            floaters = pairGroup(group, length, paired, pairs);
+            from = to;
+        }
+        pairLeftovers(floaters, pairs);
+
+        long[] pairings = new long[(pairs.size + (bye == NONE ? 0 : 1)) * 2];
+        for (int i = 0; i < pairs.size; i++) {
+            pairings[2 * i] = participantIds[pairs.firsts[i]];
+            pairings[2 * i + 1] = participantIds[pairs.seconds[i]];
+        }
+        if (bye != NONE) {
+            pairings[2 * pairs.size] = participantIds[bye];
+            pairings[2 * pairs.size + 1] = BYE;
+        }
+        return pairings;
+    }
+
+    //Returns the participants of the group left unpaired, in ranking order
+    private List<Integer> pairGroup(int[] group, int length, boolean[] paired, Pairs pairs) {
+
+        int half = length / 2;
+        List<Integer> unpaired = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            int participant = group[i];
+            if (paired[participant]) {
+                continue;
+            }
+            int start = i < half ? i + half : i + 1;
+            int partner = NONE;
+            for (int j = start; j < length && partner == NONE; j++) {
+                partner = isFreeOpponent(participant, group[j], paired) ? group[j] : NONE;
+            }
+            for (int j = i + 1; j < start && partner == NONE; j++) {
+                partner = isFreeOpponent(participant, group[j], paired) ? group[j] : NONE;
+            }
+            if (partner == NONE) {
+                unpaired.add(participant);
+                continue;
+            }
+            paired[participant] = true;
+            paired[partner] = true;
+            pairs.add(participant, partner);
+        }
+        return unpaired;
+    }
+
+    private boolean isFreeOpponent(int participant, int candidate, boolean[] paired) {
+        return !paired[candidate] && !opponents[participant].get(candidate);
+    }
+
+    private void pairLeftovers(List<Integer> leftovers, Pairs pairs) {
+
+        while (leftovers.size() > 1) {
+            int participant = leftovers.remove(0);
+            int partner = NONE;
+            for (int i = 0; i < leftovers.size() && partner == NONE; i++) {
+                if (!opponents[participant].get(leftovers.get(i))) {
+                    partner = leftovers.remove(i);
+                }
+            }
+            if (partner == NONE && !swapIntoPairs(participant, leftovers, pairs)) {
+                partner = leftovers.remove(0);
+            }
+            if (partner != NONE) {
+                pairs.add(participant, partner);
+            }
+        }
+    }
+
+    //Pair (a, b) and leftover q become (a, participant) and (b, q), or the other way round; lowest pairs are tried first
+    private boolean swapIntoPairs(int participant, List<Integer> leftovers, Pairs pairs) {
+
+        for (int p = pairs.size - 1; p >= 0; p--) {
+            int first = pairs.firsts[p];
+            int second = pairs.seconds[p];
+            for (int i = 0; i < leftovers.size(); i++) {
+                int leftover = leftovers.get(i);
+                if (!opponents[participant].get(first) && !opponents[leftover].get(second)) {
+                    pairs.seconds[p] = participant;
+                    pairs.add(second, leftovers.remove(i));
+                    return true;
+                }
+                if (!opponents[participant].get(second) && !opponents[leftover].get(first)) {
+                    pairs.firsts[p] = participant;
+                    pairs.add(first, leftovers.remove(i));
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int indexOf(Long participantId) {
+
+        if (isNull(participantId)) {
+            return NONE;
+        }
+        Integer index = indexes.get(participantId);
+        return isNull(index) ? NONE : index;
+    }
+
+    private static final class Pairs {
+
+        private int[] firsts;
+
+        private int[] seconds;
+
+        private int size;
+
+        private Pairs(int capacity) {
+            firsts = new int[Math.max(capacity, 1)];
+            seconds = new int[Math.max(capacity, 1)];
+        }
+
+        private void add(int first, int second) {
+            if (size == firsts.length) {
+                firsts = Arrays.copyOf(firsts, size * 2);
+                seconds = Arrays.copyOf(seconds, size * 2);
+            }
+            firsts[size] = first;
+            seconds[size] = second;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.tournament.util.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * LRU cache of immutable byte arrays bounded by their total length rather than by the number of entries.
+ * Values larger than the whole budget are never cached.
+ */
+public class ByteArrayCache {
+
+    private final long maximumBytes;
+
+    private final LinkedHashMap<Long, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    public ByteArrayCache(long maximumBytes) {
+        this.maximumBytes = maximumBytes;
+    }
+
+    public synchronized Optional<byte[]> get(Long id) {
+        return Optional.ofNullable(entries.get(id));
+    }
+
+    public synchronized void put(Long id, byte[] value) {
+
+        if (value.length > maximumBytes) {
+            return;
+        }
+        byte[] previous = entries.put(id, value);
+        totalBytes += value.length - (previous == null ? 0 : previous.length);
+
+        Iterator<Map.Entry<Long, byte[]>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maximumBytes) {
+            totalBytes -= iterator.next().getValue().length;
+            iterator.remove();
+        }
+    }
+
+    public synchronized void evict(Long id) {
+
+        byte[] previous = entries.remove(id);
+        if (previous != null) {
+            totalBytes -= previous.length;
+        }
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.tournament.util.cache;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CacheStatistics {
+
+    private long hits;
+
+    private long negativeHits;
+
+    private long misses;
+
+    private long evictions;
+
+    private int size;
+}
@@ -0,0 +1,138 @@
+package com.example.tournament.util.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded read-through cache of entities by id. Entries expire after a TTL, and the least recently used
+ * entry of a segment goes first when the segment is full. Misses are cached too, for a shorter TTL,
+ * so repeated lookups of missing ids stay off the database. A zero TTL caches misses only.
+ * Callers get copies, never the cached instance.
+ */
+public class EntityCache<V> {
+
+    private static final int NUMBER_OF_SEGMENTS = 16;
+
+    private final Segment<V>[] segments;
+
+    private final long ttlNanos;
+
+    private final long negativeTtlNanos;
+
+    private final UnaryOperator<V> copier;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder negativeHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public EntityCache(int maximumSize, long ttlMillis, long negativeTtlMillis, UnaryOperator<V> copier) {
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.negativeTtlNanos = negativeTtlMillis * 1_000_000;
+        this.copier = copier;
+        segments = new Segment[NUMBER_OF_SEGMENTS];
+        for (int i = 0; i < NUMBER_OF_SEGMENTS; i++) {
+            segments[i] = new Segment<>(Math.max(1, maximumSize / NUMBER_OF_SEGMENTS));
+        }
+    }
+
+    public Optional<V> get(Long id, Function<Long, Optional<V>> loader) {
+
+        Segment<V> segment = segmentOf(id);
+        long now = System.nanoTime();
+        long generation;
+
+        synchronized (segment) {
+            Entry<V> entry = segment.entries.get(id);
+            if (entry != null && entry.expiresAt - now > 0) {
+                if (entry.value.isPresent()) {
+                    hits.increment();
+                    return entry.value.map(copier);
+                }
+                negativeHits.increment();
+                return Optional.empty();
+            }
+            generation = segment.generation;
+        }
+
+        misses.increment();
+        Optional<V> value = loader.apply(id);
+
+        synchronized (segment) {
+            //An eviction while loading means the loaded value may already be stale
+            if (segment.generation == generation && (!value.isPresent() || ttlNanos > 0)) {
+                segment.entries.put(id, new Entry<>(value,
+                        System.nanoTime() + (value.isPresent() ? ttlNanos : negativeTtlNanos)));
+            }
+        }
+        return value.map(copier);
+    }
+
+    public void evict(Long id) {
+
+        Segment<V> segment = segmentOf(id);
+        synchronized (segment) {
+            segment.generation++;
+            if (segment.entries.remove(id) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public CacheStatistics getStatistics() {
+
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return CacheStatistics.builder()
+                .hits(hits.sum())
+                .negativeHits(negativeHits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .size(size)
+                .build();
+    }
+
+    private Segment<V> segmentOf(Long id) {
+        return segments[(Long.hashCode(id) & Integer.MAX_VALUE) % NUMBER_OF_SEGMENTS];
+    }
+
+    private static final class Segment<V> {
+
+        private final Map<Long, Entry<V>> entries;
+
+        private long generation;
+
+        private Segment(int capacity) {
+            entries = new LinkedHashMap<Long, Entry<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry<V>> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final Optional<V> value;
+
+        private final long expiresAt;
+
+        private Entry(Optional<V> value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.tournament.util.concurrent;
+
+import com.example.tournament.exception.ServiceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs mutating commands of a tournament one after another on a single writer thread.
+ * Tournaments are spread over a fixed number of stripes, so different tournaments run in parallel
+ * while commands of the same tournament keep their submission order.
+ */
+@Component
+public class TournamentCommandExecutor {
+
+    private static final ThreadLocal<Integer> CURRENT_STRIPE = new ThreadLocal<>();
+
+    private final ExecutorService[] stripes;
+
+    public TournamentCommandExecutor(@Value("${tournament.command-executor.stripes:0}") int numberOfStripes) {
+
+        int size = numberOfStripes > 0 ? numberOfStripes : Runtime.getRuntime().availableProcessors();
+        stripes = new ExecutorService[size];
+        for (int i = 0; i < size; i++) {
+            final int stripe = i;
+            stripes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(() -> {
+                    CURRENT_STRIPE.set(stripe);
+                    runnable.run();
+                }, "tournament-writer-" + stripe);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public <T> T execute(Long tournamentId, Supplier<T> command) {
+
+        int stripe = stripeOf(tournamentId);
+
+        //A command issued from its own writer thread would wait for itself
+        if (Integer.valueOf(stripe).equals(CURRENT_STRIPE.get())) {
+            return command.get();
+        }
+
+        Future<T> future = stripes[stripe].submit(command::get);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new ServiceException(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(String.format("Command for tournament (id '%s') was interrupted", tournamentId));
+        }
+    }
+
+    public void run(Long tournamentId, Runnable command) {
+
+        execute(tournamentId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    //Tournaments of the same stripe share a writer thread, so a command of one of them may work on all of them
+    public int stripeOf(Long tournamentId) {
+        return (int) Math.floorMod(tournamentId, (long) stripes.length);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+}
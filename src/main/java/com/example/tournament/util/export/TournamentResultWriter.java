@@ -0,0 +1,60 @@
+package com.example.tournament.util.export;
+
+import com.example.tournament.dto.response.TournamentResultDto;
+import com.example.tournament.service.MatchService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes a tournament result in the shape of {@link TournamentResultDto} straight to a stream.
+ * Matches are written as they are read from the database, so memory use doesn't depend on the bracket size.
+ * <p>
+ * Matches carry the same fields and stored rounds as in summarize, except previousMatchLabels, which would need
+ * the whole bracket in memory; it is left null and can be rebuilt from nextMatchLabel.
+ */
+@Component
+public class TournamentResultWriter {
+
+    private final ObjectMapper objectMapper;
+
+    private final MatchService matchService;
+
+    @Autowired
+    public TournamentResultWriter(ObjectMapper objectMapper, MatchService matchService) {
+        this.objectMapper = objectMapper;
+        this.matchService = matchService;
+    }
+
+    public void write(TournamentResultDto resultWithoutMatches, OutputStream outputStream) throws IOException {
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+
+            generator.writeStartObject();
+            generator.writeObjectField("tournament", resultWithoutMatches.getTournament());
+
+            generator.writeArrayFieldStart("matches");
+            try {
+                matchService.forEachMatch(resultWithoutMatches.getTournament().getId(), match -> {
+                    try {
+                        generator.writeObject(match);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+
+            generator.writeObjectField("winner", resultWithoutMatches.getWinner());
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.tournament.util.id;
+
+import com.example.tournament.exception.ServiceException;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit ids: 41 bits of milliseconds since 2020-01-01, 10 bits of node id and a 12-bit sequence.
+ * Ids are taken from memory with a compare-and-set, and nodes with distinct node ids never collide.
+ * A burst of more than 4096 ids per millisecond borrows from the following milliseconds, at most
+ * {@value #MAX_LEAD_MILLIS} ms ahead of the clock, which also keeps ids increasing when the clock steps back.
+ * <p>
+ * Ids are above 2^53, the largest integer a JavaScript number holds exactly, so responses carry them as strings.
+ */
+public class TimeOrderedIds {
+
+    public static final int MAX_NODE_ID = 1023;
+
+    private static final long EPOCH_MILLIS = 1577836800000L;
+
+    private static final int SEQUENCE_BITS = 12;
+
+    private static final int NODE_BITS = 10;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final long MAX_LEAD_MILLIS = 1000;
+
+    private final AtomicLong state = new AtomicLong();
+
+    private volatile long nodeId;
+
+    public void setNodeId(int nodeId) {
+
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new ServiceException(String.format("Node id must be between 0 and %s, got '%s'", MAX_NODE_ID, nodeId));
+        }
+        this.nodeId = nodeId;
+    }
+
+    public long next() {
+
+        while (true) {
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            long current = state.get();
+            //State packs the millisecond with the sequence, so one increment rolls over into the next millisecond
+            long next = Math.max(now << SEQUENCE_BITS, current + 1);
+            if ((next >>> SEQUENCE_BITS) - now > MAX_LEAD_MILLIS) {
+                Thread.yield();
+                continue;
+            }
+            if (state.compareAndSet(current, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+                        | nodeId << SEQUENCE_BITS
+                        | next & SEQUENCE_MASK;
+            }
+        }
+    }
+}
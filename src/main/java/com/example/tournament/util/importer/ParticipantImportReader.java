@@ -0,0 +1,198 @@
+package com.example.tournament.util.importer;
+
+import com.example.tournament.exception.ServiceException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads participant names one line at a time, so an upload of any size is never held in memory.
+ * CSV takes the first column of every line and skips an optional "name" header, NDJSON takes the
+ * "name" field of every line. Blank lines are skipped in both formats. An optional rating comes from
+ * the "rating" field, or from the "rating" column when the CSV header names one.
+ */
+public class ParticipantImportReader implements Iterator<ParticipantImportRow> {
+
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private static final int NO_COLUMN = -1;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final BufferedReader reader;
+
+    private final Format format;
+
+    private final ObjectMapper objectMapper;
+
+    private long lineNumber;
+
+    private int ratingColumn = NO_COLUMN;
+
+    private ParticipantImportRow next;
+
+    public ParticipantImportReader(Reader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(reader);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    public static Format formatOf(MediaType contentType) {
+
+        if (TEXT_CSV.includes(contentType)) {
+            return Format.CSV;
+        }
+        if (APPLICATION_NDJSON.includes(contentType)) {
+            return Format.NDJSON;
+        }
+        throw new ServiceException(String.format("Participants can't be imported from '%s'", contentType));
+    }
+
+    @Override
+    public boolean hasNext() {
+
+        while (next == null) {
+            String line = readLine();
+            if (line == null) {
+                return false;
+            }
+            lineNumber++;
+            if (line.trim().isEmpty() || (format == Format.CSV && lineNumber == 1 && isHeader(line))) {
+                continue;
+            }
+            next = format == Format.CSV ? parseCsv(line) : parseNdjson(line);
+        }
+        return true;
+    }
+
+    @Override
+    public ParticipantImportRow next() {
+
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ParticipantImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    private String readLine() {
+
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean isHeader(String line) {
+
+        List<String> columns = columns(line);
+        if (!columns.get(0).equalsIgnoreCase("name")) {
+            return false;
+        }
+        for (int i = 1; i < columns.size(); i++) {
+            if (columns.get(i).equalsIgnoreCase("rating")) {
+                ratingColumn = i;
+            }
+        }
+        return true;
+    }
+
+    private ParticipantImportRow parseCsv(String line) {
+
+        List<String> columns = columns(line);
+        String rating = ratingColumn != NO_COLUMN && ratingColumn < columns.size() ? columns.get(ratingColumn) : "";
+        if (rating.isEmpty()) {
+            return validate(columns.get(0), null);
+        }
+        try {
+            return validate(columns.get(0), Integer.valueOf(rating));
+        } catch (NumberFormatException e) {
+            return rejected(columns.get(0), "Rating is not a whole number");
+        }
+    }
+
+    private ParticipantImportRow parseNdjson(String line) {
+
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            JsonNode name = node.get("name");
+            if (name == null || !name.isTextual()) {
+                return rejected(null, "Line has no name field");
+            }
+            JsonNode rating = node.get("rating");
+            if (rating != null && !rating.isNull() && !rating.canConvertToInt()) {
+                return rejected(name.asText().trim(), "Rating is not a whole number");
+            }
+            return validate(name.asText().trim(), rating == null || rating.isNull() ? null : rating.intValue());
+        } catch (JsonProcessingException e) {
+            return rejected(null, "Line is not a JSON object");
+        }
+    }
+
+    private ParticipantImportRow validate(String name, Integer rating) {
+
+        if (name.isEmpty()) {
+            return rejected(name, "Name is empty");
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            return rejected(name, String.format("Name is longer than %s characters", MAX_NAME_LENGTH));
+        }
+        return ParticipantImportRow.builder()
+                .line(lineNumber)
+                .name(name)
+                .rating(rating)
+                .build();
+    }
+
+    private ParticipantImportRow rejected(String name, String error) {
+        return ParticipantImportRow.builder()
+                .line(lineNumber)
+                .name(name)
+                .error(error)
+                .build();
+    }
+
+    //Double quotes may wrap a column holding commas, "" inside them stands for a quote
+    private static List<String> columns(String line) {
+
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char character = line.charAt(i);
+            if (character == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (character == ',' && !quoted) {
+                columns.add(column.toString().trim());
+                column.setLength(0);
+            } else {
+                column.append(character);
+            }
+        }
+        columns.add(column.toString().trim());
+        return columns;
+    }
+}
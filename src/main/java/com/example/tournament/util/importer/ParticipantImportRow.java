@@ -0,0 +1,18 @@
+package com.example.tournament.util.importer;
+
+import lombok.Builder;
+import lombok.Data;
+
+//A parsed line of an import; error is set when the line can't be turned into a participant name
+@Data
+@Builder
+public class ParticipantImportRow {
+
+    private long line;
+
+    private String name;
+
+    private Integer rating;
+
+    private String error;
+}
@@ -0,0 +1,360 @@
+package com.example.tournament.util.journal;
+
+import com.example.tournament.exception.ServiceException;
+import com.example.tournament.util.version.TournamentVersions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Time;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped journal of match starts and score updates.
+ * <p>
+ * An append returns once its record is on disk; appends arriving while the file is being forced share the
+ * next force (group commit). A background task applies durable records to the matches table in JDBC batches
+ * and checkpoints the applied offset in the file header, so records left behind by a crash are replayed on startup.
+ * Applying is idempotent: starts only touch PENDING matches and scores are absolute values.
+ * <p>
+ * The version of a tournament is bumped again once its records are applied, so a response read from the matches
+ * table before that can't stay cached under the version bumped by the append.
+ */
+@Slf4j
+@Component
+public class MatchJournal {
+
+    private static final int HEADER_SIZE = 16;
+
+    private static final int RECORD_SIZE = 41;
+
+    private static final int CHECKSUM_OFFSET = RECORD_SIZE - 4;
+
+    private static final String START_SQL = "UPDATE matches SET status = 'STARTED', start_time = ?, " +
+            "first_participant_score = 0, second_participant_score = 0 WHERE id = ? AND status = 'PENDING'";
+
+    private static final String SCORE_SQL = "UPDATE matches SET first_participant_score = ?, second_participant_score = ? " +
+            "WHERE id = ? AND status = 'STARTED'";
+
+    private final boolean enabled;
+
+    private final String path;
+
+    private final int size;
+
+    private final long flushIntervalMillis;
+
+    private final int batchSize;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TournamentVersions tournamentVersions;
+
+    private final Object applyLock = new Object();
+
+    private FileChannel channel;
+
+    private MappedByteBuffer buffer;
+
+    private volatile int epoch;
+
+    private long appliedOffset;
+
+    private long writeOffset;
+
+    private long durableOffset;
+
+    private volatile boolean running;
+
+    private Thread syncer;
+
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    public MatchJournal(@Value("${tournament.match-journal.enabled:false}") boolean enabled,
+                        @Value("${tournament.match-journal.path:match-journal.dat}") String path,
+                        @Value("${tournament.match-journal.size:67108864}") int size,
+                        @Value("${tournament.match-journal.flush-interval-ms:100}") long flushIntervalMillis,
+                        @Value("${tournament.match-journal.batch-size:500}") int batchSize,
+                        JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        TournamentVersions tournamentVersions) {
+        this.enabled = enabled;
+        this.path = path;
+        this.size = size;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.batchSize = batchSize;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tournamentVersions = tournamentVersions;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+
+        if (!enabled) {
+            return;
+        }
+
+        channel = FileChannel.open(Paths.get(path),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+        epoch = buffer.getInt(0);
+        appliedOffset = buffer.getLong(8);
+        if (epoch == 0 || appliedOffset < HEADER_SIZE || appliedOffset > size) {
+            epoch = 1;
+            appliedOffset = HEADER_SIZE;
+            writeHeader();
+        }
+
+        writeOffset = appliedOffset;
+        while (writeOffset + RECORD_SIZE <= size && read(writeOffset) != null) {
+            writeOffset += RECORD_SIZE;
+        }
+        durableOffset = writeOffset;
+
+        if (writeOffset > appliedOffset) {
+            log.info("Replaying {} match journal records", (writeOffset - appliedOffset) / RECORD_SIZE);
+        }
+        applyPending();
+
+        running = true;
+        syncer = new Thread(this::syncLoop, "match-journal-sync");
+        syncer.setDaemon(true);
+        syncer.start();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "match-journal-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                applyPending();
+            } catch (RuntimeException e) {
+                log.warn("Match journal flush failed, will retry", e);
+            }
+        }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void append(MatchJournalRecord record) {
+
+        synchronized (this) {
+            if (writeOffset + RECORD_SIZE > size) {
+                drainAndReset();
+            }
+            long offset = writeOffset;
+            ByteBuffer target = buffer.duplicate();
+            target.position((int) offset);
+            target.put(encode(record));
+            writeOffset += RECORD_SIZE;
+            notifyAll();
+
+            while (durableOffset < offset + RECORD_SIZE) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ServiceException("Interrupted while waiting for the match journal");
+                }
+            }
+        }
+    }
+
+    //Makes every appended record durable and applies it to the database before returning
+    public void flush() {
+
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            buffer.force();
+            durableOffset = writeOffset;
+            notifyAll();
+        }
+        applyPending();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        flusher.shutdown();
+        synchronized (this) {
+            notifyAll();
+        }
+        flush();
+        channel.close();
+    }
+
+    private void syncLoop() {
+
+        while (running) {
+            long target;
+            synchronized (this) {
+                while (running && durableOffset == writeOffset) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                target = writeOffset;
+            }
+            buffer.force();
+            synchronized (this) {
+                durableOffset = Math.max(durableOffset, target);
+                notifyAll();
+            }
+        }
+    }
+
+    //Called with the journal monitor held, so nothing can be appended meanwhile
+    private void drainAndReset() {
+
+        buffer.force();
+        durableOffset = writeOffset;
+        applyPending();
+
+        synchronized (applyLock) {
+            epoch++;
+            appliedOffset = HEADER_SIZE;
+            writeOffset = HEADER_SIZE;
+            durableOffset = HEADER_SIZE;
+            writeHeader();
+        }
+    }
+
+    private void applyPending() {
+
+        long target;
+        int targetEpoch;
+        synchronized (this) {
+            target = durableOffset;
+            targetEpoch = epoch;
+        }
+
+        synchronized (applyLock) {
+            if (targetEpoch != epoch) {
+                return;
+            }
+            while (appliedOffset < target) {
+                int count = (int) Math.min(batchSize, (target - appliedOffset) / RECORD_SIZE);
+                List<MatchJournalRecord> records = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    records.add(read(appliedOffset + (long) i * RECORD_SIZE));
+                }
+                transactionTemplate.execute(status -> {
+                    apply(records);
+                    return null;
+                });
+                appliedOffset += (long) count * RECORD_SIZE;
+                writeHeader();
+                records.stream()
+                        .map(MatchJournalRecord::getTournamentId)
+                        .distinct()
+                        .forEach(tournamentVersions::bumpCommitted);
+            }
+        }
+    }
+
+    //Consecutive records of the same type go to the database as one JDBC batch, keeping journal order
+    private void apply(List<MatchJournalRecord> records) {
+
+        int from = 0;
+        while (from < records.size()) {
+            MatchJournalRecord.Type type = records.get(from).getType();
+            int to = from;
+            while (to < records.size() && records.get(to).getType() == type) {
+                to++;
+            }
+            List<Object[]> arguments = new ArrayList<>(to - from);
+            for (MatchJournalRecord record : records.subList(from, to)) {
+                arguments.add(type == MatchJournalRecord.Type.START ?
+                        new Object[]{Time.valueOf(record.getTime()), record.getMatchId()} :
+                        new Object[]{record.getFirstParticipantScore(), record.getSecondParticipantScore(), record.getMatchId()});
+            }
+            jdbcTemplate.batchUpdate(type == MatchJournalRecord.Type.START ? START_SQL : SCORE_SQL, arguments);
+            from = to;
+        }
+    }
+
+    private void writeHeader() {
+
+        buffer.putInt(0, epoch);
+        buffer.putLong(8, appliedOffset);
+        buffer.force();
+    }
+
+    private byte[] encode(MatchJournalRecord record) {
+
+        ByteBuffer bytes = ByteBuffer.allocate(RECORD_SIZE);
+        bytes.put((byte) record.getType().ordinal());
+        bytes.putInt(epoch);
+        bytes.putLong(record.getTournamentId());
+        bytes.putLong(record.getMatchId());
+        bytes.putInt(record.getFirstParticipantScore());
+        bytes.putInt(record.getSecondParticipantScore());
+        bytes.putLong(record.getTime().toNanoOfDay());
+
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes.array(), 0, CHECKSUM_OFFSET);
+        bytes.putInt((int) checksum.getValue());
+        return bytes.array();
+    }
+
+    //Null for torn, stale (previous epoch) or never written records, which mark the end of the journal
+    private MatchJournalRecord read(long offset) {
+
+        byte[] bytes = new byte[RECORD_SIZE];
+        ByteBuffer source = buffer.duplicate();
+        source.position((int) offset);
+        source.get(bytes);
+
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes, 0, CHECKSUM_OFFSET);
+        ByteBuffer record = ByteBuffer.wrap(bytes);
+        if (record.getInt(CHECKSUM_OFFSET) != (int) checksum.getValue() || record.getInt(1) != epoch
+                || record.get(0) >= MatchJournalRecord.Type.values().length) {
+            return null;
+        }
+
+        return MatchJournalRecord.builder()
+                .type(MatchJournalRecord.Type.values()[record.get(0)])
+                .tournamentId(record.getLong(5))
+                .matchId(record.getLong(13))
+                .firstParticipantScore(record.getInt(21))
+                .secondParticipantScore(record.getInt(25))
+                .time(LocalTime.ofNanoOfDay(record.getLong(29)))
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.tournament.util.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class MatchJournalRecord {
+
+    public enum Type {
+        START, SCORE
+    }
+
+    private Type type;
+
+    private Long tournamentId;
+
+    private Long matchId;
+
+    private int firstParticipantScore;
+
+    private int secondParticipantScore;
+
+    private LocalTime time;
+}
@@ -2,6 +2,7 @@ package com.example.tournament.util.mapper;
 
 import com.example.tournament.dto.response.MatchDto;
 import com.example.tournament.model.Match;
+import com.example.tournament.repository.projection.MatchRow;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -16,6 +17,28 @@ public class MatchMapper {
                 .id(match.getId())
                 .label(match.getLabel())
                 .nextMatchLabel(match.getNextMatchLabel())
+                .loserNextMatchLabel(match.getLoserNextMatchLabel())
+                .round(match.getRoundNumber())
+                .slot(match.getSlot())
+                .firstParticipantId(match.getFirstParticipantId())
+                .secondParticipantId(match.getSecondParticipantId())
+                .score(String.format("%s:%s", match.getFirstParticipantScore(), match.getSecondParticipantScore()))
+                .winnerId(match.getWinnerId())
+                .start(match.getStartTime())
+                .finish(match.getFinishTime())
+                .status(match.getStatus())
+                .build();
+    }
+
+    public MatchDto matchRowToDto(MatchRow match) {
+
+        return MatchDto.builder()
+                .id(match.getId())
+                .label(match.getLabel())
+                .nextMatchLabel(match.getNextMatchLabel())
+                .loserNextMatchLabel(match.getLoserNextMatchLabel())
+                .round(match.getRoundNumber())
+                .slot(match.getSlot())
                 .firstParticipantId(match.getFirstParticipantId())
                 .secondParticipantId(match.getSecondParticipantId())
                 .score(String.format("%s:%s", match.getFirstParticipantScore(), match.getSecondParticipantScore()))
@@ -15,6 +15,7 @@ public class ParticipantMapper {
                 .id(participant.getId())
                 .tournamentId(participant.getTournamentId())
                 .name(participant.getName())
+                .rating(participant.getRating())
                 .build();
     }
 
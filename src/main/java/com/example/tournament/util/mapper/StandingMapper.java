@@ -0,0 +1,33 @@
+package com.example.tournament.util.mapper;
+
+import com.example.tournament.dto.response.StandingDto;
+import com.example.tournament.model.Standing;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class StandingMapper {
+
+    public StandingDto standingToDto(Standing standing, int rank) {
+        return StandingDto.builder()
+                .rank(rank)
+                .participantId(standing.getParticipantId())
+                .played(standing.getPlayed())
+                .wins(standing.getWins())
+                .losses(standing.getLosses())
+                .scoreFor(standing.getScoreFor())
+                .scoreAgainst(standing.getScoreAgainst())
+                .build();
+    }
+
+    //Standings are expected in ranking order
+    public List<StandingDto> standingListToDto(List<Standing> standingList) {
+        List<StandingDto> standingDtos = new ArrayList<>(standingList.size());
+        for (int i = 0; i < standingList.size(); i++) {
+            standingDtos.add(standingToDto(standingList.get(i), i + 1));
+        }
+        return standingDtos;
+    }
+}
@@ -2,11 +2,15 @@ package com.example.tournament.util.mapper;
 
 import com.example.tournament.dto.response.TournamentDto;
 import com.example.tournament.model.Tournament;
+import com.example.tournament.model.TournamentFormat;
+import com.example.tournament.repository.projection.TournamentSummary;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static java.util.Objects.isNull;
+
 @Component
 public class TournamentMapper {
 
@@ -17,9 +21,33 @@ public class TournamentMapper {
                 .maxNumberOfParticipants(tournament.getMaxNumberOfParticipants())
                 .numberOfSingleEliminationMatches(tournament.getNumberOfSingleEliminationMatches())
                 .status(tournament.getStatus())
+                .format(tournament.getFormat())
+                .numberOfRounds(tournament.getNumberOfRounds())
+                .seeded(tournament.isSeeded())
+                .build();
+    }
+
+    public TournamentDto tournamentSummaryToDto(TournamentSummary tournamentSummary) {
+        return TournamentDto.builder()
+                .id(tournamentSummary.getId())
+                .title(tournamentSummary.getTitle())
+                .numberOfParticipants((int) tournamentSummary.getNumberOfParticipants())
+                .maxNumberOfParticipants(tournamentSummary.getMaxNumberOfParticipants())
+                .numberOfSingleEliminationMatches(tournamentSummary.getNumberOfSingleEliminationMatches())
+                .status(tournamentSummary.getStatus())
+                .format(isNull(tournamentSummary.getFormat()) ?
+                        TournamentFormat.SINGLE_ELIMINATION : tournamentSummary.getFormat())
+                .numberOfRounds(tournamentSummary.getNumberOfRounds())
+                .seeded(Boolean.TRUE.equals(tournamentSummary.getSeeded()))
                 .build();
     }
 
+    public List<TournamentDto> tournamentSummaryListToDto(List<TournamentSummary> tournamentSummaryList) {
+        return tournamentSummaryList.stream()
+                .map(this::tournamentSummaryToDto)
+                .collect(Collectors.toList());
+    }
+
     public List<TournamentDto> tournamentListToDto(List<Tournament> tournamentList) {
         return tournamentList.stream()
                 .map(this::tournamentToDto)
@@ -0,0 +1,41 @@
+package com.example.tournament.util.page;
+
+import com.example.tournament.dto.response.PageDto;
+import com.example.tournament.exception.ServiceException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination on the id column: a page is the first rows with an id greater than the cursor,
+ * so every page costs the same index range scan, however deep it is.
+ */
+public final class KeysetPages {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private KeysetPages() {
+    }
+
+    public static Pageable firstRows(int pageSize) {
+
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ServiceException(String.format("Page size must be between 1 and %s", MAX_PAGE_SIZE));
+        }
+        return PageRequest.of(0, pageSize);
+    }
+
+    public static <E, D> PageDto<D> toPageDto(Slice<E> slice, Function<E, Long> idGetter,
+                                              Function<List<E>, List<D>> mapper) {
+
+        List<E> rows = slice.getContent();
+        return PageDto.<D>builder()
+                .pageSize(slice.getSize())
+                .nextCursor(slice.hasNext() ? idGetter.apply(rows.get(rows.size() - 1)) : null)
+                .content(mapper.apply(rows))
+                .build();
+    }
+}
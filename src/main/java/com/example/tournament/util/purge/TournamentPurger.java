@@ -0,0 +1,116 @@
+package com.example.tournament.util.purge;
+
+import com.example.tournament.model.TournamentPurge;
+import com.example.tournament.repository.TournamentPurgeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background purge of deleted tournaments too large to delete within a request. The tournament row goes at once,
+ * which hides its participants and matches, while a tombstone keeps track of them until they are deleted in
+ * chunks. Every chunk is a short statement of its own, so locks are held briefly, and tombstones left behind
+ * by a restart are picked up again.
+ */
+@Slf4j
+@Component
+public class TournamentPurger {
+
+    private static final String DELETE_MATCHES_SQL = "DELETE FROM matches WHERE tournament_id = ? LIMIT ?";
+
+    private static final String DELETE_PARTICIPANTS_SQL = "DELETE FROM participants WHERE tournament_id = ? LIMIT ?";
+
+    private static final String DELETE_STANDINGS_SQL = "DELETE FROM standings WHERE tournament_id = ? LIMIT ?";
+
+    private final TournamentPurgeRepository tournamentPurgeRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int threshold;
+
+    private final int chunkSize;
+
+    private final long intervalMillis;
+
+    private ScheduledExecutorService purger;
+
+    @Autowired
+    public TournamentPurger(TournamentPurgeRepository tournamentPurgeRepository, JdbcTemplate jdbcTemplate,
+                            @Value("${tournament.purge.threshold:10000}") int threshold,
+                            @Value("${tournament.purge.chunk-size:5000}") int chunkSize,
+                            @Value("${tournament.purge.interval-ms:1000}") long intervalMillis) {
+        this.tournamentPurgeRepository = tournamentPurgeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+        this.intervalMillis = intervalMillis;
+    }
+
+    //Tournaments of up to the threshold rows of participants and matches are cheap enough to delete with one bulk statement per table
+    public boolean isDeferred(long numberOfRows) {
+        return numberOfRows > threshold;
+    }
+
+    //Joins the caller's transaction, so the tombstone is written together with the tournament deletion
+    public void schedule(Long tournamentId) {
+        tournamentPurgeRepository.save(TournamentPurge.builder()
+                .tournamentId(tournamentId)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @PostConstruct
+    public void start() {
+
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tournament-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(() -> {
+            try {
+                purgePending();
+            } catch (RuntimeException e) {
+                log.warn("Tournament purge failed, will retry", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        purger.shutdownNow();
+    }
+
+    public void purgePending() {
+
+        for (TournamentPurge tournamentPurge : tournamentPurgeRepository.findAll()) {
+            purge(tournamentPurge.getTournamentId());
+        }
+    }
+
+    private void purge(Long tournamentId) {
+
+        long deleted = 0;
+        int matches;
+        int participants;
+        int standings;
+        do {
+            matches = jdbcTemplate.update(DELETE_MATCHES_SQL, tournamentId, chunkSize);
+            participants = jdbcTemplate.update(DELETE_PARTICIPANTS_SQL, tournamentId, chunkSize);
+            standings = jdbcTemplate.update(DELETE_STANDINGS_SQL, tournamentId, chunkSize);
+            deleted += matches + participants + standings;
+        } while (matches > 0 || participants > 0 || standings > 0);
+
+        tournamentPurgeRepository.deleteById(tournamentId);
+        log.info("Purged {} rows of deleted tournament (id '{}')", deleted, tournamentId);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.tournament.util.snapshot;
+
+import com.example.tournament.dto.response.TournamentResultDto;
+import com.example.tournament.exception.ServiceException;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.TournamentResultSnapshot;
+import com.example.tournament.repository.TournamentResultSnapshotRepository;
+import com.example.tournament.util.cache.ByteArrayCache;
+import com.example.tournament.util.transaction.TransactionCallbacks;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Serialized results of completed tournaments. The result of a completed tournament doesn't change,
+ * so the first summary is stored as JSON and later requests get the same bytes, from memory when they fit
+ * the in-memory budget and from the snapshot table otherwise.
+ */
+@Component
+public class TournamentResultSnapshots {
+
+    private final TournamentResultSnapshotRepository snapshotRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final ByteArrayCache cache;
+
+    @Autowired
+    public TournamentResultSnapshots(TournamentResultSnapshotRepository snapshotRepository, ObjectMapper objectMapper,
+                                     @Value("${tournament.result-snapshot.cache-bytes:33554432}") long cacheBytes) {
+        this.snapshotRepository = snapshotRepository;
+        this.objectMapper = objectMapper;
+        this.cache = new ByteArrayCache(cacheBytes);
+    }
+
+    public byte[] findOrCreate(Long tournamentId, Supplier<TournamentResultDto> summarizer) {
+
+        Optional<byte[]> cached = cache.get(tournamentId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Optional<TournamentResultSnapshot> snapshot = snapshotRepository.findById(tournamentId);
+        if (snapshot.isPresent()) {
+            cache.put(tournamentId, snapshot.get().getContent());
+            return snapshot.get().getContent();
+        }
+
+        TournamentResultDto result = summarizer.get();
+        byte[] content = serialize(result);
+        if (result.getTournament().getStatus() == EventStatus.COMPLETED) {
+            snapshotRepository.save(TournamentResultSnapshot.builder()
+                    .tournamentId(tournamentId)
+                    .content(content)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            cache.put(tournamentId, content);
+        }
+        return content;
+    }
+
+    //For the rare changes to a completed tournament, such as removing it or one of its participants
+    public void evict(Long tournamentId) {
+
+        cache.evict(tournamentId);
+        snapshotRepository.deleteByTournamentId(tournamentId);
+        TransactionCallbacks.afterCommit(() -> cache.evict(tournamentId));
+    }
+
+    private byte[] serialize(TournamentResultDto result) {
+
+        try {
+            return objectMapper.writeValueAsBytes(result);
+        } catch (JsonProcessingException e) {
+            throw new ServiceException(String.format("Result of tournament (id '%s') can't be serialized",
+                    result.getTournament().getId()));
+        }
+    }
+}
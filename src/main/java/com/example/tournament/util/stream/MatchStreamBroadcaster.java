@@ -0,0 +1,192 @@
+package com.example.tournament.util.stream;
+
+import com.example.tournament.dto.response.MatchDto;
+import com.example.tournament.dto.response.MatchListDto;
+import com.example.tournament.exception.ServiceException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Pushes match changes to Server-Sent Events subscribers of a tournament.
+ * A change is serialized once and handed to every subscriber; a pool of sender threads drains subscribers that have
+ * pending events, so watchers never cause database queries.
+ * <p>
+ * A subscriber is drained by one task at a time, so a client that stops reading only blocks the sender thread
+ * writing to it. A subscriber whose write has been blocked for longer than the send timeout is dropped on the next
+ * change and completed once its write returns, a reconnecting client starts over from a snapshot.
+ */
+@Component
+public class MatchStreamBroadcaster {
+
+    private final Map<Long, Set<MatchStreamSubscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper;
+
+    private final ThreadPoolExecutor senders;
+
+    private final long timeoutMillis;
+
+    private final int bufferSize;
+
+    private final long sendTimeoutNanos;
+
+    @Autowired
+    public MatchStreamBroadcaster(ObjectMapper objectMapper,
+                                  @Value("${tournament.match-stream.senders:64}") int numberOfSenders,
+                                  @Value("${tournament.match-stream.timeout-ms:1800000}") long timeoutMillis,
+                                  @Value("${tournament.match-stream.buffer-size:256}") int bufferSize,
+                                  @Value("${tournament.match-stream.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        //Threads are only started while subscribers have events to send and stop again once idle
+        senders = new ThreadPoolExecutor(numberOfSenders, numberOfSenders, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "match-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        senders.allowCoreThreadTimeOut(true);
+    }
+
+    //The subscriber is registered before the snapshot is taken, so no change between the two is lost
+    public SseEmitter subscribe(Long tournamentId, Supplier<MatchListDto> snapshot) {
+
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        MatchStreamSubscriber subscriber = new MatchStreamSubscriber(tournamentId, emitter, bufferSize);
+
+        subscribers.compute(tournamentId, (id, tournamentSubscribers) -> {
+            Set<MatchStreamSubscriber> updatedSubscribers = isNull(tournamentSubscribers) ?
+                    ConcurrentHashMap.newKeySet() : tournamentSubscribers;
+            updatedSubscribers.add(subscriber);
+            return updatedSubscribers;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        try {
+            subscriber.offerSnapshot(toJson(snapshot.get()));
+        } catch (RuntimeException e) {
+            unsubscribe(subscriber);
+            throw e;
+        }
+        schedule(subscriber);
+
+        return emitter;
+    }
+
+    public void publish(Long tournamentId, MatchDto match) {
+
+        Set<MatchStreamSubscriber> tournamentSubscribers = subscribers.get(tournamentId);
+        if (isNull(tournamentSubscribers) || tournamentSubscribers.isEmpty()) {
+            return;
+        }
+
+        String json = toJson(match);
+        for (MatchStreamSubscriber subscriber : tournamentSubscribers) {
+            if (subscriber.isStalled(sendTimeoutNanos)) {
+                unsubscribe(subscriber);
+                continue;
+            }
+            subscriber.offer(match.getId(), json);
+            schedule(subscriber);
+        }
+    }
+
+    public int countSubscribers(Long tournamentId) {
+
+        Set<MatchStreamSubscriber> tournamentSubscribers = subscribers.get(tournamentId);
+        return isNull(tournamentSubscribers) ? 0 : tournamentSubscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        senders.shutdownNow();
+        subscribers.values().forEach(tournamentSubscribers ->
+                tournamentSubscribers.forEach(subscriber -> subscriber.getEmitter().complete()));
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void schedule(MatchStreamSubscriber subscriber) {
+
+        if (subscriber.markScheduled()) {
+            senders.execute(() -> send(subscriber));
+        }
+    }
+
+    private void send(MatchStreamSubscriber subscriber) {
+
+        while (true) {
+            List<SseEmitter.SseEventBuilder> events = subscriber.takeEvents();
+            try {
+                for (SseEmitter.SseEventBuilder event : events) {
+                    subscriber.markSending();
+                    subscriber.getEmitter().send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(subscriber);
+                subscriber.getEmitter().completeWithError(e);
+                return;
+            } finally {
+                subscriber.markSent();
+            }
+
+            if (!isSubscribed(subscriber)) {
+                subscriber.getEmitter().complete();
+                return;
+            }
+
+            //Events offered after the last take are picked up here or by the next scheduled run
+            subscriber.markIdle();
+            if (!subscriber.hasEvents() || !subscriber.markScheduled()) {
+                return;
+            }
+        }
+    }
+
+    private boolean isSubscribed(MatchStreamSubscriber subscriber) {
+
+        Set<MatchStreamSubscriber> tournamentSubscribers = subscribers.get(subscriber.getTournamentId());
+        return !isNull(tournamentSubscribers) && tournamentSubscribers.contains(subscriber);
+    }
+
+    private void unsubscribe(MatchStreamSubscriber subscriber) {
+
+        subscribers.computeIfPresent(subscriber.getTournamentId(), (id, tournamentSubscribers) -> {
+            tournamentSubscribers.remove(subscriber);
+            return tournamentSubscribers.isEmpty() ? null : tournamentSubscribers;
+        });
+    }
+
+    private String toJson(Object value) {
+
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new ServiceException(String.format("Can't serialize %s", value));
+        }
+    }
+}
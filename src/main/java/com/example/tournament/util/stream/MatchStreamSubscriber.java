@@ -0,0 +1,123 @@
+package com.example.tournament.util.stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.nonNull;
+
+//Pending updates are coalesced by match id. A subscriber falling too far behind gets a resync event instead
+final class MatchStreamSubscriber {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+
+    static final String MATCH_EVENT = "match";
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final Long tournamentId;
+
+    private final SseEmitter emitter;
+
+    private final int bufferSize;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private volatile boolean sending;
+
+    private volatile long sendStartNanos;
+
+    private Map<Long, String> pendingMatches = new LinkedHashMap<>();
+
+    private String snapshot;
+
+    private boolean resync;
+
+    MatchStreamSubscriber(Long tournamentId, SseEmitter emitter, int bufferSize) {
+        this.tournamentId = tournamentId;
+        this.emitter = emitter;
+        this.bufferSize = bufferSize;
+    }
+
+    Long getTournamentId() {
+        return tournamentId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    synchronized void offerSnapshot(String matches) {
+
+        snapshot = matches;
+    }
+
+    synchronized void offer(Long matchId, String match) {
+
+        if (resync) {
+            return;
+        }
+        //A newer state of the same match replaces the older one and moves to the end
+        pendingMatches.remove(matchId);
+        pendingMatches.put(matchId, match);
+        if (pendingMatches.size() > bufferSize) {
+            pendingMatches.clear();
+            snapshot = null;
+            resync = true;
+        }
+    }
+
+    synchronized List<SseEmitter.SseEventBuilder> takeEvents() {
+
+        if (resync) {
+            resync = false;
+            return Collections.singletonList(SseEmitter.event().name(RESYNC_EVENT).data(""));
+        }
+
+        List<SseEmitter.SseEventBuilder> events = new ArrayList<>(pendingMatches.size() + 1);
+        if (nonNull(snapshot)) {
+            events.add(SseEmitter.event().name(SNAPSHOT_EVENT).data(snapshot, MediaType.APPLICATION_JSON));
+            snapshot = null;
+        }
+        for (Map.Entry<Long, String> match : pendingMatches.entrySet()) {
+            events.add(SseEmitter.event().name(MATCH_EVENT).id(String.valueOf(match.getKey()))
+                    .data(match.getValue(), MediaType.APPLICATION_JSON));
+        }
+        if (!pendingMatches.isEmpty()) {
+            pendingMatches = new LinkedHashMap<>();
+        }
+        return events;
+    }
+
+    synchronized boolean hasEvents() {
+        return resync || nonNull(snapshot) || !pendingMatches.isEmpty();
+    }
+
+    boolean markScheduled() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    void markIdle() {
+        scheduled.set(false);
+    }
+
+    void markSending() {
+        sendStartNanos = System.nanoTime();
+        sending = true;
+    }
+
+    void markSent() {
+        sending = false;
+    }
+
+    //A client that stopped reading keeps its sender blocked in the socket write
+    boolean isStalled(long timeoutNanos) {
+        return sending && System.nanoTime() - sendStartNanos > timeoutNanos;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.tournament.util.version;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+//Answers conditional GETs with 304 before the controller, and so the repositories, are reached
+@Component
+public class TournamentVersionInterceptor implements HandlerInterceptor {
+
+    private final TournamentVersions tournamentVersions;
+
+    @Autowired
+    public TournamentVersionInterceptor(TournamentVersions tournamentVersions) {
+        this.tournamentVersions = tournamentVersions;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (isNull(pathVariables)) {
+            pathVariables = Collections.emptyMap();
+        }
+        String tournamentId = pathVariables.getOrDefault("tournamentId", pathVariables.get("id"));
+
+        String eTag;
+        if (isNull(tournamentId)) {
+            eTag = tournamentVersions.getGlobalETag();
+        } else {
+            try {
+                eTag = tournamentVersions.getETag(Long.valueOf(tournamentId));
+            } catch (NumberFormatException e) {
+                return true;
+            }
+        }
+
+        return !new ServletWebRequest(request, response).checkNotModified(eTag);
+    }
+}
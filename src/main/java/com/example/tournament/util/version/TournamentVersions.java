@@ -0,0 +1,58 @@
+package com.example.tournament.util.version;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.tournament.util.transaction.TransactionCallbacks.afterCommit;
+
+/**
+ * Versions of tournaments and everything that belongs to them, used as strong ETags.
+ * Every change takes the next value of one global counter, so a version is never reused,
+ * and the boot id keeps ETags handed out before a restart from matching.
+ * <p>
+ * Versions are kept in memory, so only a single application node is supported: a change made through another
+ * node would not invalidate the ETags handed out by this one.
+ */
+@Component
+public class TournamentVersions {
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public String getETag(Long tournamentId) {
+        return toETag(versions.getOrDefault(tournamentId, 0L));
+    }
+
+    //Changes whenever any tournament changes
+    public String getGlobalETag() {
+        return toETag(globalVersion.get());
+    }
+
+    //Bumped after commit, so a reader never sees a new version together with old data
+    public void bump(Long tournamentId) {
+
+        afterCommit(() -> bumpCommitted(tournamentId));
+    }
+
+    //For changes committed in a transaction of their own, like match journal records applied in the background
+    public void bumpCommitted(Long tournamentId) {
+
+        versions.merge(tournamentId, globalVersion.incrementAndGet(), Math::max);
+    }
+
+    //For changes that only show up in tournament lists, like a new tournament
+    public void bumpGlobal() {
+
+        afterCommit(globalVersion::incrementAndGet);
+    }
+
+    private String toETag(long version) {
+        return "\"" + bootId + "-" + version + "\"";
+    }
+}
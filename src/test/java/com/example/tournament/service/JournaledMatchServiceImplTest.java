@@ -0,0 +1,127 @@
+package com.example.tournament.service;
+
+import com.example.tournament.dto.form.MatchUpdateForm;
+import com.example.tournament.dto.response.MatchDto;
+import com.example.tournament.exception.ServiceException;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.util.bracket.LiveBracketStore;
+import com.example.tournament.util.journal.MatchJournal;
+import com.example.tournament.util.journal.MatchJournalRecord;
+import com.example.tournament.util.version.TournamentVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JournaledMatchServiceImplTest {
+
+    @Mock
+    private MatchService matchService;
+
+    @Mock
+    private MatchJournal matchJournal;
+
+    @Mock
+    private LiveBracketStore liveBracketStore;
+
+    @Mock
+    private TournamentVersions tournamentVersions;
+
+    @InjectMocks
+    private JournaledMatchServiceImpl journaledMatchService;
+
+    @BeforeEach
+    void setUp() {
+
+        MockitoAnnotations.initMocks(this);
+    }
+
+    private MatchDto liveMatch(EventStatus status) {
+
+        return MatchDto.builder()
+                .id(2l)
+                .label("A")
+                .firstParticipantId(10l)
+                .secondParticipantId(11l)
+                .status(status)
+                .build();
+    }
+
+    @Test
+    public void startMatchWithDisabledJournalTest() {
+
+        journaledMatchService.startMatch(1l, 2l);
+
+        verify(matchService).startMatch(1l, 2l);
+        verify(matchJournal, never()).append(any());
+    }
+
+    @Test
+    public void startMatchJournaledTest() {
+
+        when(matchJournal.isEnabled()).thenReturn(true);
+        when(liveBracketStore.findMatch(1l, 2l)).thenReturn(Optional.of(liveMatch(EventStatus.PENDING)));
+
+        journaledMatchService.startMatch(1l, 2l);
+
+        verify(matchJournal).append(argThat(record -> record.getType() == MatchJournalRecord.Type.START
+                && record.getMatchId().equals(2l)));
+        verify(liveBracketStore).start(eq(1l), eq(2l), any());
+        verify(matchService, never()).startMatch(anyLong(), anyLong());
+    }
+
+    @Test
+    public void startAlreadyStartedMatchJournaledTest() {
+
+        when(matchJournal.isEnabled()).thenReturn(true);
+        when(liveBracketStore.findMatch(1l, 2l)).thenReturn(Optional.of(liveMatch(EventStatus.STARTED)));
+
+        assertThrows(ServiceException.class, () -> journaledMatchService.startMatch(1l, 2l));
+        verify(matchJournal, never()).append(any());
+    }
+
+    @Test
+    public void updateMatchJournaledTest() {
+
+        when(matchJournal.isEnabled()).thenReturn(true);
+        when(liveBracketStore.findMatch(1l, 2l)).thenReturn(Optional.of(liveMatch(EventStatus.STARTED)));
+
+        journaledMatchService.updateMatch(1l, 2l, MatchUpdateForm.builder()
+                .firstParticipantScore(3)
+                .secondParticipantScore(1)
+                .build());
+
+        verify(matchJournal).append(argThat(record -> record.getType() == MatchJournalRecord.Type.SCORE
+                && record.getFirstParticipantScore() == 3 && record.getSecondParticipantScore() == 1));
+        verify(liveBracketStore).updateScores(1l, 2l, 3, 1);
+    }
+
+    @Test
+    public void finishMatchIsNotJournaledTest() {
+
+        when(matchJournal.isEnabled()).thenReturn(true);
+        when(liveBracketStore.findMatch(1l, 2l)).thenReturn(Optional.of(liveMatch(EventStatus.STARTED)));
+        MatchUpdateForm matchUpdateForm = MatchUpdateForm.builder()
+                .firstParticipantScore(3)
+                .secondParticipantScore(1)
+                .finished(true)
+                .build();
+
+        journaledMatchService.updateMatch(1l, 2l, matchUpdateForm);
+
+        verify(matchService).updateMatch(1l, 2l, matchUpdateForm);
+        verify(matchJournal, never()).append(any());
+    }
+}
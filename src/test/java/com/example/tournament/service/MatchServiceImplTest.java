@@ -1,13 +1,24 @@
 package com.example.tournament.service;
 
+import com.example.tournament.dto.form.MatchBatchUpdateForm;
+import com.example.tournament.dto.form.MatchBatchUpdateItemForm;
 import com.example.tournament.dto.form.MatchUpdateForm;
+import com.example.tournament.dto.response.MatchDto;
+import com.example.tournament.dto.response.MatchUpdateResultDto;
 import com.example.tournament.exception.ServiceException;
 import com.example.tournament.model.EventStatus;
 import com.example.tournament.model.Match;
 import com.example.tournament.model.Participant;
 import com.example.tournament.model.Tournament;
+import com.example.tournament.model.TournamentFormat;
+import com.example.tournament.repository.MatchBatchRepository;
 import com.example.tournament.repository.MatchRepository;
+import com.example.tournament.repository.projection.MatchRow;
+import com.example.tournament.util.bracket.DoubleEliminationBracketGenerator;
+import com.example.tournament.util.bracket.LiveBracketStore;
+import com.example.tournament.util.journal.MatchJournal;
 import com.example.tournament.util.mapper.MatchMapper;
+import com.example.tournament.util.version.TournamentVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -16,15 +27,31 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -40,9 +67,24 @@ public class MatchServiceImplTest {
     @Mock
     private MatchMapper matchMapper;
 
+    @Mock
+    private LiveBracketStore liveBracketStore;
+
+    @Mock
+    private MatchJournal matchJournal;
+
     @Captor
     private ArgumentCaptor<List<Match>> matchListArgumentCaptor;
 
+    @Mock
+    private TournamentVersions tournamentVersions;
+
+    @Mock
+    private MatchBatchRepository matchBatchRepository;
+
+    @Mock
+    private StandingService standingService;
+
     @InjectMocks
     private MatchServiceImpl matchService;
 
@@ -50,6 +92,8 @@ public class MatchServiceImplTest {
     void setUp() {
 
         MockitoAnnotations.initMocks(this);
+        when(dataHelperService.findTournamentByIdOrThrowException(any()))
+                .thenReturn(Tournament.builder().id(1l).status(EventStatus.STARTED).build());
     }
 
     @Test
@@ -61,6 +105,95 @@ public class MatchServiceImplTest {
         verify(matchRepository, times(1)).findAllByTournamentId(tournamentId);
     }
 
+    @Test
+    public void findAllByTournament_LiveBracketTest() {
+
+        Long tournamentId = 1l;
+        List<MatchDto> liveMatches = Collections.singletonList(MatchDto.builder().label("A").build());
+
+        when(liveBracketStore.findMatches(tournamentId)).thenReturn(Optional.of(liveMatches));
+
+        assertEquals(liveMatches, matchService.findMatchListByTournamentId(tournamentId).getMatches());
+        verify(dataHelperService, never()).findTournamentByIdOrThrowException(tournamentId);
+        verify(matchRepository, never()).findAllByTournamentId(tournamentId);
+    }
+
+    @Test
+    public void findAllByTournament_PreviousMatchLabelsTest() {
+
+        Long tournamentId = 1l;
+
+        when(matchRepository.findAllByTournamentId(tournamentId))
+                .thenReturn(Arrays.asList(
+                        Match.builder().label("A").nextMatchLabel("D").build(),
+                        Match.builder().label("B").nextMatchLabel("E").build(),
+                        Match.builder().label("C").nextMatchLabel("E").build(),
+                        Match.builder().label("D").nextMatchLabel("F").build(),
+                        Match.builder().label("E").nextMatchLabel("F").build(),
+                        Match.builder().label("F").build()));
+
+        when(matchMapper.matchListToDto(anyList()))
+                .thenAnswer(invocation -> new MatchMapper().matchListToDto(invocation.getArgument(0)));
+
+        List<MatchDto> matches = matchService.findMatchListByTournamentId(tournamentId).getMatches();
+
+        assertEquals(Collections.emptyList(), matches.get(0).getPreviousMatchLabels());
+        assertEquals(Arrays.asList("A"), matches.get(3).getPreviousMatchLabels());
+        assertEquals(Arrays.asList("B", "C"), matches.get(4).getPreviousMatchLabels());
+        assertEquals(Arrays.asList("D", "E"), matches.get(5).getPreviousMatchLabels());
+
+        assertEquals(1, matches.get(0).getRound());
+        assertEquals(2, matches.get(3).getRound());
+        assertEquals(2, matches.get(4).getRound());
+        assertEquals(3, matches.get(5).getRound());
+    }
+
+    @Test
+    public void findAllByTournament_SwissRoundsTest() {
+
+        Long tournamentId = 1l;
+        when(dataHelperService.findTournamentByIdOrThrowException(tournamentId)).thenReturn(Tournament.builder()
+                .id(tournamentId)
+                .format(TournamentFormat.SWISS)
+                .status(EventStatus.STARTED)
+                .build());
+        List<MatchRow> rows = Arrays.asList(matchRow(1), matchRow(1), matchRow(2), matchRow(2));
+        when(matchRepository.streamByTournamentIdOrderByIdAsc(tournamentId)).thenReturn(rows.stream());
+        when(matchMapper.matchRowToDto(any())).thenAnswer(invocation -> new MatchMapper().matchRowToDto(invocation.getArgument(0)));
+
+        List<MatchDto> matches = matchService.findMatchListByTournamentId(tournamentId).getMatches();
+
+        assertEquals(Arrays.asList(1, 1, 2, 2), matches.stream()
+                .map(MatchDto::getRound)
+                .collect(Collectors.toList()));
+        assertEquals(Collections.emptyList(), matches.get(2).getPreviousMatchLabels());
+        verify(liveBracketStore, never()).load(anyLong(), anyLong(), anyList());
+        //Rows are streamed, the matches are never held as entities
+        verify(matchRepository, never()).findAllByTournamentId(tournamentId);
+    }
+
+    @Test
+    public void findAllByTournament_DoubleEliminationRoundsTest() {
+
+        Long tournamentId = 1l;
+        Participant[] positions = new Participant[4];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = Participant.builder().id(i + 1l).build();
+        }
+        List<Match> bracket = DoubleEliminationBracketGenerator.generate(tournamentId, positions);
+
+        when(matchRepository.findAllByTournamentId(tournamentId)).thenReturn(bracket);
+        when(matchMapper.matchListToDto(anyList()))
+                .thenAnswer(invocation -> new MatchMapper().matchListToDto(invocation.getArgument(0)));
+
+        List<MatchDto> matches = matchService.findMatchListByTournamentId(tournamentId).getMatches();
+
+        //The losers bracket and the grand final keep their stored rounds instead of being counted back on their own
+        assertEquals(Arrays.asList(1, 1, 2, 3, 4, 5), matches.stream()
+                .map(MatchDto::getRound)
+                .collect(Collectors.toList()));
+    }
+
 
     @Test
     public void startTest_ExceptionFlow() {
@@ -104,10 +237,35 @@ public class MatchServiceImplTest {
         when(dataHelperService.findMatchByIdOrThrowException(matchId))
                 .thenReturn(match);
 
+        when(matchRepository.startIfPending(eq(matchId), any(LocalTime.class)))
+                .thenReturn(1);
+
         matchService.startMatch(tournamentId, matchId);
 
         verify(dataHelperService, times(1)).findMatchByIdOrThrowException(matchId);
-        verify(matchRepository, times((1))).save(any(Match.class));
+        verify(matchRepository, times((1))).startIfPending(eq(matchId), any(LocalTime.class));
+    }
+
+    @Test
+    public void startTest_AlreadyStartedConcurrentlyFlow() {
+
+        Long tournamentId = 1l;
+        Long matchId = 1l;
+
+        when(dataHelperService.findMatchByIdOrThrowException(matchId))
+                .thenReturn(Match.builder()
+                        .id(matchId)
+                        .tournamentId(tournamentId)
+                        .firstParticipantId(1l)
+                        .secondParticipantId(2l)
+                        .status(EventStatus.PENDING)
+                        .build());
+
+        when(matchRepository.startIfPending(eq(matchId), any(LocalTime.class)))
+                .thenReturn(0);
+
+        Exception exception = assertThrows(ServiceException.class, () -> matchService.startMatch(tournamentId, matchId));
+        assertEquals(String.format("Match (id '%s') has been already started", matchId), exception.getMessage());
     }
 
     @Test
@@ -132,10 +290,13 @@ public class MatchServiceImplTest {
         when(dataHelperService.findMatchByIdOrThrowException(matchId))
                 .thenReturn(matchFromDb);
 
+        when(matchRepository.updateScoresIfStarted(matchId, 1, 0))
+                .thenReturn(1);
+
         matchService.updateMatch(tournamentId, matchId, matchUpdateForm);
 
         verify(dataHelperService, times(1)).findMatchByIdOrThrowException(matchId);
-        verify(matchRepository, times((1))).save(any(Match.class));
+        verify(matchRepository, times((1))).updateScoresIfStarted(matchId, 1, 0);
     }
 
     @Test
@@ -143,7 +304,7 @@ public class MatchServiceImplTest {
 
         Long tournamentId = 1l;
         Long matchId = 1l;
-        Character nextMatchLabel = 'C';
+        String nextMatchLabel = "C";
 
         MatchUpdateForm matchUpdateForm = MatchUpdateForm.builder()
                 .firstParticipantScore(2)
@@ -154,16 +315,18 @@ public class MatchServiceImplTest {
         Match matchFromDb = Match.builder()
                 .id(matchId)
                 .tournamentId(tournamentId)
+                .slot(1)
                 .firstParticipantId(1l)
                 .secondParticipantId(2l)
                 .nextMatchLabel(nextMatchLabel)
                 .status(EventStatus.STARTED)
                 .build();
 
-        when(matchRepository.findAllByTournamentId(tournamentId))
-                .thenReturn(Arrays.asList(Match.builder()
-                        .label(nextMatchLabel)
-                        .build()));
+        when(matchRepository.finishIfUncompleted(eq(matchId), eq(2), eq(3), eq(2l), any(LocalTime.class)))
+                .thenReturn(1);
+
+        when(matchRepository.advanceToSecondSeat(tournamentId, nextMatchLabel, 2l))
+                .thenReturn(1);
 
         when(dataHelperService.findMatchByIdOrThrowException(matchId))
                 .thenReturn(matchFromDb);
@@ -171,8 +334,198 @@ public class MatchServiceImplTest {
         matchService.updateMatch(tournamentId, matchId, matchUpdateForm);
 
         verify(dataHelperService, times(1)).findMatchByIdOrThrowException(matchId);
-        verify(matchRepository, times((2))).save(any(Match.class));
-        verify(matchRepository, times(1)).findAllByTournamentId(tournamentId);
+        verify(matchRepository, times(1)).finishIfUncompleted(eq(matchId), eq(2), eq(3), eq(2l), any(LocalTime.class));
+        verify(matchRepository, times(1)).advanceToSecondSeat(tournamentId, nextMatchLabel, 2l);
+        verify(matchRepository, never()).save(any(Match.class));
+        verify(matchRepository, never()).findAllByTournamentId(tournamentId);
+    }
+
+    @Test
+    public void updateTest_GetWinnerWithoutSlotFlow() {
+
+        Long tournamentId = 1l;
+        Long matchId = 1l;
+        String nextMatchLabel = "C";
+
+        MatchUpdateForm matchUpdateForm = MatchUpdateForm.builder()
+                .firstParticipantScore(2)
+                .secondParticipantScore(3)
+                .finished(true)
+                .build();
+
+        Match matchFromDb = Match.builder()
+                .id(matchId)
+                .tournamentId(tournamentId)
+                .firstParticipantId(1l)
+                .secondParticipantId(2l)
+                .nextMatchLabel(nextMatchLabel)
+                .status(EventStatus.STARTED)
+                .build();
+
+        when(matchRepository.advanceToFirstSeat(tournamentId, nextMatchLabel, 2l)).thenReturn(0);
+        when(matchRepository.advanceToSecondSeat(tournamentId, nextMatchLabel, 2l)).thenReturn(1);
+
+        when(matchRepository.finishIfUncompleted(eq(matchId), eq(2), eq(3), eq(2l), any(LocalTime.class)))
+                .thenReturn(1);
+
+        when(dataHelperService.findMatchByIdOrThrowException(matchId))
+                .thenReturn(matchFromDb);
+
+        matchService.updateMatch(tournamentId, matchId, matchUpdateForm);
+
+        verify(dataHelperService, times(1)).findMatchByIdOrThrowException(matchId);
+        verify(matchRepository, times(1)).advanceToFirstSeat(tournamentId, nextMatchLabel, 2l);
+        verify(matchRepository, times(1)).advanceToSecondSeat(tournamentId, nextMatchLabel, 2l);
+        verify(matchRepository, never()).findByTournamentIdAndLabel(tournamentId, nextMatchLabel);
+    }
+
+    @Test
+    public void updateTest_LoserDropsToLosersBracketFlow() {
+
+        Long tournamentId = 1l;
+        Long matchId = 1l;
+
+        MatchUpdateForm matchUpdateForm = MatchUpdateForm.builder()
+                .firstParticipantScore(3)
+                .secondParticipantScore(1)
+                .finished(true)
+                .build();
+
+        Match matchFromDb = Match.builder()
+                .id(matchId)
+                .tournamentId(tournamentId)
+                .slot(1)
+                .firstParticipantId(1l)
+                .secondParticipantId(2l)
+                .nextMatchLabel("E")
+                .loserNextMatchLabel("H")
+                .status(EventStatus.STARTED)
+                .build();
+
+        when(dataHelperService.findMatchByIdOrThrowException(matchId)).thenReturn(matchFromDb);
+        when(matchRepository.finishIfUncompleted(eq(matchId), eq(3), eq(1), eq(1l), any(LocalTime.class)))
+                .thenReturn(1);
+        when(matchRepository.advanceToSecondSeat(tournamentId, "E", 1l)).thenReturn(1);
+        when(matchRepository.advanceToFirstSeat(tournamentId, "H", 2l)).thenReturn(1);
+
+        matchService.updateMatch(tournamentId, matchId, matchUpdateForm);
+
+        verify(matchRepository, times(1)).advanceToSecondSeat(tournamentId, "E", 1l);
+        verify(matchRepository, times(1)).advanceToFirstSeat(tournamentId, "H", 2l);
+        verify(matchRepository, never()).findAllByTournamentId(tournamentId);
+    }
+
+    @Test
+    public void updateTest_NextMatchSeatTakenFlow() {
+
+        Long tournamentId = 1l;
+        Long matchId = 1l;
+
+        MatchUpdateForm matchUpdateForm = MatchUpdateForm.builder()
+                .firstParticipantScore(3)
+                .secondParticipantScore(2)
+                .finished(true)
+                .build();
+
+        when(dataHelperService.findMatchByIdOrThrowException(matchId))
+                .thenReturn(Match.builder()
+                        .id(matchId)
+                        .tournamentId(tournamentId)
+                        .slot(0)
+                        .firstParticipantId(1l)
+                        .secondParticipantId(2l)
+                        .nextMatchLabel("C")
+                        .status(EventStatus.STARTED)
+                        .build());
+
+        when(matchRepository.finishIfUncompleted(eq(matchId), eq(3), eq(2), eq(1l), any(LocalTime.class)))
+                .thenReturn(1);
+
+        assertThrows(ServiceException.class, () -> matchService.updateMatch(tournamentId, matchId, matchUpdateForm));
+        verify(matchRepository, never()).save(any(Match.class));
+    }
+
+    @Test
+    public void updateTest_FinishedConcurrentlyFlow() {
+
+        Long tournamentId = 1l;
+        Long matchId = 1l;
+
+        MatchUpdateForm matchUpdateForm = MatchUpdateForm.builder()
+                .firstParticipantScore(3)
+                .secondParticipantScore(2)
+                .finished(true)
+                .build();
+
+        when(dataHelperService.findMatchByIdOrThrowException(matchId))
+                .thenReturn(Match.builder()
+                        .id(matchId)
+                        .tournamentId(tournamentId)
+                        .slot(0)
+                        .firstParticipantId(1l)
+                        .secondParticipantId(2l)
+                        .nextMatchLabel("C")
+                        .status(EventStatus.STARTED)
+                        .build());
+
+        when(matchRepository.finishIfUncompleted(eq(matchId), eq(3), eq(2), eq(1l), any(LocalTime.class)))
+                .thenReturn(0);
+
+        Exception exception = assertThrows(ServiceException.class,
+                () -> matchService.updateMatch(tournamentId, matchId, matchUpdateForm));
+        assertEquals(String.format("Match (id '%s') has been already finished", matchId), exception.getMessage());
+        verify(matchRepository, never()).advanceToFirstSeat(any(), any(), any());
+    }
+
+    @Test
+    public void updateMatchesTest() {
+
+        Long tournamentId = 1l;
+
+        Match firstSemifinal = Match.builder()
+                .id(1l).tournamentId(tournamentId).label("A").roundNumber(1).slot(0).nextMatchLabel("C")
+                .firstParticipantId(1l).secondParticipantId(2l).status(EventStatus.STARTED).build();
+        Match secondSemifinal = Match.builder()
+                .id(2l).tournamentId(tournamentId).label("B").roundNumber(1).slot(1).nextMatchLabel("C")
+                .firstParticipantId(3l).secondParticipantId(4l).status(EventStatus.STARTED).build();
+        Match finalMatch = Match.builder()
+                .id(3l).tournamentId(tournamentId).label("C").roundNumber(2).slot(0)
+                .status(EventStatus.PENDING).build();
+
+        when(matchRepository.findAllById(any()))
+                .thenReturn(Arrays.asList(firstSemifinal, secondSemifinal, finalMatch));
+
+        when(matchMapper.matchToDto(any(Match.class)))
+                .thenAnswer(invocation -> new MatchMapper().matchToDto(invocation.getArgument(0)));
+
+        MatchBatchUpdateForm matchBatchUpdateForm = MatchBatchUpdateForm.builder()
+                .updates(Arrays.asList(
+                        MatchBatchUpdateItemForm.builder().matchId(3l)
+                                .matchUpdate(MatchUpdateForm.builder().build()).build(),
+                        MatchBatchUpdateItemForm.builder().matchId(2l)
+                                .matchUpdate(MatchUpdateForm.builder().firstParticipantScore(1).finished(true).build()).build(),
+                        MatchBatchUpdateItemForm.builder().matchId(1l)
+                                .matchUpdate(MatchUpdateForm.builder().secondParticipantScore(1).finished(true).build()).build()))
+                .build();
+
+        List<MatchUpdateResultDto> results = matchService.updateMatches(tournamentId, matchBatchUpdateForm).getResults();
+
+        assertEquals(3, results.size());
+        assertFalse(results.get(0).isUpdated());
+        assertEquals(String.format("Match (id '%s') hasn't been started", 3l), results.get(0).getError());
+        assertTrue(results.get(1).isUpdated());
+        assertEquals(3l, results.get(1).getMatch().getWinnerId());
+        assertTrue(results.get(2).isUpdated());
+        assertEquals(2l, results.get(2).getMatch().getWinnerId());
+
+        verify(matchRepository, times(1)).saveAll(matchListArgumentCaptor.capture());
+        Match savedFinal = matchListArgumentCaptor.getValue().stream()
+                .filter(match -> match.getId().equals(3l))
+                .findFirst().get();
+        assertEquals(2l, savedFinal.getFirstParticipantId());
+        assertEquals(3l, savedFinal.getSecondParticipantId());
+        verify(matchRepository, never()).advanceToFirstSeat(any(), any(), any());
+        verify(matchRepository, never()).advanceToSecondSeat(any(), any(), any());
     }
 
     @Test
@@ -183,6 +536,26 @@ public class MatchServiceImplTest {
         verify(matchRepository, times(1)).deleteAllByTournamentId(tournamentId);
     }
 
+    @Test
+    public void findUncompletedMatchByParticipantIdTest() {
+
+        Long tournamentId = 1l;
+        Long participantId = 2l;
+        Match match = Match.builder()
+                .id(1l)
+                .tournamentId(tournamentId)
+                .secondParticipantId(participantId)
+                .status(EventStatus.PENDING)
+                .build();
+
+        when(matchRepository.findByTournamentIdAndSecondParticipantIdAndStatusNot(tournamentId, participantId,
+                EventStatus.COMPLETED)).thenReturn(Collections.singletonList(match));
+
+        assertEquals(Optional.of(match), matchService.findUncompletedMatchByParticipantId(tournamentId, participantId));
+        verify(matchRepository, times(1)).findByTournamentIdAndFirstParticipantIdAndStatusNot(tournamentId,
+                participantId, EventStatus.COMPLETED);
+    }
+
     @Test
     public void disqualifyParticipantById() {
 
@@ -194,8 +567,90 @@ public class MatchServiceImplTest {
                 .secondParticipantId(winnerId)
                 .build();
 
+        when(matchRepository.finishIfUncompleted(any(), anyInt(), anyInt(), eq(winnerId), any(LocalTime.class)))
+                .thenReturn(1);
+
         matchService.disqualifyParticipantById(match, participantToDisqualifyId);
-        verify(matchRepository, times(1)).save(any(Match.class));
+        verify(matchRepository, times(1)).finishIfUncompleted(any(), anyInt(), anyInt(), eq(winnerId), any(LocalTime.class));
+    }
+
+    @Test
+    public void disqualifyParticipantById_SeatedParticipantGetsByeTest() {
+
+        Long tournamentId = 1l;
+
+        Match match = Match.builder()
+                .id(1l)
+                .tournamentId(tournamentId)
+                .slot(1)
+                .firstParticipantId(1l)
+                .secondParticipantId(2l)
+                .nextMatchLabel("E")
+                .loserNextMatchLabel("H")
+                .status(EventStatus.STARTED)
+                .build();
+
+        Match losersBracketMatch = Match.builder()
+                .id(8l)
+                .tournamentId(tournamentId)
+                .label("H")
+                .firstParticipantId(5l)
+                .nextMatchLabel("K")
+                .status(EventStatus.PENDING)
+                .build();
+
+        when(matchRepository.finishIfUncompleted(eq(1l), anyInt(), anyInt(), eq(1l), any(LocalTime.class))).thenReturn(1);
+        when(matchRepository.finishIfUncompleted(eq(8l), anyInt(), anyInt(), eq(5l), any(LocalTime.class))).thenReturn(1);
+        when(matchRepository.advanceToSecondSeat(tournamentId, "E", 1l)).thenReturn(1);
+        when(matchRepository.findByTournamentIdAndLabel(tournamentId, "H")).thenReturn(Optional.of(losersBracketMatch));
+        when(matchRepository.advanceToFirstSeat(tournamentId, "K", 5l)).thenReturn(1);
+
+        matchService.disqualifyParticipantById(match, 2l);
+
+        verify(matchRepository, never()).advanceToFirstSeat(tournamentId, "H", 2l);
+        verify(matchRepository, never()).advanceToSecondSeat(tournamentId, "H", 2l);
+        verify(matchRepository, times(1)).finishIfUncompleted(eq(8l), anyInt(), anyInt(), eq(5l), any(LocalTime.class));
+        verify(matchRepository, times(1)).advanceToFirstSeat(tournamentId, "K", 5l);
+        verify(liveBracketStore, never()).advanceLoser(any());
+    }
+
+    @Test
+    public void disqualifyParticipantById_EmptyMatchIsLeftOutTest() {
+
+        Long tournamentId = 1l;
+
+        Match match = Match.builder()
+                .id(1l)
+                .tournamentId(tournamentId)
+                .slot(1)
+                .firstParticipantId(1l)
+                .secondParticipantId(2l)
+                .nextMatchLabel("E")
+                .loserNextMatchLabel("H")
+                .status(EventStatus.STARTED)
+                .build();
+
+        Match losersBracketMatch = Match.builder()
+                .id(8l)
+                .tournamentId(tournamentId)
+                .label("H")
+                .nextMatchLabel("K")
+                .status(EventStatus.PENDING)
+                .build();
+
+        when(matchRepository.finishIfUncompleted(eq(1l), anyInt(), anyInt(), eq(1l), any(LocalTime.class))).thenReturn(1);
+        when(matchRepository.advanceToSecondSeat(tournamentId, "E", 1l)).thenReturn(1);
+        when(matchRepository.findByTournamentIdAndLabel(tournamentId, "H")).thenReturn(Optional.of(losersBracketMatch));
+        when(matchRepository.redirectLosers(tournamentId, "H", "K")).thenReturn(1);
+
+        matchService.disqualifyParticipantById(match, 2l);
+
+        verify(matchRepository, never()).advanceToFirstSeat(tournamentId, "H", 2l);
+        verify(matchRepository, times(1)).finishIfUncompleted(eq(8l), anyInt(), anyInt(), eq(null), any(LocalTime.class));
+        verify(matchRepository, times(1)).redirectWinners(tournamentId, "H", "K");
+        verify(matchRepository, times(1)).redirectLosers(tournamentId, "H", "K");
+        verify(matchRepository, never()).findByTournamentIdAndLabel(tournamentId, "K");
+        verify(liveBracketStore, times(1)).evict(tournamentId);
     }
 
     @Test
@@ -218,12 +673,12 @@ public class MatchServiceImplTest {
                 .build();
 
         List<Match> expectedMatches = Arrays.asList(
-                Match.builder().label('A').nextMatchLabel('D').build(),
-                Match.builder().label('B').nextMatchLabel('E').build(),
-                Match.builder().label('C').nextMatchLabel('E').build(),
-                Match.builder().label('D').nextMatchLabel('F').build(),
-                Match.builder().label('E').nextMatchLabel('F').build(),
-                Match.builder().label('F').build()
+                Match.builder().label("A").nextMatchLabel("D").build(),
+                Match.builder().label("B").nextMatchLabel("E").build(),
+                Match.builder().label("C").nextMatchLabel("E").build(),
+                Match.builder().label("D").nextMatchLabel("F").build(),
+                Match.builder().label("E").nextMatchLabel("F").build(),
+                Match.builder().label("F").build()
         );
 
         when(matchRepository.saveAll(matchListArgumentCaptor.capture())).thenReturn(new ArrayList<>());
@@ -231,7 +686,7 @@ public class MatchServiceImplTest {
         matchService.generateMatches(participants, tournament);
 
         List<Match> matches = matchListArgumentCaptor.getValue();
-        matches.sort(Comparator.comparingInt(Match::getLabel));
+        matches.sort(Comparator.comparing(Match::getLabel));
 
         for (int i = 0; i < tournament.getNumberOfSingleEliminationMatches(); i++) {
             assertEquals(expectedMatches.get(i).getLabel(), matches.get(i).getLabel());
@@ -239,4 +694,118 @@ public class MatchServiceImplTest {
         }
 
     }
+
+    @Test
+    public void generateMatches_RoundRobinTest() {
+
+        int numberOfParticipants = 101;
+        List<Participant> participants = new ArrayList<>(numberOfParticipants);
+        for (long id = 1; id <= numberOfParticipants; id++) {
+            participants.add(Participant.builder().id(id).build());
+        }
+
+        Tournament tournament = Tournament.builder()
+                .id(1l)
+                .format(TournamentFormat.ROUND_ROBIN)
+                .build();
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        doAnswer(invocation -> chunkSizes.add(invocation.<List<Match>>getArgument(0).size()))
+                .when(matchBatchRepository).insertAll(anyList());
+
+        matchService.generateMatches(participants, tournament);
+
+        assertEquals(numberOfParticipants * (numberOfParticipants - 1) / 2,
+                chunkSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(chunkSizes.stream().allMatch(size -> size <= 1000 + numberOfParticipants / 2));
+        verify(matchRepository, never()).saveAll(anyList());
+        verify(liveBracketStore, never()).load(any(), anyLong(), anyList());
+    }
+
+    @Test
+    public void generateSwissRoundTest() {
+
+        Tournament tournament = Tournament.builder()
+                .id(1l)
+                .format(TournamentFormat.SWISS)
+                .numberOfRounds(2)
+                .build();
+        List<Participant> participants = Arrays.asList(Participant.builder().id(1l).build(),
+                Participant.builder().id(2l).build(), Participant.builder().id(3l).build());
+
+        List<MatchRow> results = Arrays.asList(matchRow(1l, 2l, 1l), matchRow(3l, null, 3l));
+        when(matchRepository.findRowsByTournamentId(1l)).thenReturn(results);
+
+        matchService.generateSwissRound(tournament, participants);
+
+        verify(matchBatchRepository, times(1)).insertAll(matchListArgumentCaptor.capture());
+        List<Match> matches = matchListArgumentCaptor.getValue();
+        assertEquals(2, matches.size());
+        assertEquals("C", matches.get(0).getLabel());
+        assertEquals(2, matches.get(0).getRoundNumber());
+        assertEquals(1l, matches.get(0).getFirstParticipantId());
+        assertEquals(3l, matches.get(0).getSecondParticipantId());
+        assertEquals(2l, matches.get(1).getWinnerId());
+        assertEquals(EventStatus.COMPLETED, matches.get(1).getStatus());
+        verify(standingService, times(1)).recordResult(matches.get(1));
+    }
+
+    private MatchRow matchRow(int roundNumber) {
+
+        MatchRow matchRow = mock(MatchRow.class);
+        when(matchRow.getRoundNumber()).thenReturn(roundNumber);
+        return matchRow;
+    }
+
+    private MatchRow matchRow(Long firstParticipantId, Long secondParticipantId, Long winnerId) {
+
+        MatchRow matchRow = mock(MatchRow.class);
+        when(matchRow.getRoundNumber()).thenReturn(1);
+        when(matchRow.getFirstParticipantId()).thenReturn(firstParticipantId);
+        when(matchRow.getSecondParticipantId()).thenReturn(secondParticipantId);
+        when(matchRow.getWinnerId()).thenReturn(winnerId);
+        return matchRow;
+    }
+
+    @Test
+    public void generateMatches_LargeBracketTest() {
+
+        int numberOfParticipants = 100_003;
+        List<Participant> participants = new ArrayList<>(numberOfParticipants);
+        for (long id = 1; id <= numberOfParticipants; id++) {
+            participants.add(Participant.builder().id(id).build());
+        }
+
+        Tournament tournament = Tournament.builder()
+                .id(1l)
+                .numberOfSingleEliminationMatches(numberOfParticipants - 1)
+                .build();
+
+        when(matchRepository.saveAll(matchListArgumentCaptor.capture())).thenReturn(new ArrayList<>());
+
+        matchService.generateMatches(participants, tournament);
+
+        List<Match> matches = matchListArgumentCaptor.getValue();
+        assertEquals(numberOfParticipants - 1, matches.size());
+
+        Map<String, Integer> seatsTaken = new HashMap<>();
+        Set<Long> seatedParticipants = new HashSet<>();
+        for (Match match : matches) {
+            seatsTaken.merge(match.getLabel(), match.getNumberOfParticipants(), Integer::sum);
+            if (match.getFirstParticipantId() != null) {
+                assertTrue(seatedParticipants.add(match.getFirstParticipantId()));
+            }
+            if (match.getSecondParticipantId() != null) {
+                assertTrue(seatedParticipants.add(match.getSecondParticipantId()));
+            }
+            if (match.getNextMatchLabel() != null) {
+                seatsTaken.merge(match.getNextMatchLabel(), 1, Integer::sum);
+            }
+        }
+
+        assertEquals(numberOfParticipants, seatedParticipants.size());
+        assertEquals(numberOfParticipants - 1, seatsTaken.size());
+        seatsTaken.values().forEach(seats -> assertEquals(2, seats));
+        assertEquals(1, matches.stream().filter(match -> match.getNextMatchLabel() == null).count());
+    }
 }
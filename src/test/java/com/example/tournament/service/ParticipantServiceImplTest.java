@@ -1,27 +1,48 @@
 package com.example.tournament.service;
 
 import com.example.tournament.dto.form.ParticipantsAddForm;
+import com.example.tournament.dto.response.PageDto;
+import com.example.tournament.dto.response.ParticipantImportRejectionDto;
+import com.example.tournament.dto.response.ParticipantImportResultDto;
+import com.example.tournament.dto.response.ParticipantDto;
 import com.example.tournament.exception.ServiceException;
+import com.example.tournament.model.EventStatus;
 import com.example.tournament.model.Match;
 import com.example.tournament.model.Participant;
 import com.example.tournament.model.Tournament;
+import com.example.tournament.model.TournamentFormat;
+import com.example.tournament.repository.ParticipantBatchRepository;
 import com.example.tournament.repository.ParticipantRepository;
+import com.example.tournament.util.concurrent.TournamentCommandExecutor;
+import com.example.tournament.util.importer.ParticipantImportRow;
 import com.example.tournament.util.mapper.ParticipantMapper;
+import com.example.tournament.util.snapshot.TournamentResultSnapshots;
+import com.example.tournament.util.version.TournamentVersions;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,15 +52,30 @@ public class ParticipantServiceImplTest {
     @Mock
     private ParticipantRepository participantRepository;
 
+    @Mock
+    private ParticipantBatchRepository participantBatchRepository;
+
     @Mock
     private MatchService matchService;
 
+    @Mock
+    private StandingService standingService;
+
     @Mock
     private DataHelperService dataHelperService;
 
     @Mock
     private ParticipantMapper participantMapper;
 
+    @Mock
+    private TournamentVersions tournamentVersions;
+
+    @Mock
+    private TournamentResultSnapshots tournamentResultSnapshots;
+
+    @Spy
+    private TournamentCommandExecutor tournamentCommandExecutor = new TournamentCommandExecutor(1);
+
     @InjectMocks
     private ParticipantServiceImpl participantService;
 
@@ -48,6 +84,11 @@ public class ParticipantServiceImplTest {
         MockitoAnnotations.initMocks(this);
     }
 
+    @AfterEach
+    void tearDown() {
+        tournamentCommandExecutor.shutdown();
+    }
+
     @Test
     public void findAllByTournamentIdDtoTest() {
 
@@ -120,14 +161,20 @@ public class ParticipantServiceImplTest {
 
         Optional<Match> optionalMatch = Optional.of(Match.builder()
                 .build());
+        when(dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId))
+                .thenReturn(Tournament.builder()
+                        .id(tournamentId)
+                        .status(EventStatus.STARTED)
+                        .build());
         when(matchService.findUncompletedMatchByParticipantId(tournamentId, participantId))
                 .thenReturn(optionalMatch);
 
         participantService.delete(tournamentId, participantId);
-        verify(dataHelperService, times(1)).findTournamentByIdOrThrowException(tournamentId);
+        verify(dataHelperService, times(1)).findCurrentTournamentByIdOrThrowException(tournamentId);
         verify(matchService, times(1)).findUncompletedMatchByParticipantId(tournamentId, participantId);
         verify(matchService, times(1)).disqualifyParticipantById(optionalMatch.get(), participantId);
         verify(participantRepository, times(1)).deleteByTournamentIdAndId(tournamentId, participantId);
+        verify(tournamentResultSnapshots, Mockito.never()).evict(tournamentId);
 
     }
 
@@ -137,15 +184,40 @@ public class ParticipantServiceImplTest {
         Long tournamentId = 1l;
         Long participantId = 1l;
 
+        when(dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId))
+                .thenReturn(Tournament.builder()
+                        .id(tournamentId)
+                        .status(EventStatus.COMPLETED)
+                        .build());
         when(matchService.findUncompletedMatchByParticipantId(tournamentId, participantId))
                 .thenReturn(Optional.empty());
 
         participantService.delete(tournamentId, participantId);
-        verify(dataHelperService, times(1)).findTournamentByIdOrThrowException(tournamentId);
+        verify(dataHelperService, times(1)).findCurrentTournamentByIdOrThrowException(tournamentId);
         verify(matchService, times(1)).findUncompletedMatchByParticipantId(tournamentId, participantId);
         verify(matchService, Mockito.never()).disqualifyParticipantById(any(Match.class), anyLong());
         verify(participantRepository, times(1)).deleteByTournamentIdAndId(tournamentId, participantId);
+        verify(tournamentResultSnapshots, times(1)).evict(tournamentId);
+
+    }
+
+    @Test
+    public void deleteFromStandingsTest() {
+
+        Long tournamentId = 1l;
+        Long participantId = 1l;
+
+        when(dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId))
+                .thenReturn(Tournament.builder()
+                        .id(tournamentId)
+                        .format(TournamentFormat.ROUND_ROBIN)
+                        .status(EventStatus.STARTED)
+                        .build());
 
+        participantService.delete(tournamentId, participantId);
+        verify(matchService, times(1)).disqualifyParticipantFromAllMatches(tournamentId, participantId);
+        verify(standingService, times(1)).deleteByParticipantId(tournamentId, participantId);
+        verify(participantRepository, times(1)).deleteByTournamentIdAndId(tournamentId, participantId);
     }
 
     @Test
@@ -181,7 +253,7 @@ public class ParticipantServiceImplTest {
                 .names(Arrays.asList("Player1", "Player2", "Player3", "Player4", "Player5", "Player6", "Player7"))
                 .build();
 
-        when(dataHelperService.findTournamentByIdOrThrowException(1l)).thenReturn(
+        when(dataHelperService.findCurrentTournamentByIdOrThrowException(1l)).thenReturn(
                 Tournament.builder()
                         .id(tournamentId)
                         .maxNumberOfParticipants(8)
@@ -194,7 +266,7 @@ public class ParticipantServiceImplTest {
         Exception exception = assertThrows(ServiceException.class, () -> {
             participantService.createAll(tournamentId, participantsAddForm);
         });
-        verify(dataHelperService, times(1)).findTournamentByIdOrThrowException(tournamentId);
+        verify(dataHelperService, times(1)).findCurrentTournamentByIdOrThrowException(tournamentId);
         verify(participantRepository, times(1)).countByTournamentId(tournamentId);
         String expectedMessage = String.format(
                 "Tournament (id '%s') can't get these participators. Limit will be exceeded", tournamentId);
@@ -211,7 +283,7 @@ public class ParticipantServiceImplTest {
                 .names(Arrays.asList("Player1", "Player2", "Player3", "Player4", "Player5", "Player6", "Player7"))
                 .build();
 
-        when(dataHelperService.findTournamentByIdOrThrowException(1l)).thenReturn(
+        when(dataHelperService.findCurrentTournamentByIdOrThrowException(1l)).thenReturn(
                 Tournament.builder()
                         .id(tournamentId)
                         .maxNumberOfParticipants(8)
@@ -221,10 +293,96 @@ public class ParticipantServiceImplTest {
         when(participantRepository.countByTournamentId(tournamentId))
                 .thenReturn(0);
 
-        when(participantRepository.existsByNameAndTournamentId(any(), anyLong()))
-                .thenReturn(false);
+        when(participantRepository.findNamesByTournamentIdAndNameIn(tournamentId, participantsAddForm.getNames()))
+                .thenReturn(Collections.emptyList());
 
         participantService.createAll(tournamentId, participantsAddForm);
         verify(participantRepository, times(1)).saveAll(any(List.class));
     }
+
+    @Test
+    public void importAllTest() {
+
+        Long tournamentId = 1l;
+        List<ParticipantImportRow> rows = Arrays.asList(
+                ParticipantImportRow.builder().line(1).name("Player1").build(),
+                ParticipantImportRow.builder().line(2).name("Player2").build(),
+                ParticipantImportRow.builder().line(3).name("Player1").build(),
+                ParticipantImportRow.builder().line(4).error("Name is empty").build(),
+                ParticipantImportRow.builder().line(5).name("Player3").build(),
+                ParticipantImportRow.builder().line(6).name("Player4").build());
+
+        when(dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId)).thenReturn(
+                Tournament.builder()
+                        .id(tournamentId)
+                        .maxNumberOfParticipants(8)
+                        .status(EventStatus.PENDING)
+                        .build());
+        when(participantRepository.countByTournamentId(tournamentId)).thenReturn(6);
+        when(participantRepository.findNamesByTournamentIdAndNameIn(eq(tournamentId), any()))
+                .thenReturn(Collections.singletonList("Player2"));
+
+        ParticipantImportResultDto result = participantService.importAll(tournamentId, rows.iterator());
+
+        assertEquals(2, result.getImported());
+        assertEquals(4, result.getRejected());
+        assertEquals(Arrays.asList(2l, 3l, 4l, 6l), result.getRejections().stream()
+                .map(ParticipantImportRejectionDto::getLine)
+                .collect(Collectors.toList()));
+        verify(participantRepository, times(1)).findNamesByTournamentIdAndNameIn(eq(tournamentId), any());
+        verify(participantBatchRepository, times(1)).insertAll(argThat(participants -> participants.stream()
+                .map(Participant::getName)
+                .collect(Collectors.toList())
+                .equals(Arrays.asList("Player1", "Player3"))));
+        verify(tournamentVersions, times(1)).bump(tournamentId);
+    }
+
+    @Test
+    public void importAllCommitsChunksOnWriterThreadTest() {
+
+        Long tournamentId = 1l;
+        List<ParticipantImportRow> rows = new ArrayList<>();
+        for (int i = 1; i <= 1500; i++) {
+            rows.add(ParticipantImportRow.builder().line(i).name("Player" + i).build());
+        }
+
+        when(dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId)).thenReturn(
+                Tournament.builder()
+                        .id(tournamentId)
+                        .maxNumberOfParticipants(2000)
+                        .status(EventStatus.PENDING)
+                        .build());
+        when(participantRepository.countByTournamentId(tournamentId)).thenReturn(0, 1000);
+        List<String> writerThreads = new ArrayList<>();
+        Mockito.doAnswer(invocation -> writerThreads.add(Thread.currentThread().getName()))
+                .when(participantBatchRepository).insertAll(any());
+
+        ParticipantImportResultDto result = participantService.importAll(tournamentId, rows.iterator());
+
+        assertEquals(1500, result.getImported());
+        assertEquals(Arrays.asList("tournament-writer-0", "tournament-writer-0"), writerThreads);
+        verify(tournamentVersions, times(2)).bump(tournamentId);
+    }
+
+    @Test
+    public void findPageByTournamentIdTest() {
+
+        List<Participant> participants = Arrays.asList(
+                Participant.builder().id(11l).tournamentId(1l).build(),
+                Participant.builder().id(12l).tournamentId(1l).build());
+        when(participantRepository.findByTournamentIdAndIdGreaterThanOrderByIdAsc(1l, 10l, PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(participants, PageRequest.of(0, 2), true));
+
+        PageDto<ParticipantDto> page = participantService.findPageByTournamentId(1l, 10l, 2);
+
+        assertEquals(12l, page.getNextCursor());
+        assertEquals(2, page.getPageSize());
+        verify(dataHelperService).findTournamentByIdOrThrowException(1l);
+    }
+
+    @Test
+    public void findPageWithTooLargePageSizeTest() {
+
+        assertThrows(ServiceException.class, () -> participantService.findPageByTournamentId(1l, 0l, 100_000));
+    }
 }
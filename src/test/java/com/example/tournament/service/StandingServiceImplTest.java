@@ -0,0 +1,71 @@
+package com.example.tournament.service;
+
+import com.example.tournament.exception.ServiceException;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Tournament;
+import com.example.tournament.model.TournamentFormat;
+import com.example.tournament.repository.StandingRepository;
+import com.example.tournament.util.mapper.StandingMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StandingServiceImplTest {
+
+    @Mock
+    private StandingRepository standingRepository;
+
+    @Mock
+    private DataHelperService dataHelperService;
+
+    @Mock
+    private StandingMapper standingMapper;
+
+    @InjectMocks
+    private StandingServiceImpl standingService;
+
+    @BeforeEach
+    void setUp() {
+
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void recordResultTest() {
+
+        Match match = Match.builder()
+                .tournamentId(1l)
+                .firstParticipantId(2l)
+                .secondParticipantId(3l)
+                .firstParticipantScore(1)
+                .secondParticipantScore(4)
+                .winnerId(3l)
+                .status(EventStatus.COMPLETED)
+                .build();
+
+        standingService.recordResult(match);
+
+        verify(standingRepository, times(1)).addResult(1l, 2l, 0, 1, 1, 4);
+        verify(standingRepository, times(1)).addResult(1l, 3l, 1, 0, 4, 1);
+    }
+
+    @Test
+    public void findStandingList_SingleEliminationTest() {
+
+        Long tournamentId = 1l;
+        when(dataHelperService.findTournamentByIdOrThrowException(tournamentId)).thenReturn(Tournament.builder()
+                .id(tournamentId)
+                .format(TournamentFormat.SINGLE_ELIMINATION)
+                .build());
+
+        assertThrows(ServiceException.class, () -> standingService.findStandingListByTournamentId(tournamentId));
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.tournament.service;
+
+import com.example.tournament.dto.form.TournamentBatchStartForm;
+import com.example.tournament.dto.response.TournamentBatchStartRejectionDto;
+import com.example.tournament.dto.response.TournamentBatchStartResultDto;
+import com.example.tournament.exception.ServiceException;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+import com.example.tournament.model.Tournament;
+import com.example.tournament.model.TournamentFormat;
+import com.example.tournament.repository.TournamentRepository;
+import com.example.tournament.util.concurrent.TournamentCommandExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TournamentBatchStartServiceImplTest {
+
+    @Mock
+    private TournamentRepository tournamentRepository;
+
+    @Mock
+    private TournamentService tournamentService;
+
+    @Mock
+    private ParticipantService participantService;
+
+    @Mock
+    private MatchService matchService;
+
+    @Spy
+    private TournamentCommandExecutor tournamentCommandExecutor = new TournamentCommandExecutor(2);
+
+    private TournamentBatchStartServiceImpl tournamentBatchStartService;
+
+    private final Set<String> savingThreads = ConcurrentHashMap.newKeySet();
+
+    private final Map<Long, List<Participant>> participants = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        tournamentBatchStartService = new TournamentBatchStartServiceImpl(tournamentRepository, tournamentService,
+                participantService, matchService, tournamentCommandExecutor, 2);
+
+        //Two chunks of one match per participant pair, enough to tell the tournaments' matches apart
+        doAnswer(invocation -> {
+            List<Participant> participants = invocation.getArgument(0);
+            Tournament tournament = invocation.getArgument(1);
+            Consumer<List<Match>> chunkConsumer = invocation.getArgument(3);
+            for (int chunk = 0; chunk < 2; chunk++) {
+                List<Match> matches = new ArrayList<>();
+                for (int i = 0; i < participants.size() / 4; i++) {
+                    matches.add(Match.builder().tournamentId(tournament.getId()).build());
+                }
+                chunkConsumer.accept(matches);
+            }
+            return null;
+        }).when(matchService).buildMatches(anyList(), any(Tournament.class), anyInt(), any());
+        when(participantService.findAllByTournamentIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return participants.entrySet().stream()
+                    .filter(entry -> ids.contains(entry.getKey()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        });
+        doAnswer(invocation -> savingThreads.add(Thread.currentThread().getName()))
+                .when(matchService).saveMatches(anyLong(), anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        tournamentBatchStartService.shutdown();
+        tournamentCommandExecutor.shutdown();
+    }
+
+    @Test
+    public void startAllTest() {
+
+        List<Long> ids = Arrays.asList(1l, 2l, 3l, 4l);
+        started(1l, TournamentFormat.SINGLE_ELIMINATION, 8);
+        started(2l, TournamentFormat.ROUND_ROBIN, 4);
+        participants.put(3l, participants(3l, 1));
+        when(tournamentService.markStarted(eq(3l), anyList()))
+                .thenThrow(new ServiceException("Tournament (id '3') must contain at least 2 participants"));
+        when(tournamentService.markStarted(eq(4l), anyList()))
+                .thenThrow(new ServiceException("Tournament (id '4') has been already started"));
+
+        TournamentBatchStartResultDto result = tournamentBatchStartService.startAll(
+                TournamentBatchStartForm.builder().ids(ids).build());
+
+        assertEquals(2, result.getStarted());
+        assertEquals(2, result.getRejected());
+        assertEquals(7 + 6, result.getNumberOfMatches());
+        assertEquals(Arrays.asList(3l, 4l), result.getRejections().stream()
+                .map(TournamentBatchStartRejectionDto::getTournamentId)
+                .collect(Collectors.toList()));
+        assertEquals("Tournament (id '4') has been already started", result.getRejections().get(1).getReason());
+
+        //One participant query per stripe, run on that stripe
+        verify(tournamentCommandExecutor, times(2)).execute(anyLong(), any());
+        verify(participantService, times(1)).findAllByTournamentIds(Arrays.asList(1l, 3l));
+        verify(participantService, times(1)).findAllByTournamentIds(Arrays.asList(2l, 4l));
+        verify(participantService, never()).findAllByTournamentId(anyLong());
+        verify(matchService, times(2)).saveMatches(eq(1l), anyList());
+        verify(matchService, times(2)).saveMatches(eq(2l), anyList());
+        verify(matchService, never()).saveMatches(eq(3l), anyList());
+        verify(matchService, times(1)).evictByTournamentId(1l);
+        verify(matchService, times(1)).evictByTournamentId(2l);
+        assertTrue(savingThreads.stream().allMatch(thread -> thread.startsWith("tournament-writer-")));
+    }
+
+    @Test
+    public void startAll_FailedBracketIsRevertedTest() {
+
+        started(1l, TournamentFormat.SINGLE_ELIMINATION, 8);
+        doThrow(new IllegalStateException("Connection lost")).when(matchService).saveMatches(eq(1l), anyList());
+
+        TournamentBatchStartResultDto result = tournamentBatchStartService.startAll(
+                TournamentBatchStartForm.builder().ids(Collections.singletonList(1l)).build());
+
+        assertEquals(0, result.getStarted());
+        assertEquals("Connection lost", result.getRejections().get(0).getReason());
+        verify(tournamentService, times(1)).revertStart(1l);
+        verify(matchService, never()).evictByTournamentId(1l);
+    }
+
+    @Test
+    public void startAll_ByTitlePrefixTest() {
+
+        when(tournamentRepository.findPendingIdsByTitlePrefix(eq("Qualifier!_50!%"), any()))
+                .thenReturn(Collections.singletonList(1l));
+        started(1l, TournamentFormat.SINGLE_ELIMINATION, 2);
+
+        TournamentBatchStartResultDto result = tournamentBatchStartService.startAll(
+                TournamentBatchStartForm.builder().titlePrefix("Qualifier_50%").build());
+
+        assertEquals(1, result.getStarted());
+        assertEquals(1, result.getNumberOfMatches());
+    }
+
+    @Test
+    public void startAll_NothingToStartTest() {
+
+        assertThrows(ServiceException.class, () -> tournamentBatchStartService.startAll(new TournamentBatchStartForm()));
+        assertThrows(ServiceException.class, () -> tournamentBatchStartService.startAll(
+                TournamentBatchStartForm.builder().ids(Collections.singletonList(1l)).titlePrefix("Qualifier").build()));
+        verify(tournamentService, never()).markStarted(anyLong(), anyList());
+    }
+
+    private void started(Long id, TournamentFormat format, int numberOfParticipants) {
+
+        List<Participant> participants = participants(id, numberOfParticipants);
+        this.participants.put(id, participants);
+        when(tournamentService.markStarted(id, participants)).thenReturn(Tournament.builder()
+                .id(id)
+                .format(format)
+                .status(EventStatus.STARTED)
+                .build());
+    }
+
+    private List<Participant> participants(Long tournamentId, int count) {
+
+        List<Participant> participants = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            participants.add(Participant.builder().id(tournamentId * 100 + id).tournamentId(tournamentId).build());
+        }
+        return participants;
+    }
+}
@@ -2,20 +2,38 @@ package com.example.tournament.service;
 
 import com.example.tournament.dto.form.TournamentCreateForm;
 import com.example.tournament.dto.response.MatchListDto;
+import com.example.tournament.dto.response.PageDto;
 import com.example.tournament.dto.response.TournamentDto;
+import com.example.tournament.exception.ServiceException;
 import com.example.tournament.model.EventStatus;
 import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
 import com.example.tournament.model.Tournament;
+import com.example.tournament.model.TournamentFormat;
 import com.example.tournament.repository.TournamentRepository;
 import com.example.tournament.util.mapper.TournamentMapper;
+import com.example.tournament.util.purge.TournamentPurger;
+import com.example.tournament.util.snapshot.TournamentResultSnapshots;
+import com.example.tournament.util.version.TournamentVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -37,6 +55,18 @@ public class TournamentServiceImplTest {
     @Mock
     private TournamentMapper tournamentMapper;
 
+    @Mock
+    private TournamentVersions tournamentVersions;
+
+    @Mock
+    private TournamentResultSnapshots tournamentResultSnapshots;
+
+    @Mock
+    private TournamentPurger tournamentPurger;
+
+    @Mock
+    private StandingService standingService;
+
     @InjectMocks
     private TournamentServiceImpl tournamentService;
 
@@ -49,7 +79,8 @@ public class TournamentServiceImplTest {
     public void findAllTest() {
 
         tournamentService.findAll();
-        verify(tournamentRepository, times(1)).findAll();
+        verify(tournamentRepository, times(1)).findAllSummaries();
+        verify(participantService, never()).countByTournamentId(any());
     }
 
     @Test
@@ -75,22 +106,43 @@ public class TournamentServiceImplTest {
     public void startTournamentTest() {
 
         Long tournamentId = 1l;
-        when(dataHelperService.findTournamentByIdOrThrowException(tournamentId))
+        when(dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId))
                 .thenReturn(Tournament.builder()
                         .id(tournamentId)
                         .status(EventStatus.PENDING)
                         .build());
 
-        when(participantService.countByTournamentId(tournamentId)).thenReturn(7);
+        List<Participant> participants = participants(7);
+        when(participantService.findAllByTournamentId(tournamentId)).thenReturn(participants);
+        when(tournamentRepository.startIfPending(tournamentId, 6)).thenReturn(1);
         tournamentService.startTournament(tournamentId);
-        verify(dataHelperService, times(1)).findTournamentByIdOrThrowException(tournamentId);
-        verify(participantService, times(1)).countByTournamentId(tournamentId);
-        verify(tournamentRepository, times(1)).save(any(Tournament.class));
+        verify(dataHelperService, times(1)).findCurrentTournamentByIdOrThrowException(tournamentId);
+        verify(tournamentRepository, times(1)).startIfPending(tournamentId, 6);
+        //The bracket is generated from the participants the match count was taken from
         verify(participantService, times(1)).findAllByTournamentId(tournamentId);
-        verify(matchService, times(1)).generateMatches(anyList(), any(Tournament.class));
+        verify(matchService, times(1)).generateMatches(eq(participants), any(Tournament.class));
         verify(matchService, times(1)).findMatchListByTournamentId(tournamentId);
     }
 
+    @Test
+    public void startTournament_AlreadyStartedFlow() {
+
+        Long tournamentId = 1l;
+        when(dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId))
+                .thenReturn(Tournament.builder()
+                        .id(tournamentId)
+                        .status(EventStatus.PENDING)
+                        .build());
+
+        when(participantService.findAllByTournamentId(tournamentId)).thenReturn(participants(7));
+        when(tournamentRepository.startIfPending(tournamentId, 6)).thenReturn(0);
+
+        Exception exception = assertThrows(ServiceException.class, () -> tournamentService.startTournament(tournamentId));
+
+        assertEquals(String.format("Tournament (id '%s') has been already started", tournamentId), exception.getMessage());
+        verify(matchService, never()).generateMatches(anyList(), any(Tournament.class));
+    }
+
     @Test
     public void createTest() {
 
@@ -98,6 +150,7 @@ public class TournamentServiceImplTest {
                 .title("Title")
                 .maxNumberOfParticipants(16)
                 .build();
+        when(tournamentRepository.save(any(Tournament.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         tournamentService.create(tournamentCreateForm);
         verify(tournamentRepository, times(1)).save(any(Tournament.class));
@@ -111,7 +164,7 @@ public class TournamentServiceImplTest {
                 .status(EventStatus.STARTED)
                 .build();
 
-        when(dataHelperService.findTournamentByIdOrThrowException(tournament.getId()))
+        when(dataHelperService.findCurrentTournamentByIdOrThrowException(tournament.getId()))
                 .thenReturn(tournament);
 
         when(matchService.findFinalMatchByTournamentId(tournament.getId()))
@@ -130,9 +183,9 @@ public class TournamentServiceImplTest {
                 .thenReturn(TournamentDto.builder().build());
 
         tournamentService.summarizeTournament(tournament.getId());
-        verify(dataHelperService, times(1)).findTournamentByIdOrThrowException(tournament.getId());
+        verify(dataHelperService, times(1)).findCurrentTournamentByIdOrThrowException(tournament.getId());
         verify(matchService, times(1)).findFinalMatchByTournamentId(tournament.getId());
-        verify(tournamentRepository, times(1)).save(any(Tournament.class));
+        verify(tournamentRepository, times(1)).completeIfStarted(tournament.getId());
     }
 
     @Test
@@ -140,7 +193,7 @@ public class TournamentServiceImplTest {
 
         Long tournamentId = 1l;
 
-        when(dataHelperService.findTournamentByIdOrThrowException(tournamentId))
+        when(dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId))
                 .thenReturn(Tournament.builder()
                         .id(tournamentId)
                         .build());
@@ -150,4 +203,48 @@ public class TournamentServiceImplTest {
         verify(matchService, times(1)).deleteAllByTournamentId(tournamentId);
         verify(tournamentRepository, times(1)).deleteById(tournamentId);
     }
+
+    @Test
+    public void deleteLargeTest() {
+
+        Long tournamentId = 1l;
+
+        when(dataHelperService.findCurrentTournamentByIdOrThrowException(tournamentId))
+                .thenReturn(Tournament.builder()
+                        .id(tournamentId)
+                        .format(TournamentFormat.ROUND_ROBIN)
+                        .status(EventStatus.STARTED)
+                        .build());
+        //Few participants, but every pair of them has a match
+        when(participantService.countByTournamentId(tournamentId)).thenReturn(3_200);
+        when(tournamentPurger.isDeferred(3_200 + 5_118_400)).thenReturn(true);
+
+        tournamentService.delete(tournamentId);
+        verify(tournamentPurger, times(1)).schedule(tournamentId);
+        verify(matchService, times(1)).evictByTournamentId(tournamentId);
+        verify(participantService, never()).deleteAllByTournamentId(tournamentId);
+        verify(matchService, never()).deleteAllByTournamentId(tournamentId);
+        verify(tournamentRepository, times(1)).deleteById(tournamentId);
+    }
+
+    @Test
+    public void findPageByStatusTest() {
+
+        when(tournamentRepository.findSummariesByStatusAfter(EventStatus.STARTED, 0l, PageRequest.of(0, 50)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), PageRequest.of(0, 50), false));
+
+        PageDto<TournamentDto> page = tournamentService.findPage(0l, 50, EventStatus.STARTED);
+
+        assertNull(page.getNextCursor());
+        verify(tournamentRepository, never()).findSummariesAfter(any(), any());
+    }
+
+    private List<Participant> participants(int count) {
+
+        List<Participant> participants = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            participants.add(Participant.builder().id(id).build());
+        }
+        return participants;
+    }
 }
@@ -0,0 +1,148 @@
+package com.example.tournament.service;
+
+import com.example.tournament.dto.response.TournamentStartJobDto;
+import com.example.tournament.exception.ServiceException;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+import com.example.tournament.model.Tournament;
+import com.example.tournament.util.concurrent.TournamentCommandExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TournamentStartJobServiceImplTest {
+
+    @Mock
+    private TournamentService tournamentService;
+
+    @Mock
+    private ParticipantService participantService;
+
+    @Mock
+    private MatchService matchService;
+
+    private TournamentCommandExecutor tournamentCommandExecutor;
+
+    private TournamentStartJobServiceImpl tournamentStartJobService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        tournamentCommandExecutor = new TournamentCommandExecutor(1);
+        tournamentStartJobService = new TournamentStartJobServiceImpl(tournamentService, participantService,
+                matchService, tournamentCommandExecutor, 1, 1, 3, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tournamentStartJobService.shutdown();
+        tournamentCommandExecutor.shutdown();
+    }
+
+    @Test
+    public void savesInChunksTest() throws InterruptedException {
+
+        Long tournamentId = 1l;
+        Tournament tournament = Tournament.builder().id(tournamentId).status(EventStatus.STARTED).build();
+        when(tournamentService.markStarted(eq(tournamentId), anyList())).thenReturn(tournament);
+        List<Participant> participants = participants(8);
+        when(participantService.findAllByTournamentId(tournamentId)).thenReturn(participants);
+        doAnswer(chunksOf(matches(7))).when(matchService).buildMatches(anyList(), eq(tournament), eq(3), any());
+
+        TournamentStartJobDto job = tournamentStartJobService.submit(tournamentId);
+        TournamentStartJobDto finished = awaitFinished(tournamentId, job.getId());
+
+        assertEquals(TournamentStartJobDto.Status.COMPLETED, finished.getStatus());
+        assertEquals(7, finished.getTotalMatches());
+        assertEquals(7, finished.getSavedMatches());
+        verify(matchService, times(3)).saveMatches(eq(tournamentId), anyList());
+        verify(matchService, times(1)).evictByTournamentId(tournamentId);
+        verify(tournamentService, never()).revertStart(tournamentId);
+        //The worker builds the bracket from the participants read when the tournament was started
+        verify(participantService, times(1)).findAllByTournamentId(tournamentId);
+        verify(tournamentService, times(1)).markStarted(tournamentId, participants);
+        verify(matchService, times(1)).buildMatches(eq(participants), eq(tournament), eq(3), any());
+    }
+
+    @Test
+    public void revertsFailedStartTest() throws InterruptedException {
+
+        Long tournamentId = 1l;
+        Tournament tournament = Tournament.builder().id(tournamentId).status(EventStatus.STARTED).build();
+        when(tournamentService.markStarted(eq(tournamentId), anyList())).thenReturn(tournament);
+        when(participantService.findAllByTournamentId(tournamentId)).thenReturn(participants(8));
+        doAnswer(chunksOf(matches(7))).when(matchService).buildMatches(anyList(), eq(tournament), eq(3), any());
+        doThrow(new ServiceException("Tournament with id 1 not found"))
+                .when(matchService).saveMatches(eq(tournamentId), anyList());
+
+        TournamentStartJobDto finished = awaitFinished(tournamentId, tournamentStartJobService.submit(tournamentId).getId());
+
+        assertEquals(TournamentStartJobDto.Status.FAILED, finished.getStatus());
+        assertEquals("Tournament with id 1 not found", finished.getError());
+        verify(tournamentService, times(1)).revertStart(tournamentId);
+        assertThrows(ServiceException.class, () -> tournamentStartJobService.findById(2l, finished.getId()));
+    }
+
+    private TournamentStartJobDto awaitFinished(Long tournamentId, String jobId) throws InterruptedException {
+
+        for (int i = 0; i < 500; i++) {
+            TournamentStartJobDto job = tournamentStartJobService.findById(tournamentId, jobId);
+            if (job.getStatus() == TournamentStartJobDto.Status.COMPLETED || job.getStatus() == TournamentStartJobDto.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Start job didn't finish");
+    }
+
+    private List<Participant> participants(int count) {
+
+        List<Participant> participants = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            participants.add(Participant.builder().id(i).build());
+        }
+        return participants;
+    }
+
+    //Hands the matches to the chunk consumer the way the real bracket builder does
+    private Answer<Void> chunksOf(List<Match> matches) {
+
+        return invocation -> {
+            int chunkSize = invocation.getArgument(2);
+            Consumer<List<Match>> chunkConsumer = invocation.getArgument(3);
+            for (int from = 0; from < matches.size(); from += chunkSize) {
+                chunkConsumer.accept(matches.subList(from, Math.min(matches.size(), from + chunkSize)));
+            }
+            return null;
+        };
+    }
+
+    private List<Match> matches(int count) {
+
+        List<Match> matches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            matches.add(Match.builder().build());
+        }
+        return matches;
+    }
+}
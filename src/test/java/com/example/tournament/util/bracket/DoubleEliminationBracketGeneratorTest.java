@@ -0,0 +1,95 @@
+package com.example.tournament.util.bracket;
+
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DoubleEliminationBracketGeneratorTest {
+
+    //Plays every bracket in label order with random winners, seating players the way the match service does
+    @Test
+    public void everyoneIsEliminatedAfterTwoLossesTest() {
+        everyoneIsEliminatedAfterTwoLosses(false);
+    }
+
+    //Seeded brackets spread their byes over the whole first round
+    @Test
+    public void everyoneIsEliminatedAfterTwoLossesInSeededBracketTest() {
+        everyoneIsEliminatedAfterTwoLosses(true);
+    }
+
+    private void everyoneIsEliminatedAfterTwoLosses(boolean seeded) {
+
+        Random random = new Random(7);
+        for (int numberOfParticipants = 2; numberOfParticipants <= 70; numberOfParticipants++) {
+            List<Participant> participants = new ArrayList<>();
+            for (long id = 1; id <= numberOfParticipants; id++) {
+                participants.add(Participant.builder().id(id).rating(random.nextInt(100)).build());
+            }
+            List<Match> matches = DoubleEliminationBracketGenerator.generate(1l, seeded ?
+                    Seeding.positions(participants) : SingleEliminationBracketGenerator.arrange(participants));
+
+            assertEquals(2 * numberOfParticipants - 2, matches.size());
+
+            Map<String, Match> matchesByLabel = new HashMap<>();
+            for (int i = 0; i < matches.size(); i++) {
+                assertEquals(MatchLabels.of(i), matches.get(i).getLabel());
+                matchesByLabel.put(matches.get(i).getLabel(), matches.get(i));
+            }
+
+            Map<Long, Integer> losses = new HashMap<>();
+            Match grandFinal = null;
+            for (Match match : matches) {
+                assertNotNull(match.getFirstParticipantId(), match.getLabel());
+                assertNotNull(match.getSecondParticipantId(), match.getLabel());
+                boolean firstWins = random.nextBoolean();
+                Long winnerId = firstWins ? match.getFirstParticipantId() : match.getSecondParticipantId();
+                Long loserId = firstWins ? match.getSecondParticipantId() : match.getFirstParticipantId();
+
+                if (match.getNextMatchLabel() == null) {
+                    //The winners bracket champion is unbeaten and seated first, the losers bracket champion lost once
+                    assertNull(grandFinal);
+                    assertNull(losses.get(match.getFirstParticipantId()));
+                    assertEquals(1, losses.get(match.getSecondParticipantId()));
+                    grandFinal = match;
+                    continue;
+                }
+                losses.merge(loserId, 1, Integer::sum);
+                seat(matchesByLabel.get(match.getNextMatchLabel()), match.getSlot(), winnerId);
+                if (match.getLoserNextMatchLabel() != null) {
+                    seat(matchesByLabel.get(match.getLoserNextMatchLabel()), null, loserId);
+                }
+            }
+
+            assertEquals(matches.get(matches.size() - 1), grandFinal);
+            for (long id = 1; id <= numberOfParticipants; id++) {
+                if (id != grandFinal.getFirstParticipantId() && id != grandFinal.getSecondParticipantId()) {
+                    assertEquals(2, losses.get(id));
+                }
+            }
+        }
+    }
+
+    private void seat(Match match, Integer slot, Long participantId) {
+
+        if (slot == null) {
+            match.addParticipant(participantId);
+        } else if (slot % 2 == 0) {
+            assertNull(match.getFirstParticipantId());
+            match.setFirstParticipantId(participantId);
+        } else {
+            assertNull(match.getSecondParticipantId());
+            match.setSecondParticipantId(participantId);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.tournament.util.bracket;
+
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+import com.example.tournament.util.mapper.MatchMapper;
+import com.example.tournament.util.stream.MatchStreamBroadcaster;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//Without a surrounding transaction every change is applied right away
+public class LiveBracketStoreTest {
+
+    private final MatchStreamBroadcaster matchStreamBroadcaster = Mockito.mock(MatchStreamBroadcaster.class);
+
+    @Test
+    public void snapshotReadBeforeWriteIsDroppedTest() {
+
+        LiveBracketStore store = new LiveBracketStore(matchStreamBroadcaster, new MatchMapper(), 100, 60_000);
+        List<Match> snapshot = generateBracket(1l, 4);
+
+        long stamp = store.stamp(1l);
+        //Committed while the snapshot was being read, with no bracket to apply to
+        store.update(snapshot.get(0).toBuilder().winnerId(1l).status(EventStatus.COMPLETED).build());
+        store.load(1l, stamp, snapshot);
+
+        assertFalse(store.findMatches(1l).isPresent());
+
+        store.load(1l, store.stamp(1l), snapshot);
+        assertTrue(store.findMatches(1l).isPresent());
+    }
+
+    @Test
+    public void writeAfterLoadIsAppliedTest() {
+
+        LiveBracketStore store = new LiveBracketStore(matchStreamBroadcaster, new MatchMapper(), 100, 60_000);
+        List<Match> snapshot = generateBracket(1l, 4);
+
+        store.load(1l, store.stamp(1l), snapshot);
+        store.start(1l, snapshot.get(0).getId(), LocalTime.of(10, 0));
+
+        assertEquals(EventStatus.STARTED, store.findMatch(1l, snapshot.get(0).getId()).get().getStatus());
+    }
+
+    @Test
+    public void matchWithoutBracketIsPublishedTest() {
+
+        LiveBracketStore store = new LiveBracketStore(matchStreamBroadcaster, new MatchMapper(), 100, 60_000);
+        Match match = Match.builder().id(7l).tournamentId(1l).label("A").roundNumber(1)
+                .firstParticipantId(1l).secondParticipantId(2l).status(EventStatus.STARTED).build();
+
+        store.update(match);
+
+        Mockito.verify(matchStreamBroadcaster).publish(Mockito.eq(1l), Mockito.argThat(dto -> dto.getId().equals(7l)));
+        assertFalse(store.findMatches(1l).isPresent());
+    }
+
+    @Test
+    public void leastRecentlyUsedBracketsAreEvictedTest() {
+
+        LiveBracketStore store = new LiveBracketStore(matchStreamBroadcaster, new MatchMapper(), 2, 60_000);
+
+        store.load(1l, store.stamp(1l), generateBracket(1l, 4));
+        store.load(2l, store.stamp(2l), generateBracket(2l, 4));
+        store.findMatches(1l);
+        store.load(3l, store.stamp(3l), generateBracket(3l, 4));
+
+        assertEquals(2, store.size());
+        assertTrue(store.findMatches(1l).isPresent());
+        assertFalse(store.findMatches(2l).isPresent());
+        assertTrue(store.findMatches(3l).isPresent());
+    }
+
+    @Test
+    public void idleBracketsAreEvictedTest() throws InterruptedException {
+
+        LiveBracketStore store = new LiveBracketStore(matchStreamBroadcaster, new MatchMapper(), 100, 20);
+
+        store.load(1l, store.stamp(1l), generateBracket(1l, 4));
+        Thread.sleep(50);
+        store.load(2l, store.stamp(2l), generateBracket(2l, 4));
+
+        assertFalse(store.findMatches(1l).isPresent());
+        assertTrue(store.findMatches(2l).isPresent());
+    }
+
+    private List<Match> generateBracket(Long tournamentId, int numberOfParticipants) {
+
+        List<Participant> participants = new ArrayList<>();
+        for (long id = 1; id <= numberOfParticipants; id++) {
+            participants.add(Participant.builder().id(id).build());
+        }
+        List<Match> matches = SingleEliminationBracketGenerator.generate(tournamentId,
+                SingleEliminationBracketGenerator.arrange(participants));
+        for (int i = 0; i < matches.size(); i++) {
+            matches.get(i).setId(tournamentId * 100 + i);
+        }
+        return matches;
+    }
+}
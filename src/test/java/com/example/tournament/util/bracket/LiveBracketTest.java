@@ -0,0 +1,162 @@
+package com.example.tournament.util.bracket;
+
+import com.example.tournament.dto.response.MatchDto;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LiveBracketTest {
+
+    private List<Match> generateBracket(int numberOfParticipants) {
+
+        List<Participant> participants = new ArrayList<>();
+        for (long id = 1; id <= numberOfParticipants; id++) {
+            participants.add(Participant.builder().id(id).build());
+        }
+        List<Match> matches = SingleEliminationBracketGenerator.generate(1l,
+                SingleEliminationBracketGenerator.arrange(participants));
+        for (int i = 0; i < matches.size(); i++) {
+            matches.get(i).setId(100l + i);
+        }
+        Collections.reverse(matches);
+        return matches;
+    }
+
+    @Test
+    public void findAllTest() {
+
+        List<MatchDto> matches = LiveBracket.of(generateBracket(7)).get().findAll();
+
+        assertEquals(6, matches.size());
+        assertEquals("A", matches.get(0).getLabel());
+        assertEquals("D", matches.get(0).getNextMatchLabel());
+        assertEquals(Arrays.asList("B", "C"), matches.get(4).getPreviousMatchLabels());
+        assertEquals(Arrays.asList("D", "E"), matches.get(5).getPreviousMatchLabels());
+        assertEquals(1l, matches.get(3).getFirstParticipantId());
+        assertNull(matches.get(3).getSecondParticipantId());
+        assertEquals(3, matches.get(5).getRound());
+        assertEquals(EventStatus.PENDING, matches.get(5).getStatus());
+    }
+
+    @Test
+    public void updateAndAdvanceWinnerTest() {
+
+        LiveBracket bracket = LiveBracket.of(generateBracket(7)).get();
+        Match finishedMatch = Match.builder()
+                .id(100l)
+                .label("A")
+                .slot(1)
+                .firstParticipantId(2l)
+                .secondParticipantId(3l)
+                .firstParticipantScore(1)
+                .secondParticipantScore(4)
+                .winnerId(3l)
+                .startTime(LocalTime.of(10, 0))
+                .finishTime(LocalTime.of(11, 0))
+                .status(EventStatus.COMPLETED)
+                .build();
+
+        bracket.update(finishedMatch);
+        bracket.advanceWinner(finishedMatch);
+
+        MatchDto match = bracket.find(100l).get();
+        assertEquals("1:4", match.getScore());
+        assertEquals(3l, match.getWinnerId());
+        assertEquals(LocalTime.of(11, 0), match.getFinish());
+        assertEquals(EventStatus.COMPLETED, match.getStatus());
+
+        MatchDto nextMatch = bracket.find(103l).get();
+        assertEquals(1l, nextMatch.getFirstParticipantId());
+        assertEquals(3l, nextMatch.getSecondParticipantId());
+        assertFalse(bracket.isCompleted());
+    }
+
+    @Test
+    public void advanceLoserTest() {
+
+        List<Participant> participants = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            participants.add(Participant.builder().id(id).build());
+        }
+        List<Match> matches = DoubleEliminationBracketGenerator.generate(1l,
+                SingleEliminationBracketGenerator.arrange(participants));
+        for (int i = 0; i < matches.size(); i++) {
+            matches.get(i).setId(100l + i);
+        }
+
+        LiveBracket bracket = LiveBracket.of(matches).get();
+        Match finishedMatch = matches.get(0).toBuilder()
+                .winnerId(1l)
+                .status(EventStatus.COMPLETED)
+                .build();
+
+        bracket.update(finishedMatch);
+        bracket.advanceWinner(finishedMatch);
+        MatchDto losersBracketMatch = bracket.advanceLoser(finishedMatch).get();
+
+        assertEquals("D", bracket.find(100l).get().getLoserNextMatchLabel());
+        assertEquals("D", losersBracketMatch.getLabel());
+        assertEquals(2l, losersBracketMatch.getFirstParticipantId());
+        assertEquals(1l, bracket.find(102l).get().getFirstParticipantId());
+    }
+
+    @Test
+    public void notContiguousLabelsTest() {
+
+        List<Match> matches = Arrays.asList(
+                Match.builder().id(1l).label("A").nextMatchLabel("C").build(),
+                Match.builder().id(2l).label("C").build());
+
+        assertFalse(LiveBracket.of(matches).isPresent());
+        assertTrue(LiveBracket.of(Collections.singletonList(Match.builder().id(1l).label("A").build())).isPresent());
+    }
+
+    //A bracket saved only in part leads to matches that aren't there yet
+    @Test
+    public void incompleteBracketTest() {
+
+        List<Match> matches = generateBracket(8);
+        matches.sort(Comparator.comparing(Match::getLabel));
+
+        assertFalse(LiveBracket.of(matches.subList(0, 4)).isPresent());
+        assertTrue(LiveBracket.of(matches).isPresent());
+    }
+
+    @Test
+    public void advanceIsIdempotentTest() {
+
+        List<Participant> participants = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            participants.add(Participant.builder().id(id).build());
+        }
+        List<Match> matches = DoubleEliminationBracketGenerator.generate(1l,
+                SingleEliminationBracketGenerator.arrange(participants));
+        for (int i = 0; i < matches.size(); i++) {
+            matches.get(i).setId(100l + i);
+        }
+        LiveBracket bracket = LiveBracket.of(matches).get();
+        Match finishedMatch = matches.get(0).toBuilder()
+                .winnerId(1l)
+                .status(EventStatus.COMPLETED)
+                .build();
+
+        bracket.advanceLoser(finishedMatch);
+        MatchDto losersBracketMatch = bracket.advanceLoser(finishedMatch).get();
+
+        assertEquals(2l, losersBracketMatch.getFirstParticipantId());
+        assertNull(losersBracketMatch.getSecondParticipantId());
+    }
+}
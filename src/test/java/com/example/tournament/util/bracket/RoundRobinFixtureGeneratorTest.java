@@ -0,0 +1,53 @@
+package com.example.tournament.util.bracket;
+
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RoundRobinFixtureGeneratorTest {
+
+    @Test
+    public void everyPairMeetsOnceTest() {
+
+        for (int numberOfParticipants = 2; numberOfParticipants <= 9; numberOfParticipants++) {
+            List<List<Match>> rounds = new ArrayList<>();
+            RoundRobinFixtureGenerator.generate(1l, participants(numberOfParticipants), rounds::add);
+
+            int expectedRounds = numberOfParticipants % 2 == 0 ? numberOfParticipants - 1 : numberOfParticipants;
+            assertEquals(expectedRounds, rounds.size());
+
+            Set<String> pairs = new HashSet<>();
+            Set<String> labels = new HashSet<>();
+            for (int round = 0; round < rounds.size(); round++) {
+                Set<Long> playing = new HashSet<>();
+                for (Match match : rounds.get(round)) {
+                    assertEquals(round + 1, match.getRoundNumber());
+                    assertTrue(playing.add(match.getFirstParticipantId()));
+                    assertTrue(playing.add(match.getSecondParticipantId()));
+                    long low = Math.min(match.getFirstParticipantId(), match.getSecondParticipantId());
+                    long high = Math.max(match.getFirstParticipantId(), match.getSecondParticipantId());
+                    assertTrue(pairs.add(low + ":" + high));
+                    assertTrue(labels.add(match.getLabel()));
+                }
+            }
+            assertEquals(numberOfParticipants * (numberOfParticipants - 1) / 2, pairs.size());
+        }
+    }
+
+    private List<Participant> participants(int count) {
+
+        List<Participant> participants = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            participants.add(Participant.builder().id(i).build());
+        }
+        return participants;
+    }
+}
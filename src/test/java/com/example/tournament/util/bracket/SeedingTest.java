@@ -0,0 +1,89 @@
+package com.example.tournament.util.bracket;
+
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SeedingTest {
+
+    @Test
+    public void seedOrderTest() {
+
+        assertArrayEquals(new int[]{0}, Seeding.seedOrder(1));
+        assertArrayEquals(new int[]{0, 3, 1, 2}, Seeding.seedOrder(4));
+        assertArrayEquals(new int[]{0, 7, 3, 4, 1, 6, 2, 5}, Seeding.seedOrder(8));
+    }
+
+    @Test
+    public void rankTest() {
+
+        List<Participant> participants = Arrays.asList(
+                Participant.builder().id(1l).build(),
+                Participant.builder().id(2l).rating(1500).build(),
+                Participant.builder().id(3l).rating(1700).build(),
+                Participant.builder().id(4l).rating(1500).build());
+
+        assertEquals(Arrays.asList(3l, 2l, 4l, 1l), Seeding.rank(participants).stream()
+                .map(Participant::getId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void byesGoToTopSeedsTest() {
+
+        //Ids match seeds: the higher the id, the lower the rating
+        Participant[] positions = Seeding.positions(participants(5));
+
+        assertEquals(8, positions.length);
+        assertEquals(1l, positions[0].getId());
+        assertNull(positions[1]);
+        assertEquals(4l, positions[2].getId());
+        assertEquals(5l, positions[3].getId());
+        assertEquals(2l, positions[4].getId());
+        assertNull(positions[5]);
+        assertEquals(3l, positions[6].getId());
+        assertNull(positions[7]);
+    }
+
+    //Every first round position is visited once, so a large field is generated in linear time after the sort
+    @Test
+    public void largeSeededBracketTest() {
+
+        int numberOfParticipants = 100_003;
+        List<Participant> participants = participants(numberOfParticipants);
+
+        long start = System.nanoTime();
+        List<Match> matches = SingleEliminationBracketGenerator.generate(1l, Seeding.positions(participants));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(numberOfParticipants - 1, matches.size());
+        assertTrue(elapsedMillis < 2000, "Generation took " + elapsedMillis + " ms");
+
+        //The two best seeds are in opposite halves and can only meet in the final
+        Match finalMatch = matches.get(matches.size() - 1);
+        assertNull(finalMatch.getNextMatchLabel());
+        List<Participant> ranked = Seeding.rank(participants);
+        Participant[] positions = Seeding.positions(participants);
+        assertEquals(ranked.get(0), positions[0]);
+        assertEquals(ranked.get(1), positions[positions.length / 2]);
+    }
+
+    private List<Participant> participants(int count) {
+
+        List<Participant> participants = new ArrayList<>(count);
+        for (long id = count; id >= 1; id--) {
+            participants.add(Participant.builder().id(id).rating((int) (count - id)).build());
+        }
+        return participants;
+    }
+}
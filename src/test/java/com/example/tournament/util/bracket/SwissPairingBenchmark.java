@@ -0,0 +1,80 @@
+package com.example.tournament.util.bracket;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the pairing of 5,000 participants over 13 rounds. Not part of the regular build, run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class SwissPairingBenchmark {
+
+    private static final int NUMBER_OF_PARTICIPANTS = 5_000;
+
+    private static final int NUMBER_OF_ROUNDS = 13;
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    private static final int MEASURED_ITERATIONS = 10;
+
+    @Test
+    public void pairLargeFieldBenchmark() {
+
+        List<Long> participantIds = new ArrayList<>(NUMBER_OF_PARTICIPANTS);
+        for (long i = 1; i <= NUMBER_OF_PARTICIPANTS; i++) {
+            participantIds.add(i);
+        }
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            pairAllRounds(participantIds);
+        }
+
+        long[] totalNanos = new long[NUMBER_OF_ROUNDS];
+        long[] maxNanos = new long[NUMBER_OF_ROUNDS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long[] roundNanos = pairAllRounds(participantIds);
+            for (int round = 0; round < NUMBER_OF_ROUNDS; round++) {
+                totalNanos[round] += roundNanos[round];
+                maxNanos[round] = Math.max(maxNanos[round], roundNanos[round]);
+            }
+        }
+
+        System.out.println(String.format("Swiss pairing of %s participants, %s warmup and %s measured iterations",
+                NUMBER_OF_PARTICIPANTS, WARMUP_ITERATIONS, MEASURED_ITERATIONS));
+        for (int round = 0; round < NUMBER_OF_ROUNDS; round++) {
+            System.out.println(String.format("Round %2d: mean %8.3f ms, max %8.3f ms", round + 1,
+                    toMillis(totalNanos[round] / MEASURED_ITERATIONS), toMillis(maxNanos[round])));
+        }
+    }
+
+    //Pairs every round from the results so far and returns the time each round took
+    private long[] pairAllRounds(List<Long> participantIds) {
+
+        long[] roundNanos = new long[NUMBER_OF_ROUNDS];
+        List<long[]> results = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int round = 0; round < NUMBER_OF_ROUNDS; round++) {
+            long startNanos = System.nanoTime();
+            SwissPairing swissPairing = new SwissPairing(participantIds);
+            results.forEach(result -> swissPairing.addResult(result[0], result[1], result[2]));
+            long[] pairings = swissPairing.pair();
+            roundNanos[round] = System.nanoTime() - startNanos;
+
+            for (int i = 0; i < pairings.length; i += 2) {
+                results.add(new long[]{pairings[i], pairings[i + 1], random.nextBoolean() ? pairings[i] : pairings[i + 1]});
+            }
+        }
+        return roundNanos;
+    }
+
+    private double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
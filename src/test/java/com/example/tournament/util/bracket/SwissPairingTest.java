@@ -0,0 +1,86 @@
+package com.example.tournament.util.bracket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SwissPairingTest {
+
+    @Test
+    public void pairsByScoreTest() {
+
+        List<Long> participantIds = participantIds(4);
+        SwissPairing swissPairing = new SwissPairing(participantIds);
+        swissPairing.addResult(1l, 2l, 1l);
+        swissPairing.addResult(3l, 4l, 3l);
+
+        long[] pairings = swissPairing.pair();
+
+        assertEquals(4, pairings.length);
+        assertEquals(1l, pairings[0]);
+        assertEquals(3l, pairings[1]);
+        assertEquals(2l, pairings[2]);
+        assertEquals(4l, pairings[3]);
+    }
+
+    @Test
+    public void byeGoesOnceToLowestRankedTest() {
+
+        List<Long> participantIds = participantIds(5);
+        SwissPairing swissPairing = new SwissPairing(participantIds);
+        swissPairing.addResult(1l, 2l, 1l);
+        swissPairing.addResult(3l, 4l, 3l);
+        swissPairing.addResult(5l, null, 5l);
+
+        long[] pairings = swissPairing.pair();
+
+        assertEquals(6, pairings.length);
+        assertEquals(4l, pairings[4]);
+        assertEquals(SwissPairing.BYE, pairings[5]);
+    }
+
+    //5,000 participants over 13 rounds with random results: every round pairs everyone once, without rematches
+    @Test
+    public void pairsLargeFieldWithoutRematchesTest() {
+
+        int numberOfParticipants = 5_000;
+        int numberOfRounds = 13;
+        List<Long> participantIds = participantIds(numberOfParticipants);
+        Set<String> playedPairs = new HashSet<>();
+        List<long[]> results = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int round = 1; round <= numberOfRounds; round++) {
+            SwissPairing swissPairing = new SwissPairing(participantIds);
+            results.forEach(result -> swissPairing.addResult(result[0], result[1], result[2]));
+            long[] pairings = swissPairing.pair();
+
+            assertEquals(numberOfParticipants, pairings.length);
+            Set<Long> paired = new HashSet<>();
+            for (int i = 0; i < pairings.length; i += 2) {
+                long first = pairings[i];
+                long second = pairings[i + 1];
+                assertTrue(paired.add(first));
+                assertTrue(paired.add(second));
+                assertTrue(playedPairs.add(Math.min(first, second) + ":" + Math.max(first, second)));
+                results.add(new long[]{first, second, random.nextBoolean() ? first : second});
+            }
+        }
+    }
+
+    private List<Long> participantIds(int count) {
+
+        List<Long> participantIds = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            participantIds.add(i);
+        }
+        return participantIds;
+    }
+}
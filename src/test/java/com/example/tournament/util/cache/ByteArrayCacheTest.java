@@ -0,0 +1,31 @@
+package com.example.tournament.util.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ByteArrayCacheTest {
+
+    @Test
+    public void evictsLeastRecentlyUsedByBytesTest() {
+
+        ByteArrayCache cache = new ByteArrayCache(100);
+        cache.put(1l, new byte[40]);
+        cache.put(2l, new byte[40]);
+        cache.get(1l);
+        cache.put(3l, new byte[40]);
+
+        assertTrue(cache.get(1l).isPresent());
+        assertFalse(cache.get(2l).isPresent());
+        assertTrue(cache.get(3l).isPresent());
+        assertEquals(80, cache.getTotalBytes());
+
+        cache.put(4l, new byte[101]);
+        assertFalse(cache.get(4l).isPresent());
+
+        cache.evict(1l);
+        assertEquals(40, cache.getTotalBytes());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.tournament.util.cache;
+
+import com.example.tournament.model.Tournament;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class EntityCacheTest {
+
+    @Test
+    public void readThroughAndEvictTest() {
+
+        EntityCache<Tournament> cache = new EntityCache<>(100, 60_000, 60_000, t -> t.toBuilder().build());
+        AtomicInteger loads = new AtomicInteger();
+
+        Tournament first = cache.get(1l, id -> {
+            loads.incrementAndGet();
+            return Optional.of(Tournament.builder().id(id).title("Title").build());
+        }).get();
+        Tournament second = cache.get(1l, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }).get();
+
+        assertEquals(1, loads.get());
+        assertEquals("Title", second.getTitle());
+        assertNotSame(first, second);
+
+        cache.evict(1l);
+        assertFalse(cache.get(1l, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }).isPresent());
+        assertEquals(2, loads.get());
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(2, statistics.getMisses());
+        assertEquals(1, statistics.getEvictions());
+    }
+
+    @Test
+    public void missesAreCachedTest() {
+
+        EntityCache<Tournament> cache = new EntityCache<>(100, 0, 60_000, t -> t);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            cache.get(7l, id -> {
+                loads.incrementAndGet();
+                return Optional.empty();
+            });
+        }
+        cache.get(8l, id -> Optional.of(Tournament.builder().id(id).build()));
+        cache.get(8l, id -> Optional.of(Tournament.builder().id(id).build()));
+
+        assertEquals(1, loads.get());
+        assertEquals(9, cache.getStatistics().getNegativeHits());
+        assertEquals(3, cache.getStatistics().getMisses());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreDroppedTest() {
+
+        EntityCache<Tournament> cache = new EntityCache<>(16, 60_000, 60_000, t -> t);
+        for (long id = 0; id < 1000; id++) {
+            cache.get(id, key -> Optional.of(Tournament.builder().id(key).build()));
+        }
+
+        assertEquals(16, cache.getStatistics().getSize());
+    }
+}
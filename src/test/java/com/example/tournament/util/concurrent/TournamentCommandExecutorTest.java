@@ -0,0 +1,206 @@
+package com.example.tournament.util.concurrent;
+
+import com.example.tournament.exception.ServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TournamentCommandExecutorTest {
+
+    private TournamentCommandExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new TournamentCommandExecutor(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    //A caller waiting on future.get() has already queued its command, so the queue order is known
+    @Test
+    public void sameTournamentCommandsRunInSubmissionOrderTest() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        List<Thread> callers = new ArrayList<>();
+        callers.add(caller(() -> executor.run(7l, () -> {
+            awaitQuietly(release);
+            order.add(0);
+        })));
+        for (int i = 1; i <= 5; i++) {
+            int command = i;
+            callers.add(caller(() -> executor.run(7l, () -> order.add(command))));
+        }
+
+        for (Thread caller : callers) {
+            caller.start();
+            awaitWaiting(caller);
+        }
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join(5000);
+        }
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), order);
+    }
+
+    @Test
+    public void concurrentCallersOfOneTournamentAreSerializedTest() throws Exception {
+
+        int numberOfCallers = 8;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(numberOfCallers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < numberOfCallers; i++) {
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 50; j++) {
+                        executor.run(3l, () -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            running.decrementAndGet();
+                        });
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdown();
+        }
+
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    public void differentStripesRunInParallelTest() {
+
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                Future<Boolean> first = callers.submit(() -> executor.execute(0l, () -> awaitOther(bothRunning)));
+                Future<Boolean> second = callers.submit(() -> executor.execute(1l, () -> awaitOther(bothRunning)));
+                assertTrue(first.get());
+                assertTrue(second.get());
+            });
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    //A command issued from its own writer thread runs inline instead of waiting for itself
+    @Test
+    public void nestedCommandRunsInlineTest() {
+
+        String result = assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                executor.execute(5l, () -> {
+                    String outerThread = Thread.currentThread().getName();
+                    return executor.execute(9l, () -> {
+                        assertEquals(outerThread, Thread.currentThread().getName());
+                        return "nested";
+                    });
+                }));
+
+        assertEquals("nested", result);
+    }
+
+    @Test
+    public void commandRunsOnWriterThreadTest() {
+
+        String callerThread = Thread.currentThread().getName();
+        String writerThread = executor.execute(2l, () -> Thread.currentThread().getName());
+
+        assertNotEquals(callerThread, writerThread);
+        assertTrue(writerThread.startsWith("tournament-writer-"));
+    }
+
+    @Test
+    public void exceptionsAreUnwrappedTest() {
+
+        ServiceException serviceException = new ServiceException("Tournament not found");
+        assertSame(serviceException, assertThrows(ServiceException.class, () -> executor.run(1l, () -> {
+            throw serviceException;
+        })));
+
+        UncheckedIOException ioException = new UncheckedIOException(new IOException("Disk full"));
+        assertSame(ioException, assertThrows(UncheckedIOException.class, () -> executor.run(1l, () -> {
+            throw ioException;
+        })));
+
+        AssertionError error = new AssertionError("Broken");
+        assertSame(error, assertThrows(AssertionError.class, () -> executor.run(1l, () -> {
+            throw error;
+        })));
+
+        //The writer thread survives a failed command
+        assertEquals(1, (int) executor.execute(1l, () -> 1));
+    }
+
+    private Thread caller(Runnable runnable) {
+
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void awaitWaiting(Thread thread) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean awaitOther(CountDownLatch bothRunning) {
+
+        bothRunning.countDown();
+        try {
+            return bothRunning.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
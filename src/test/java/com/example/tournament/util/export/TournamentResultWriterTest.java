@@ -0,0 +1,127 @@
+package com.example.tournament.util.export;
+
+import com.example.tournament.dto.response.MatchDto;
+import com.example.tournament.dto.response.ParticipantDto;
+import com.example.tournament.dto.response.TournamentDto;
+import com.example.tournament.dto.response.TournamentResultDto;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.Match;
+import com.example.tournament.model.Participant;
+import com.example.tournament.model.Tournament;
+import com.example.tournament.model.TournamentFormat;
+import com.example.tournament.repository.MatchBatchRepository;
+import com.example.tournament.repository.MatchRepository;
+import com.example.tournament.repository.projection.MatchRow;
+import com.example.tournament.service.DataHelperService;
+import com.example.tournament.service.MatchService;
+import com.example.tournament.service.MatchServiceImpl;
+import com.example.tournament.service.StandingService;
+import com.example.tournament.util.bracket.DoubleEliminationBracketGenerator;
+import com.example.tournament.util.bracket.LiveBracketStore;
+import com.example.tournament.util.journal.MatchJournal;
+import com.example.tournament.util.mapper.MatchMapper;
+import com.example.tournament.util.version.TournamentVersions;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TournamentResultWriterTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void writeTest() throws Exception {
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        MatchService matchService = mock(MatchService.class);
+        doAnswer(invocation -> {
+            Consumer<MatchDto> action = invocation.getArgument(1);
+            for (long id = 1; id <= 1000; id++) {
+                action.accept(MatchDto.builder()
+                        .id(id)
+                        .score("1:0")
+                        .start(LocalTime.of(10, 0))
+                        .status(EventStatus.COMPLETED)
+                        .build());
+            }
+            return null;
+        }).when(matchService).forEachMatch(eq(1l), any(Consumer.class));
+
+        TournamentResultDto resultWithoutMatches = TournamentResultDto.builder()
+                .tournament(TournamentDto.builder().id(1l).title("Title").build())
+                .winner(ParticipantDto.builder().id(5l).name("Winner").build())
+                .build();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new TournamentResultWriter(objectMapper, matchService).write(resultWithoutMatches, outputStream);
+
+        JsonNode result = objectMapper.readTree(outputStream.toByteArray());
+        assertEquals("Title", result.get("tournament").get("title").asText());
+        assertEquals(1000, result.get("matches").size());
+        assertEquals(1000, result.get("matches").get(999).get("id").asLong());
+        //Ids don't fit in a JavaScript number and are written as strings
+        assertTrue(result.get("matches").get(999).get("id").isTextual());
+        assertTrue(result.get("tournament").get("id").isTextual());
+        assertEquals("Winner", result.get("winner").get("name").asText());
+    }
+
+    //The export is the summarize document without previousMatchLabels
+    @Test
+    public void writeMatchesAsSummarizeTest() throws Exception {
+
+        Long tournamentId = 1l;
+        Participant[] positions = new Participant[4];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = Participant.builder().id(i + 1l).build();
+        }
+        List<Match> bracket = DoubleEliminationBracketGenerator.generate(tournamentId, positions);
+        for (int i = 0; i < bracket.size(); i++) {
+            bracket.get(i).setId(i + 1l);
+        }
+
+        MatchRepository matchRepository = mock(MatchRepository.class);
+        DataHelperService dataHelperService = mock(DataHelperService.class);
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        when(matchRepository.findAllByTournamentId(tournamentId)).thenReturn(bracket);
+        when(matchRepository.streamByTournamentIdOrderByIdAsc(tournamentId)).thenAnswer(invocation -> bracket.stream()
+                .map(match -> projectionFactory.createProjection(MatchRow.class, match)));
+        when(dataHelperService.findTournamentByIdOrThrowException(tournamentId)).thenReturn(Tournament.builder()
+                .id(tournamentId)
+                .format(TournamentFormat.DOUBLE_ELIMINATION)
+                .status(EventStatus.STARTED)
+                .build());
+        MatchService matchService = new MatchServiceImpl(matchRepository, dataHelperService, new MatchMapper(),
+                mock(LiveBracketStore.class), mock(MatchJournal.class), mock(TournamentVersions.class),
+                mock(MatchBatchRepository.class), mock(StandingService.class));
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        ArrayNode summarized = objectMapper.valueToTree(matchService.findMatchListByTournamentId(tournamentId).getMatches());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new TournamentResultWriter(objectMapper, matchService).write(TournamentResultDto.builder()
+                .tournament(TournamentDto.builder().id(tournamentId).build())
+                .build(), outputStream);
+        JsonNode exported = objectMapper.readTree(outputStream.toByteArray()).get("matches");
+
+        assertFalse(summarized.get(5).get("previousMatchLabels").isEmpty());
+        summarized.forEach(match -> ((ObjectNode) match).remove("previousMatchLabels"));
+        exported.forEach(match -> ((ObjectNode) match).remove("previousMatchLabels"));
+        assertEquals(summarized, exported);
+    }
+}
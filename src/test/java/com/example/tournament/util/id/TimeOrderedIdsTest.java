@@ -0,0 +1,49 @@
+package com.example.tournament.util.id;
+
+import com.example.tournament.exception.ServiceException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimeOrderedIdsTest {
+
+    @Test
+    public void increasingAndUniqueTest() {
+
+        TimeOrderedIds ids = new TimeOrderedIds();
+        ids.setNodeId(5);
+
+        Set<Long> generated = new HashSet<>();
+        long previous = 0;
+        for (int i = 0; i < 100_000; i++) {
+            long id = ids.next();
+            assertTrue(id > previous);
+            assertEquals(5, (id >>> 12) & 1023);
+            generated.add(id);
+            previous = id;
+        }
+        assertEquals(100_000, generated.size());
+    }
+
+    @Test
+    public void nodesDontCollideTest() {
+
+        TimeOrderedIds first = new TimeOrderedIds();
+        first.setNodeId(1);
+        TimeOrderedIds second = new TimeOrderedIds();
+        second.setNodeId(2);
+
+        Set<Long> generated = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            generated.add(first.next());
+            generated.add(second.next());
+        }
+        assertEquals(20_000, generated.size());
+        assertThrows(ServiceException.class, () -> first.setNodeId(1024));
+    }
+}
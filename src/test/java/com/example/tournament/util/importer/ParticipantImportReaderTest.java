@@ -0,0 +1,65 @@
+package com.example.tournament.util.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ParticipantImportReaderTest {
+
+    @Test
+    public void csvTest() {
+
+        List<ParticipantImportRow> rows = readAll("name,country\nPlayer1,UA\n\n\"Smith, \"\"J\"\"\",UK\n ,PL\n",
+                ParticipantImportReader.Format.CSV);
+
+        assertEquals(3, rows.size());
+        assertEquals("Player1", rows.get(0).getName());
+        assertEquals(2, rows.get(0).getLine());
+        assertEquals("Smith, \"J\"", rows.get(1).getName());
+        assertNull(rows.get(1).getError());
+        assertEquals(5, rows.get(2).getLine());
+        assertNotNull(rows.get(2).getError());
+    }
+
+    @Test
+    public void csvRatingTest() {
+
+        List<ParticipantImportRow> rows = readAll("name,rating\nPlayer1,1500\nPlayer2,\nPlayer3,high\n",
+                ParticipantImportReader.Format.CSV);
+
+        assertEquals(3, rows.size());
+        assertEquals(1500, rows.get(0).getRating());
+        assertNull(rows.get(1).getRating());
+        assertNull(rows.get(1).getError());
+        assertNotNull(rows.get(2).getError());
+    }
+
+    @Test
+    public void ndjsonTest() {
+
+        List<ParticipantImportRow> rows = readAll("{\"name\":\"Player1\",\"rating\":1500}\n{\"name\":1}\nnot json\n",
+                ParticipantImportReader.Format.NDJSON);
+
+        assertEquals(3, rows.size());
+        assertEquals("Player1", rows.get(0).getName());
+        assertEquals(1500, rows.get(0).getRating());
+        assertNotNull(rows.get(1).getError());
+        assertNotNull(rows.get(2).getError());
+        assertEquals(3, rows.get(2).getLine());
+    }
+
+    private List<ParticipantImportRow> readAll(String content, ParticipantImportReader.Format format) {
+
+        ParticipantImportReader reader = new ParticipantImportReader(new StringReader(content), format, new ObjectMapper());
+        List<ParticipantImportRow> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.tournament.util.journal;
+
+import com.example.tournament.util.version.TournamentVersions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class MatchJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final TournamentVersions tournamentVersions = new TournamentVersions();
+
+    private MatchJournal openJournal(JdbcTemplate jdbcTemplate, int size) throws Exception {
+
+        MatchJournal matchJournal = new MatchJournal(true, directory.resolve("journal.dat").toString(), size,
+                60_000, 500, jdbcTemplate, mock(PlatformTransactionManager.class), tournamentVersions);
+        matchJournal.open();
+        return matchJournal;
+    }
+
+    private MatchJournalRecord start(Long matchId) {
+
+        return MatchJournalRecord.builder()
+                .type(MatchJournalRecord.Type.START)
+                .tournamentId(1l)
+                .matchId(matchId)
+                .time(LocalTime.of(10, 0))
+                .build();
+    }
+
+    private MatchJournalRecord score(Long matchId, int firstParticipantScore, int secondParticipantScore) {
+
+        return MatchJournalRecord.builder()
+                .type(MatchJournalRecord.Type.SCORE)
+                .tournamentId(1l)
+                .matchId(matchId)
+                .firstParticipantScore(firstParticipantScore)
+                .secondParticipantScore(secondParticipantScore)
+                .time(LocalTime.of(10, 5))
+                .build();
+    }
+
+    @Test
+    public void appliedRecordsBumpVersionTest() throws Exception {
+
+        MatchJournal matchJournal = openJournal(mock(JdbcTemplate.class), 1 << 16);
+
+        matchJournal.append(start(1l));
+        String appendedETag = tournamentVersions.getETag(1l);
+        matchJournal.flush();
+
+        assertNotEquals(appendedETag, tournamentVersions.getETag(1l));
+        assertEquals(tournamentVersions.getETag(2l), tournamentVersions.getETag(3l));
+
+        matchJournal.close();
+    }
+
+    @Test
+    public void flushAppliesRecordsInBatchesTest() throws Exception {
+
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        MatchJournal matchJournal = openJournal(jdbcTemplate, 1 << 16);
+
+        matchJournal.append(start(1l));
+        matchJournal.append(start(2l));
+        matchJournal.append(score(1l, 3, 2));
+        matchJournal.flush();
+
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE matches SET status = 'STARTED'"),
+                argThat((List<Object[]> arguments) -> arguments.size() == 2));
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE matches SET first_participant_score"),
+                argThat((List<Object[]> arguments) -> arguments.size() == 1
+                        && arguments.get(0)[0].equals(3) && arguments.get(0)[2].equals(1l)));
+
+        matchJournal.flush();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+
+        matchJournal.close();
+    }
+
+    @Test
+    public void unflushedRecordsAreReplayedOnOpenTest() throws Exception {
+
+        JdbcTemplate crashedJdbcTemplate = mock(JdbcTemplate.class);
+        MatchJournal crashedJournal = openJournal(crashedJdbcTemplate, 1 << 16);
+        crashedJournal.append(score(7l, 1, 0));
+        crashedJournal.append(score(7l, 2, 0));
+
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        MatchJournal matchJournal = openJournal(jdbcTemplate, 1 << 16);
+
+        verify(crashedJdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE matches SET first_participant_score"),
+                argThat((List<Object[]> arguments) -> arguments.size() == 2));
+
+        matchJournal.close();
+    }
+
+    @Test
+    public void fullJournalIsDrainedAndReusedTest() throws Exception {
+
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        MatchJournal matchJournal = openJournal(jdbcTemplate, 16 + 41 * 2);
+
+        matchJournal.append(score(1l, 1, 0));
+        matchJournal.append(score(1l, 2, 0));
+        matchJournal.append(score(1l, 3, 0));
+        matchJournal.close();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> arguments) -> arguments.size() == 2));
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> arguments) -> arguments.size() == 1));
+
+        JdbcTemplate reopenedJdbcTemplate = mock(JdbcTemplate.class);
+        openJournal(reopenedJdbcTemplate, 16 + 41 * 2).close();
+        verify(reopenedJdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.tournament.util.purge;
+
+import com.example.tournament.model.TournamentPurge;
+import com.example.tournament.repository.TournamentPurgeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TournamentPurgerTest {
+
+    @Test
+    public void purgesInChunksTest() {
+
+        TournamentPurgeRepository tournamentPurgeRepository = mock(TournamentPurgeRepository.class);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(tournamentPurgeRepository.findAll()).thenReturn(Collections.singletonList(
+                TournamentPurge.builder().tournamentId(1l).build()));
+        when(jdbcTemplate.update(anyString(), eq(1l), eq(100))).thenReturn(100, 100, 100, 40, 0, 0, 0, 0, 0);
+
+        TournamentPurger tournamentPurger = new TournamentPurger(tournamentPurgeRepository, jdbcTemplate, 10, 100, 1000);
+        tournamentPurger.purgePending();
+
+        verify(jdbcTemplate, times(9)).update(anyString(), eq(1l), eq(100));
+        verify(tournamentPurgeRepository, times(1)).deleteById(1l);
+        assertTrue(tournamentPurger.isDeferred(11));
+        assertFalse(tournamentPurger.isDeferred(10));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.tournament.util.snapshot;
+
+import com.example.tournament.dto.response.ParticipantDto;
+import com.example.tournament.dto.response.TournamentDto;
+import com.example.tournament.dto.response.TournamentResultDto;
+import com.example.tournament.model.EventStatus;
+import com.example.tournament.model.TournamentResultSnapshot;
+import com.example.tournament.repository.TournamentResultSnapshotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TournamentResultSnapshotsTest {
+
+    @Mock
+    private TournamentResultSnapshotRepository snapshotRepository;
+
+    private TournamentResultSnapshots tournamentResultSnapshots;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        tournamentResultSnapshots = new TournamentResultSnapshots(snapshotRepository,
+                new ObjectMapper().findAndRegisterModules(), 1024);
+    }
+
+    @Test
+    public void summarizesOnceTest() {
+
+        Long tournamentId = 1l;
+        AtomicInteger summaries = new AtomicInteger();
+        when(snapshotRepository.findById(tournamentId)).thenReturn(Optional.empty());
+
+        byte[] first = tournamentResultSnapshots.findOrCreate(tournamentId, () -> {
+            summaries.incrementAndGet();
+            return result(tournamentId, EventStatus.COMPLETED);
+        });
+        byte[] second = tournamentResultSnapshots.findOrCreate(tournamentId, () -> {
+            summaries.incrementAndGet();
+            return result(tournamentId, EventStatus.COMPLETED);
+        });
+
+        assertEquals(1, summaries.get());
+        assertSame(first, second);
+        verify(snapshotRepository, times(1)).findById(tournamentId);
+        verify(snapshotRepository, times(1)).save(any(TournamentResultSnapshot.class));
+    }
+
+    @Test
+    public void servesStoredSnapshotTest() {
+
+        Long tournamentId = 1l;
+        byte[] content = "{}".getBytes();
+        when(snapshotRepository.findById(tournamentId)).thenReturn(Optional.of(TournamentResultSnapshot.builder()
+                .tournamentId(tournamentId)
+                .content(content)
+                .build()));
+
+        assertArrayEquals(content, tournamentResultSnapshots.findOrCreate(tournamentId, () -> {
+            throw new AssertionError("Stored result must not be summarized again");
+        }));
+
+        tournamentResultSnapshots.evict(tournamentId);
+        verify(snapshotRepository, times(1)).deleteByTournamentId(tournamentId);
+        verify(snapshotRepository, never()).save(any(TournamentResultSnapshot.class));
+    }
+
+    private TournamentResultDto result(Long tournamentId, EventStatus status) {
+        return TournamentResultDto.builder()
+                .tournament(TournamentDto.builder().id(tournamentId).status(status).build())
+                .winner(ParticipantDto.builder().id(5l).name("Winner").build())
+                .build();
+    }
+}
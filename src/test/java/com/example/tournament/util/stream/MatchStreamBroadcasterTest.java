@@ -0,0 +1,212 @@
+package com.example.tournament.util.stream;
+
+import com.example.tournament.dto.response.MatchDto;
+import com.example.tournament.dto.response.MatchListDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MatchStreamBroadcasterTest {
+
+    private final Queue<RecordingEmitter> emitters = new ArrayDeque<>();
+
+    private MatchStreamBroadcaster broadcaster;
+
+    @AfterEach
+    public void shutdown() {
+        if (broadcaster != null) {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    public void publishedMatchReachesEverySubscriberTest() throws InterruptedException {
+
+        broadcaster = createBroadcaster(2, 10_000);
+        RecordingEmitter first = subscribe(new RecordingEmitter());
+        RecordingEmitter second = subscribe(new RecordingEmitter());
+
+        broadcaster.publish(1l, match(5l, "1:0"));
+
+        for (RecordingEmitter emitter : new RecordingEmitter[]{first, second}) {
+            emitter.await(events -> events.size() == 2);
+            assertTrue(emitter.events.get(0).startsWith("event:snapshot"));
+            assertTrue(emitter.events.get(1).startsWith("event:match"));
+            assertTrue(emitter.events.get(1).contains("1:0"));
+        }
+    }
+
+    @Test
+    public void matchOfOtherTournamentIsNotSentTest() throws InterruptedException {
+
+        broadcaster = createBroadcaster(2, 10_000);
+        RecordingEmitter emitter = subscribe(new RecordingEmitter());
+        emitter.await(events -> events.size() == 1);
+
+        broadcaster.publish(2l, match(5l, "1:0"));
+        broadcaster.publish(1l, match(6l, "0:1"));
+
+        emitter.await(events -> events.size() == 2);
+        assertTrue(emitter.events.get(1).contains("0:1"));
+        assertFalse(emitter.events.stream().anyMatch(event -> event.contains("1:0")));
+    }
+
+    @Test
+    public void blockedSubscriberDoesNotHoldBackOthersTest() throws InterruptedException {
+
+        broadcaster = createBroadcaster(2, 10_000);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter blocked = subscribe(new RecordingEmitter(release));
+        RecordingEmitter reading = subscribe(new RecordingEmitter());
+
+        for (long i = 0; i < 10; i++) {
+            broadcaster.publish(1l, match(i, "0:0"));
+        }
+
+        reading.await(events -> events.stream().filter(event -> event.startsWith("event:match")).count() == 10);
+        assertTrue(blocked.events.isEmpty());
+        release.countDown();
+    }
+
+    @Test
+    public void stalledSubscriberIsDroppedTest() throws InterruptedException {
+
+        broadcaster = createBroadcaster(2, 20);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalled = subscribe(new RecordingEmitter(release));
+        subscribe(new RecordingEmitter());
+
+        Thread.sleep(50);
+        broadcaster.publish(1l, match(5l, "1:0"));
+        assertEquals(1, broadcaster.countSubscribers(1l));
+
+        //The stalled client is let go once its blocked write returns
+        release.countDown();
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failedSendUnsubscribesTest() throws InterruptedException {
+
+        broadcaster = createBroadcaster(2, 10_000);
+        RecordingEmitter failing = subscribe(new RecordingEmitter(true));
+
+        assertTrue(failing.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, broadcaster.countSubscribers(1l));
+    }
+
+    @Test
+    public void failedSnapshotUnsubscribesTest() {
+
+        broadcaster = createBroadcaster(2, 10_000);
+        emitters.add(new RecordingEmitter());
+
+        assertThrows(IllegalStateException.class, () -> broadcaster.subscribe(1l, () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals(0, broadcaster.countSubscribers(1l));
+    }
+
+    private MatchStreamBroadcaster createBroadcaster(int numberOfSenders, long sendTimeoutMillis) {
+
+        return new MatchStreamBroadcaster(new ObjectMapper().findAndRegisterModules(), numberOfSenders,
+                60_000, 256, sendTimeoutMillis) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                return emitters.remove();
+            }
+        };
+    }
+
+    private RecordingEmitter subscribe(RecordingEmitter emitter) {
+
+        emitters.add(emitter);
+        broadcaster.subscribe(1l, () -> MatchListDto.builder().matches(Collections.emptyList()).build());
+        return emitter;
+    }
+
+    private MatchDto match(Long id, String score) {
+
+        return MatchDto.builder()
+                .id(id)
+                .label("A")
+                .score(score)
+                .build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private final CountDownLatch release;
+
+        private final boolean failing;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+            this.failing = false;
+        }
+
+        RecordingEmitter(boolean failing) {
+            this.release = new CountDownLatch(0);
+            this.failing = failing;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(data -> event.append(data.getData()));
+            events.add(event.toString());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            completed.countDown();
+        }
+
+        void await(Predicate<List<String>> condition) throws InterruptedException {
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!condition.test(events)) {
+                assertTrue(System.nanoTime() < deadline, "Events not sent in time: " + events);
+                Thread.sleep(5);
+            }
+        }
+    }
+}
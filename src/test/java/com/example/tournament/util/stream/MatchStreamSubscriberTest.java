@@ -0,0 +1,59 @@
+package com.example.tournament.util.stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MatchStreamSubscriberTest {
+
+    private String render(List<SseEmitter.SseEventBuilder> events) {
+
+        return events.stream()
+                .flatMap(event -> event.build().stream())
+                .map(data -> data.getData().toString())
+                .collect(Collectors.joining());
+    }
+
+    @Test
+    public void updatesOfSameMatchAreCoalescedTest() {
+
+        MatchStreamSubscriber subscriber = new MatchStreamSubscriber(1l, new SseEmitter(), 10);
+        subscriber.offerSnapshot("{\"matches\":[]}");
+        subscriber.offer(5l, "{\"score\":\"1:0\"}");
+        subscriber.offer(6l, "{\"score\":\"0:0\"}");
+        subscriber.offer(5l, "{\"score\":\"2:0\"}");
+
+        List<SseEmitter.SseEventBuilder> events = subscriber.takeEvents();
+
+        assertEquals(3, events.size());
+        String rendered = render(events);
+        assertTrue(rendered.startsWith("event:snapshot"));
+        assertFalse(rendered.contains("1:0"));
+        assertTrue(rendered.indexOf("0:0") < rendered.indexOf("2:0"));
+        assertFalse(subscriber.hasEvents());
+    }
+
+    @Test
+    public void overflowTurnsIntoResyncTest() {
+
+        MatchStreamSubscriber subscriber = new MatchStreamSubscriber(1l, new SseEmitter(), 2);
+        subscriber.offer(1l, "{}");
+        subscriber.offer(2l, "{}");
+        subscriber.offer(3l, "{}");
+        subscriber.offer(4l, "{}");
+
+        List<SseEmitter.SseEventBuilder> events = subscriber.takeEvents();
+
+        assertEquals(1, events.size());
+        assertTrue(render(events).startsWith("event:resync"));
+
+        subscriber.offer(5l, "{}");
+        assertEquals(1, subscriber.takeEvents().size());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.tournament.util.version;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TournamentVersionInterceptorTest {
+
+    private final TournamentVersions tournamentVersions = new TournamentVersions();
+
+    private final TournamentVersionInterceptor interceptor = new TournamentVersionInterceptor(tournamentVersions);
+
+    private MockHttpServletRequest request(String method, String eTag) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/tournaments/1/matches");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                Collections.singletonMap("tournamentId", "1"));
+        if (eTag != null) {
+            request.addHeader("If-None-Match", eTag);
+        }
+        return request;
+    }
+
+    @Test
+    public void notModifiedUntilTournamentChangesTest() {
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request("GET", null), response, null));
+        String eTag = response.getHeader("ETag");
+
+        MockHttpServletResponse notModifiedResponse = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("GET", eTag), notModifiedResponse, null));
+        assertEquals(304, notModifiedResponse.getStatus());
+
+        tournamentVersions.bump(1l);
+
+        MockHttpServletResponse modifiedResponse = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request("GET", eTag), modifiedResponse, null));
+        assertNotEquals(eTag, modifiedResponse.getHeader("ETag"));
+    }
+
+    @Test
+    public void globalVersionFollowsEveryTournamentTest() {
+
+        String globalETag = tournamentVersions.getGlobalETag();
+        String otherETag = tournamentVersions.getETag(2l);
+
+        tournamentVersions.bump(1l);
+
+        assertNotEquals(globalETag, tournamentVersions.getGlobalETag());
+        assertEquals(otherETag, tournamentVersions.getETag(2l));
+    }
+
+    @Test
+    public void mutationsAreNotCheckedTest() {
+
+        assertTrue(interceptor.preHandle(request("POST", tournamentVersions.getETag(1l)),
+                new MockHttpServletResponse(), null));
+    }
+}